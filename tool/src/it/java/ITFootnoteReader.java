@@ -5,6 +5,7 @@ import java.util.Iterator;
 import helper.TraceabilityManagerHumanReadable;
 
 import org.apache.poi.hwpf.usermodel.Paragraph;
+import org.apache.poi.hwpf.usermodel.Range;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -13,7 +14,9 @@ import requirement.RequirementTemporary;
 import requirement.RequirementWParent;
 import test.helper.ITGenericReader;
 import docreader.list.ListReader;
+import docreader.list.NestingType;
 import docreader.range.RequirementReader;
+import docreader.range.SkipReader;
 import docreader.range.paragraph.characterRun.FootnoteReader;
 
 /**
@@ -109,4 +112,23 @@ public class ITFootnoteReader extends ITGenericReader {
 		
 	assertEquals(expectedTree, getTree(requirementRoot, 0));
     }
+
+    /**
+     * Test method for {@link SkipReader#read()} inside a note; notes are not part of the main document
+     */
+    @Test
+    public void testSkipReaderInNote() {
+	final Range footnoteRange = this.readerData.getDocument().getFootnoteRange();
+	this.listReader.addNestingLevel(new RequirementRoot(), footnoteRange, NestingType.NOTE);
+	try {
+	    final Range range = this.readerData.getRange();
+	    for (int i = 0; i < range.numParagraphs(); i++) {
+		final int skipCount = new SkipReader(this.readerData, i).read().intValue();
+		assertEquals(range.getParagraph(i).text().trim().isEmpty() ? 1 : 0, skipCount);
+	    }
+	}
+	finally {
+	    this.listReader.removeNestingLevel();
+	}
+    }
 }
@@ -511,7 +511,7 @@ public class ITTableReaderKnownTables extends ITGenericTableReader {
 	// Check for number of paragraphs
 	assertEquals(44, i);
 	// Check if text has been read out correctly
-	String expectedResult = "<table style=\"border-collapse:collapse; border-spacing:0;\" class=\"TrainCommandTable\"><tr><td style=\"border-color:Black; border-style:solid solid double; border-width:2px 1px 1px; padding:4px 0px 0px; vertical-align:top; width:28pt;\"><span style=\"font-family:Arial; font-size:7pt;\">Revocation condition #</span></td><td style=\"border-color:Black; border-style:solid solid double; border-width:2px 1px 1px; padding:4px 0px 0px; vertical-align:top; width:106pt;\"><span style=\"font-family:Arial; font-size:10pt;\">Estimated speed</span></td><td style=\"border-color:Black; border-style:solid solid double; border-width:2px 1px 1px; padding:4px 0px 0px; vertical-align:top; width:241pt;\"><span style=\"font-family:Arial; font-size:10pt;\">Train front end position (estimated and max safe)</span></td><td style=\"border-color:Black; border-style:solid solid double; border-width:2px 1px 1px; padding:4px 0px 0px; vertical-align:top; width:77pt;\"><span style=\"font-family:Arial; font-size:10pt;\">TI Command revoked</span></td><td style=\"border-color:Black; border-style:solid solid double; border-width:2px 1px 1px; padding:4px 0px 0px; vertical-align:top; width:78pt;\"><span style=\"font-family:Arial; font-size:10pt;\">Supervision status revoked</span></td></tr><tr><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:28pt;\"><span style=\"font-family:Arial; font-size:8pt;\">r0</span></td><td colspan=\"2\" style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:347pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]0.Position</div><div style=\"clear:right;\"></div></div><p style=\"display:block; text-align:center;\"><span style=\"font-family:Arial; font-size:8pt;\">Standstill</span></p></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:77pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]0.TICommand</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">EB</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:78pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]0.Supervision</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">Intervention status</span></td></tr><tr><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:28pt;\"><span style=\"font-family:Arial; font-size:8pt;\">r1</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:106pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]1.Speed</div><div style=\"clear:right;\"></div></div><object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D1_Speed_E.png\" type=\"image/png\" width=\"97\" height=\"34\">Picture missing. No alternative text available.</object></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:241pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]1.Position</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">Not relevant</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:77pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]1.TICommand</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">TCO</span><br /><span style=\"font-family:Arial; font-size:8pt;\">SB</span><br /><span style=\"font-family:Arial; font-size:8pt;\">EB (in case V_target ≠ 0, only if allowed by National Value)</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:78pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]1.Supervision</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">Indication status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Overspeed status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Warning status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Intervention status (in case of EB command and V_target ≠ 0, only if allowed by National Value)</span></td></tr><tr><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:28pt;\"><span style=\"font-family:Arial; font-size:8pt;\">r2</span></td><td rowspan=\"2\" style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:106pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]2.Speed</div><div style=\"clear:right;\"></div></div><object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D2_Speed_E.png\" type=\"image/png\" width=\"126\" height=\"27\">Picture missing. No alternative text available.</object></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:241pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]2.Position</div><div style=\"clear:right;\"></div></div><object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D2_Position_%5B1%5D_E.png\" type=\"image/png\" width=\"138\" height=\"27\">Picture missing. No alternative text available.</object><span style=\"font-family:Arial; font-size:8pt;\">if <object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D2_Position_%5B1%5D_E%5B2%5D.png\" type=\"image/png\" width=\"145\" height=\"23\">Picture missing. No alternative text available.</object></span><br /><span style=\"font-family:Arial; font-size:8pt;\">OR <object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D2_Position_%5B2%5D_E.png\" type=\"image/png\" width=\"113\" height=\"27\">Picture missing. No alternative text available.</object>if <object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D2_Position_%5B2%5D_E%5B2%5D.png\" type=\"image/png\" width=\"144\" height=\"23\">Picture missing. No alternative text available.</object></span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:77pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]2.TICommand</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">TCO</span><br /><span style=\"font-family:Arial; font-size:8pt;\">SB</span><br /><span style=\"font-family:Arial; font-size:8pt;\">EB (only if allowed by National Value)</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:78pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]2.Supervision</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">Indication status (only in case of change of displayed target)</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Overspeed status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Warning status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Intervention status (in case of EB command and V_target ≠ 0, only if allowed by National Value)</span></td></tr><tr><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:28pt;\"><span style=\"font-family:Arial; font-size:8pt;\">r3</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:241pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]3.Position</div><div style=\"clear:right;\"></div></div><object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D3_Position_%5B1%5D_E.png\" type=\"image/png\" width=\"142\" height=\"27\">Picture missing. No alternative text available.</object><span style=\"font-family:Arial; font-size:8pt;\"> if <object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D3_Position_%5B1%5D_E%5B2%5D.png\" type=\"image/png\" width=\"145\" height=\"23\">Picture missing. No alternative text available.</object></span><br /><span style=\"font-family:Arial; font-size:8pt;\">OR <object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D3_Position_%5B2%5D_E.png\" type=\"image/png\" width=\"118\" height=\"27\">Picture missing. No alternative text available.</object> if<object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D3_Position_%5B2%5D_E%5B2%5D.png\" type=\"image/png\" width=\"144\" height=\"23\">Picture missing. No alternative text available.</object></span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:77pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]3.TICommand</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">TCO</span><br /><span style=\"font-family:Arial; font-size:8pt;\">SB</span><br /><span style=\"font-family:Arial; font-size:8pt;\">EB (only if allowed by National Value)</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:78pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]3.Supervision</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">Overspeed status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Warning status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Intervention status (in case of EB command, only if allowed by National Value)</span></td></tr></table>";	
+	String expectedResult = "<table style=\"border-collapse:collapse; border-spacing:0;\" class=\"TrainCommandTable\"><tr><td style=\"border-color:Black; border-style:solid solid double; border-width:2px 1px 1px; padding:4px 0px 0px; vertical-align:top; width:28pt;\"><span style=\"font-family:Arial; font-size:7pt;\">Revocation condition #</span></td><td style=\"border-color:Black; border-style:solid solid double; border-width:2px 1px 1px; padding:4px 0px 0px; vertical-align:top; width:106pt;\"><span style=\"font-family:Arial; font-size:10pt;\">Estimated speed</span></td><td style=\"border-color:Black; border-style:solid solid double; border-width:2px 1px 1px; padding:4px 0px 0px; vertical-align:top; width:241pt;\"><span style=\"font-family:Arial; font-size:10pt;\">Train front end position (estimated and max safe)</span></td><td style=\"border-color:Black; border-style:solid solid double; border-width:2px 1px 1px; padding:4px 0px 0px; vertical-align:top; width:77pt;\"><span style=\"font-family:Arial; font-size:10pt;\">TI Command revoked</span></td><td style=\"border-color:Black; border-style:solid solid double; border-width:2px 1px 1px; padding:4px 0px 0px; vertical-align:top; width:78pt;\"><span style=\"font-family:Arial; font-size:10pt;\">Supervision status revoked</span></td></tr><tr><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:28pt;\"><span style=\"font-family:Arial; font-size:8pt;\">r0</span></td><td colspan=\"2\" style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:347pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]0.Position</div><div style=\"clear:right;\"></div></div><p style=\"display:block; text-align:center;\"><span style=\"font-family:Arial; font-size:8pt;\">Standstill</span></p></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:77pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]0.TICommand</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">EB</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:78pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]0.Supervision</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">Intervention status</span></td></tr><tr><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:28pt;\"><span style=\"font-family:Arial; font-size:8pt;\">r1</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:106pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]1.Speed</div><div style=\"clear:right;\"></div></div><object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D1_Speed_E.png\" type=\"image/png\" width=\"97\" height=\"34\">Picture missing. No alternative text available.</object></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:241pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]1.Position</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">Not relevant</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:77pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]1.TICommand</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">TCO</span><br /><span style=\"font-family:Arial; font-size:8pt;\">SB</span><br /><span style=\"font-family:Arial; font-size:8pt;\">EB (in case V_target ≠ 0, only if allowed by National Value)</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:78pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]1.Supervision</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">Indication status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Overspeed status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Warning status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Intervention status (in case of EB command and V_target ≠ 0, only if allowed by National Value)</span></td></tr><tr><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:28pt;\"><span style=\"font-family:Arial; font-size:8pt;\">r2</span></td><td rowspan=\"2\" style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:106pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]2.Speed</div><div style=\"clear:right;\"></div></div><object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D2_Speed_E.png\" type=\"image/png\" width=\"126\" height=\"27\">Picture missing. No alternative text available.</object></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:241pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]2.Position</div><div style=\"clear:right;\"></div></div><object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D2_Position_%5B1%5D_E.png\" type=\"image/png\" width=\"138\" height=\"27\">Picture missing. No alternative text available.</object><span style=\"font-family:Arial; font-size:8pt;\">if <object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D2_Position_%5B1%5D_E%5B2%5D.png\" type=\"image/png\" width=\"145\" height=\"23\">Picture missing. No alternative text available.</object></span><br /><span style=\"font-family:Arial; font-size:8pt;\">OR <object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D2_Position_%5B2%5D_E.png\" type=\"image/png\" width=\"113\" height=\"27\">Picture missing. No alternative text available.</object>if <object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D2_Position_%5B2%5D_E%5B2%5D.png\" type=\"image/png\" width=\"144\" height=\"23\">Picture missing. No alternative text available.</object></span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:77pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]2.TICommand</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">TCO</span><br /><span style=\"font-family:Arial; font-size:8pt;\">SB</span><br /><span style=\"font-family:Arial; font-size:8pt;\">EB (only if allowed by National Value)</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:78pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]2.Supervision</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">Indication status (only in case of change of displayed target)</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Overspeed status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Warning status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Intervention status (in case of EB command and V_target ≠ 0, only if allowed by National Value)</span></td></tr><tr><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:28pt;\"><span style=\"font-family:Arial; font-size:8pt;\">r3</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:241pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]3.Position</div><div style=\"clear:right;\"></div></div><object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D3_Position_%5B1%5D_E.png\" type=\"image/png\" width=\"142\" height=\"27\">Picture missing. No alternative text available.</object><span style=\"font-family:Arial; font-size:8pt;\"> if <object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D2_Position_%5B1%5D_E%5B2%5D.png\" type=\"image/png\" width=\"145\" height=\"23\">Picture missing. No alternative text available.</object></span><br /><span style=\"font-family:Arial; font-size:8pt;\">OR <object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D3_Position_%5B2%5D_E.png\" type=\"image/png\" width=\"118\" height=\"27\">Picture missing. No alternative text available.</object> if<object data=\"media/Train_Interface_Command_Table-%5Bt%5D%2B_%5BC%5D2_Position_%5B2%5D_E%5B2%5D.png\" type=\"image/png\" width=\"144\" height=\"23\">Picture missing. No alternative text available.</object></span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:77pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]3.TICommand</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">TCO</span><br /><span style=\"font-family:Arial; font-size:8pt;\">SB</span><br /><span style=\"font-family:Arial; font-size:8pt;\">EB (only if allowed by National Value)</span></td><td style=\"border-color:Black; border-style:solid; border-width:1px; padding:4px 0px 0px; vertical-align:top; width:78pt;\"><div class=\"hrMetadata\"><div style=\"background-color:rgb(173,216,230); display:inline-block; float:right; font-family:courier; font-size:smaller; font-weight:lighter;\">[C]3.Supervision</div><div style=\"clear:right;\"></div></div><span style=\"font-family:Arial; font-size:8pt;\">Overspeed status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Warning status</span><br /><span style=\"font-family:Arial; font-size:8pt;\">Intervention status (in case of EB command, only if allowed by National Value)</span></td></tr></table>";	
 	assertEquals(expectedResult, getRichText());
     }
     
@@ -53,6 +53,7 @@ public abstract class ITGenericReader extends ITConstants {
      * @return string array of the basenames of all written files in alphabetical order
      */
     protected String[] getWrittenFilenames() {
+	this.readerData.getMediaWriter().flush(); // media is written asynchronously
 	final File[] writtenFiles = new File(this.readerData.getAbsoluteFilePathPrefix() + File.separator + this.readerData.getMediaStoreDirRelative()).listFiles();
 	final String[] writtenFilenames = new String[writtenFiles.length];	    
 	for (int j = 0; j < writtenFilenames.length; j++) writtenFilenames[j] = writtenFiles[j].getName();
@@ -67,7 +68,8 @@ public abstract class ITGenericReader extends ITConstants {
     public void tearDown() {
 	if (this.readerData == null) return; // apparently we do not need to delete anything 
 
-	// delete the temporary media store
+	// delete the temporary media store (once nothing is being written into it anymore)
+	this.readerData.getMediaWriter().close();
 	final File mediaStoreDir = new File(this.readerData.getAbsoluteFilePathPrefix() + File.separator + this.readerData.getMediaStoreDirRelative());
 	final File[] files = mediaStoreDir.listFiles();
 	for (final File file : files) file.delete();
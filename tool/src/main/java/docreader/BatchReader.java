@@ -0,0 +1,209 @@
+package docreader;
+
+import static helper.Constants.Generic.BATCH_HEAP_PER_DOCUMENT;
+import static helper.Constants.Generic.MEDIA_STORE_DIR;
+
+import helper.ConsoleOutputFilter;
+import helper.ParallelExecutor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reader for several Microsoft Word documents which are processed within the same JVM
+ * <p>All documents share the same (warm) runtime; i.e. classes, compiled patterns and NLP models are only loaded once.
+ * Documents are processed concurrently up to a limit which is derived from the available processors and heap.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public class BatchReader implements GenericReader<Integer> {
+    private final List<Job> jobs;
+    private final int maxParallelDocuments;
+    private static final Logger logger = Logger.getLogger(BatchReader.class.getName()); // NOPMD - Reference rather than a static field
+
+    /**
+     * A single entry of a batch manifest
+     */
+    public static final class Job {
+	private final String prefix;
+	private final String inputFilename;
+	private final String outputFilename;
+
+	/**
+	 * @param prefix prefix for derived files (image filenames, ...)
+	 * @param inputFilename file to process
+	 * @param outputFilename file where the output shall be written
+	 * @throws IllegalArgumentException if any of the arguments is {@code null}
+	 */
+	public Job(final String prefix, final String inputFilename, final String outputFilename) {
+	    if (prefix == null) throw new IllegalArgumentException("prefix cannot be null.");
+	    if (inputFilename == null) throw new IllegalArgumentException("inputFilename cannot be null.");
+	    if (outputFilename == null) throw new IllegalArgumentException("outputFilename cannot be null.");
+	    this.prefix = prefix;
+	    this.inputFilename = inputFilename;
+	    this.outputFilename = outputFilename;
+	}
+
+	/**
+	 * @return the input filename of this job; never {@code null}
+	 */
+	public String getInputFilename() {
+	    return this.inputFilename;
+	}
+    }
+
+    /**
+     * Ordinary constructor
+     *
+     * @param jobs documents to process; processing starts in the given order
+     * @param maxParallelDocuments upper bound of documents to process at the same time; may be further reduced according to the available resources
+     * @throws IllegalArgumentException if one of the arguments is malformed
+     */
+    public BatchReader(final List<Job> jobs, final int maxParallelDocuments) {
+	if (jobs == null) throw new IllegalArgumentException("jobs cannot be null.");
+	if (jobs.isEmpty()) throw new IllegalArgumentException("Need at least one job.");
+	if (maxParallelDocuments < 1) throw new IllegalArgumentException("maxParallelDocuments must be at least 1.");
+	checkOutputDirectories(jobs);
+
+	this.jobs = Collections.unmodifiableList(new ArrayList<>(jobs));
+	this.maxParallelDocuments = maxParallelDocuments;
+    }
+
+    /**
+     * Read a batch manifest
+     * <p>The manifest contains one document per line; each line has the form {@code PREFIX;INPUT;OUTPUT}.
+     * Values may be enclosed in double quotes. Empty lines and lines starting with {@code #} are ignored.</p>
+     *
+     * @param manifestFilename file to read
+     * @return all jobs of the manifest in the order of their appearance; never {@code null}
+     * @throws IllegalArgumentException if the manifest cannot be read or is malformed
+     */
+    public static List<Job> readManifest(final String manifestFilename) {
+	if (manifestFilename == null) throw new IllegalArgumentException("manifestFilename cannot be null.");
+	final List<Job> output = new ArrayList<>();
+	try (final BufferedReader reader = Files.newBufferedReader(Paths.get(manifestFilename), StandardCharsets.UTF_8)) {
+	    String line;
+	    int lineNumber = 0;
+	    while ((line = reader.readLine()) != null) {
+		lineNumber++;
+		final String trimmedLine = line.trim();
+		if (trimmedLine.isEmpty() || trimmedLine.charAt(0) == '#') continue;
+		final String[] parts = trimmedLine.split(";", -1);
+		if (parts.length != 3) throw new IllegalArgumentException("Malformed manifest entry in line " + lineNumber + ". Expected PREFIX;INPUT;OUTPUT.");
+		output.add(new Job(unquote(parts[0]), unquote(parts[1]), unquote(parts[2])));
+	    }
+	} catch (IOException e) {
+	    throw new IllegalArgumentException("Manifest " + manifestFilename + " does not exist or cannot be read.", e);
+	}
+	return output;
+    }
+
+    /**
+     * Read all documents of this batch
+     *
+     * @see docreader.GenericReader#read()
+     * @return number of documents which could not be processed; {@code 0} upon successful completion of all documents
+     */
+    @Override
+    public Integer read() {
+	// the calling thread reports the overall progress through its own (unnamed) channel
+	new ConsoleOutputFilter().addCurrentThread();
+	final int parallelDocuments = getParallelDocuments();
+	System.err.println("Batch mode: processing " + this.jobs.size() + " documents; at most " + parallelDocuments + " at a time.");
+
+	final ExecutorService threadPool = ParallelExecutor.createThreadPool("BatchReader", parallelDocuments).getExecutorService();
+	final List<Future<Integer>> futures = new ArrayList<>(this.jobs.size());
+	int failedDocuments = 0;
+	try {
+	    for (final Job currentJob : this.jobs) {
+		futures.add(threadPool.submit(new Callable<Integer>() {
+		    @Override
+		    public Integer call() {
+			// each document gets its own console channel, tagged with its prefix
+			final DocumentContext documentContext = new DocumentContext(currentJob.prefix, MEDIA_STORE_DIR);
+			try {
+			    return new DocumentReader(currentJob.prefix, currentJob.inputFilename, currentJob.outputFilename, documentContext).read();
+			}
+			finally {
+			    documentContext.close();
+			}
+		    }
+		}));
+	    }
+	    threadPool.shutdown();
+
+	    // wait in the order of submission; this keeps the summary deterministic
+	    for (int i = 0; i < futures.size(); i++) {
+		final String inputFilename = this.jobs.get(i).inputFilename;
+		try {
+		    final int returnValue = futures.get(i).get();
+		    if (returnValue != 0) failedDocuments++;
+		    System.out.println("Batch: " + inputFilename + (returnValue == 0 ? " done." : " FAILED."));
+		} catch (ExecutionException e) {
+		    failedDocuments++;
+		    logger.log(Level.SEVERE, "Could not process " + inputFilename, e.getCause());
+		    System.out.println("Batch: " + inputFilename + " FAILED: " + e.getCause().getMessage());
+		} catch (InterruptedException e) {
+		    Thread.currentThread().interrupt();
+		    throw new IllegalStateException("Interrupted while waiting for batch to finish.", e);
+		}
+	    }
+	}
+	finally {
+	    for (final Future<Integer> currentFuture : futures) currentFuture.cancel(true);
+	}
+	return failedDocuments;
+    }
+
+    /**
+     * @return number of documents to process at the same time, never {@code < 1}
+     */
+    private int getParallelDocuments() {
+	final int processors = Runtime.getRuntime().availableProcessors();
+	final long maxMemory = Runtime.getRuntime().maxMemory();
+	final long byMemory = maxMemory == Long.MAX_VALUE ? Integer.MAX_VALUE : maxMemory / BATCH_HEAP_PER_DOCUMENT;
+	final int output = (int) Math.min(Math.min(this.maxParallelDocuments, processors), Math.min(byMemory, this.jobs.size()));
+	return Math.max(output, 1);
+    }
+
+    /**
+     * Each document writes its media store into the directory of its output file; hence two documents may not share an output directory
+     *
+     * @param jobs jobs to check
+     * @throws IllegalArgumentException if at least two jobs would write into the same directory
+     */
+    private static void checkOutputDirectories(final List<Job> jobs) {
+	assert jobs != null;
+	final Set<Path> outputDirectories = new HashSet<>();
+	for (final Job currentJob : jobs) {
+	    final Path outputDirectory = Paths.get(currentJob.outputFilename).toAbsolutePath().getParent();
+	    if (!outputDirectories.add(outputDirectory)) {
+		throw new IllegalArgumentException("More than one document of this batch writes to " + outputDirectory + ". Please use a separate output directory for each document.");
+	    }
+	}
+    }
+
+    private static String unquote(final String input) {
+	assert input != null;
+	final String output = input.trim();
+	if (output.length() >= 2 && output.charAt(0) == '"' && output.charAt(output.length()-1) == '"') {
+	    return output.substring(1, output.length()-1);
+	}
+	return output;
+    }
+}
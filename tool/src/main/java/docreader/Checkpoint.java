@@ -0,0 +1,114 @@
+package docreader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import helper.CheckpointHelper;
+import requirement.RequirementRoot;
+import requirement.RequirementTreeCheckpoint;
+
+/**
+ * Binary snapshot of a document which has been read; allows to rerun later phases without parsing the input document again
+ * <p>Besides the requirement tree (see {@link RequirementTreeCheckpoint}) the snapshot holds the media which still has to be converted.
+ * Media files themselves are not part of the snapshot; they remain in the media directory of the run which wrote the snapshot.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public final class Checkpoint {
+    private final static int MAGIC = 0x53323643; // "S26C"
+    private final static int FORMAT_VERSION = 1;
+    private final Phase phase;
+    private final RequirementRoot root;
+
+    /**
+     * Point in the processing chain after which a checkpoint is taken
+     */
+    public enum Phase {
+	/**
+	 * after the document has been read (Step 1 and 2); the second pass has not been applied to the tree yet
+	 */
+	FIRST_PASS,
+	/**
+	 * after the second pass (Step 3); only the serialization remains
+	 */
+	SECOND_PASS
+    }
+
+    private Checkpoint(final Phase phase, final RequirementRoot root) {
+	assert phase != null && root != null;
+	this.phase = phase;
+	this.root = root;
+    }
+
+    /**
+     * Write a checkpoint
+     *
+     * @param checkpointFilename file to write; existing files will be overridden without warning
+     * @param phase phase which has just been completed
+     * @param readerData global readerData of the document
+     * @param root root of the requirement tree of the document
+     * @throws IllegalArgumentException if one of the arguments is {@code null}
+     * @throws IllegalStateException if the checkpoint cannot be written
+     */
+    static void write(final String checkpointFilename, final Phase phase, final ReaderData readerData, final RequirementRoot root) {
+	if (checkpointFilename == null) throw new IllegalArgumentException("checkpointFilename cannot be null.");
+	if (phase == null) throw new IllegalArgumentException("phase cannot be null.");
+	if (readerData == null) throw new IllegalArgumentException("readerData cannot be null.");
+	if (root == null) throw new IllegalArgumentException("root cannot be null.");
+
+	try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(checkpointFilename))))) {
+	    output.writeInt(MAGIC);
+	    output.writeInt(FORMAT_VERSION);
+	    CheckpointHelper.writeEnum(output, phase);
+	    readerData.getPictureStore().writeTo(output);
+	    RequirementTreeCheckpoint.write(output, root, readerData.getTraceabilityLinker());
+	} catch (IOException e) {
+	    throw new IllegalStateException("Cannot write checkpoint " + checkpointFilename + '.', e);
+	}
+    }
+
+    /**
+     * Read a checkpoint
+     *
+     * @param checkpointFilename file to read
+     * @param readerData global readerData of a restored document (i.e. without an input document); receives the traceability links and the media to convert
+     * @return the restored checkpoint; never {@code null}
+     * @throws IllegalArgumentException if one of the arguments is {@code null} or the file is not a valid checkpoint
+     */
+    static Checkpoint read(final String checkpointFilename, final ReaderData readerData) {
+	if (checkpointFilename == null) throw new IllegalArgumentException("checkpointFilename cannot be null.");
+	if (readerData == null) throw new IllegalArgumentException("readerData cannot be null.");
+
+	try (final DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(checkpointFilename))))) {
+	    if (input.readInt() != MAGIC) throw new IllegalArgumentException("File " + checkpointFilename + " is not a checkpoint.");
+	    if (input.readInt() != FORMAT_VERSION) throw new IllegalArgumentException("Checkpoint " + checkpointFilename + " has been written by an incompatible version.");
+	    final Phase phase = CheckpointHelper.readEnum(input, Phase.values());
+	    if (phase == null) throw new IllegalArgumentException("Checkpoint " + checkpointFilename + " is malformed.");
+	    readerData.getPictureStore().readFrom(input);
+	    return new Checkpoint(phase, RequirementTreeCheckpoint.read(input, readerData));
+	} catch (IOException e) {
+	    throw new IllegalArgumentException("File " + checkpointFilename + " does not exist or is not a valid checkpoint.", e);
+	}
+    }
+
+    /**
+     * @return phase after which this checkpoint has been taken; never {@code null}
+     */
+    Phase getPhase() {
+	return this.phase;
+    }
+
+    /**
+     * @return root of the restored requirement tree; never {@code null}
+     */
+    RequirementRoot getRoot() {
+	return this.root;
+    }
+}
@@ -0,0 +1,72 @@
+package docreader;
+
+import static helper.Constants.Generic.MEDIA_STORE_DIR;
+
+import java.io.ByteArrayOutputStream;
+
+import helper.ConsoleOutputFilter;
+import helper.DeferredLoggingHandler;
+import helper.Destructible;
+
+/**
+ * Resources which are private to the processing of a single document (console channel, logging sink, media directory)
+ * <p>Documents with separate contexts may be processed concurrently within the same JVM without their output getting mixed up.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public final class DocumentContext implements Destructible {
+    private final ConsoleOutputFilter consoleFilter;
+    private final DeferredLoggingHandler loggingHandler = new DeferredLoggingHandler(new ByteArrayOutputStream());
+    private final String mediaStoreDirRelative;
+
+    /**
+     * Create a context for the only document of this JVM; console output is forwarded unchanged
+     */
+    public DocumentContext() {
+	this(null, MEDIA_STORE_DIR);
+    }
+
+    /**
+     * @param consoleChannelName name to prefix all console output of this document with; may be {@code null} if no prefix shall be used
+     * @param mediaStoreDirRelative subdirectory where embedded media shall be stored, relative to the directory of the output file
+     * @throws IllegalArgumentException if the media directory is {@code null}
+     */
+    public DocumentContext(final String consoleChannelName, final String mediaStoreDirRelative) {
+	if (mediaStoreDirRelative == null) throw new IllegalArgumentException("mediaStoreDirRelative cannot be null.");
+	this.consoleFilter = new ConsoleOutputFilter(consoleChannelName);
+	this.mediaStoreDirRelative = mediaStoreDirRelative;
+    }
+
+    /**
+     * @return the console channel of this document; never {@code null}
+     */
+    public ConsoleOutputFilter getConsoleFilter() {
+	return this.consoleFilter;
+    }
+
+    /**
+     * @return the sink for deferred log messages of this document; never {@code null}
+     */
+    public DeferredLoggingHandler getLoggingHandler() {
+	return this.loggingHandler;
+    }
+
+    /**
+     * @return subdirectory where embedded media shall be stored without a trailing separator-char; never {@code null}
+     */
+    public String getMediaStoreDirRelative() {
+	return this.mediaStoreDirRelative;
+    }
+
+    /**
+     * Flush any pending output and detach all threads from the console channel of this document
+     *
+     * @see helper.Destructible#close()
+     */
+    @Override
+    public void close() {
+	this.loggingHandler.flushMessages();
+	this.loggingHandler.close();
+	this.consoleFilter.close();
+    }
+}
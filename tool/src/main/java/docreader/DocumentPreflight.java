@@ -0,0 +1,96 @@
+package docreader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+
+import org.apache.poi.hwpf.HWPFDocument;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
+
+/**
+ * Reader which only validates a Microsoft Word document (preflight)
+ * <p>The document is opened and the structural checks of {@link ReaderData} (document assumptions, section and footnote setup) are run;
+ * nothing is converted and no output is written. Unsuitable documents can thus be rejected before committing to a full conversion.</p>
+ * 
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public final class DocumentPreflight implements GenericReader<Integer> {
+    private final String inputFilename;
+    private Set<Check> firedChecks = Collections.emptySet();
+
+    /**
+     * Properties of a document which the reader cannot (fully) handle
+     */
+    public enum Check {
+	/**
+	 * the document contains textboxes; they are skipped
+	 */
+	TEXTBOXES,
+	/**
+	 * the document contains comments; they are skipped
+	 */
+	COMMENTS,
+	/**
+	 * the main document consists of several sections; footnote and endnote numbering is not set up
+	 */
+	MULTIPLE_SECTIONS,
+	/**
+	 * footnotes or endnotes request a numbering which is not supported; arabic continuous numbering is used instead
+	 */
+	UNSUPPORTED_NOTE_NUMBERING
+    }
+
+    /**
+     * @param inputFilename file to check
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public DocumentPreflight(final String inputFilename) {
+	if (inputFilename == null) throw new IllegalArgumentException("InputFilename cannot be null.");
+	this.inputFilename = inputFilename;
+    }
+
+    /**
+     * Check a document
+     * 
+     * @see docreader.GenericReader#read()
+     * @return {@code 0} if the document can be processed without restrictions; {@code 1} if any of the checks fired (see {@link #getFiredChecks()})
+     * @throws IllegalArgumentException if the input file is not a valid MS Word 97 file
+     */
+    @Override
+    public Integer read() {
+	final DocumentContext documentContext = new DocumentContext();
+	NPOIFSFileSystem inputFileSystem = null;
+	try {
+	    // the container is accessed through a file channel; only the streams which are needed are paged in
+	    inputFileSystem = new NPOIFSFileSystem(new File(this.inputFilename), true);
+	    this.firedChecks = Collections.unmodifiableSet(ReaderData.checkDocument(new HWPFDocument(inputFileSystem.getRoot()), documentContext));
+	}
+	catch (IOException e) {
+	    throw new IllegalArgumentException("File " + this.inputFilename + " does not exist or is not a valid MS Word 97 file.");
+	}
+	finally {
+	    if (inputFileSystem != null) {
+		try {
+		    inputFileSystem.close();
+		} catch (IOException e) {
+		    System.err.println("Could not close " + this.inputFilename + ": " + e.getMessage());
+		}
+	    }
+	    documentContext.close();
+	}
+	if (this.firedChecks.isEmpty()) {
+	    System.out.println("Preflight of " + this.inputFilename + " passed.");
+	    return 0;
+	}
+	System.out.println("Preflight of " + this.inputFilename + " failed. Fired checks: " + this.firedChecks);
+	return 1;
+    }
+
+    /**
+     * @return all checks which fired during the last call to {@link #read()}; empty if there was no such call; never {@code null}
+     */
+    public Set<Check> getFiredChecks() {
+	return this.firedChecks;
+    }
+}
@@ -1,7 +1,12 @@
 package docreader;
 
+import static helper.Constants.Generic.CONVERT_RASTER_IMAGES;
+import static helper.Constants.Generic.MEMORY_MAPPED_INPUT;
+import static helper.Constants.Generic.RELEASE_DOCUMENT_AFTER_FIRST_PASS;
 import helper.ConsoleOutputFilter;
+import helper.ParallelExecutor;
 import helper.annotations.DomainSpecific;
+import helper.word.MediaWriter;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -9,6 +14,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 
 import org.apache.poi.hwpf.HWPFDocument;
+import org.apache.poi.poifs.filesystem.NPOIFSFileSystem;
 
 import docreader.GenericReader;
 import docreader.ReaderData;
@@ -36,8 +42,13 @@ public class DocumentReader implements GenericReader<Integer> {
     private final String inputFilename;
     private final String outputFilename;
     private final String globalPrepender;
+    private final DocumentContext documentContext;
+    private final boolean resumeFromCheckpoint;
+    private Checkpoint.Phase checkpointPhase = null;
+    private String checkpointFilename = null;
+    private String secondPassCacheFilename = null;
+    private NPOIFSFileSystem inputFileSystem = null;
     private int totalParagraphNumber;
-    private final transient PrintWriter status = new PrintWriter(System.err, true);
 
     /**
      * Ordinary constructor
@@ -48,13 +59,78 @@ public class DocumentReader implements GenericReader<Integer> {
      * @throws IllegalArgumentException if any of the arguments is {@code null}
      */
     public DocumentReader(final String globalPrepender, final String inputFilename, final String outputFilename) {
+	this(globalPrepender, inputFilename, outputFilename, new DocumentContext());
+    }
+    
+    /**
+     * Constructor for documents which are read concurrently with others
+     * 
+     * @param globalPrepender prepender for derived files (image filenames, ...)
+     * @param inputFilename file to process
+     * @param outputFilename file where the output shall be written; existing files will be overridden without warning
+     * @param documentContext resources which are private to this document (console channel, logging, media directory)
+     * @throws IllegalArgumentException if any of the arguments is {@code null}
+     */
+    public DocumentReader(final String globalPrepender, final String inputFilename, final String outputFilename, final DocumentContext documentContext) {
+	this(globalPrepender, inputFilename, outputFilename, documentContext, false);
+    }
+    
+    private DocumentReader(final String globalPrepender, final String inputFilename, final String outputFilename, final DocumentContext documentContext, final boolean resumeFromCheckpoint) {
 	if (globalPrepender == null) throw new IllegalArgumentException("GlobalPrepender cannot be null.");
 	if (inputFilename == null) throw new IllegalArgumentException("InputFilename cannot be null.");
 	if (outputFilename == null) throw new IllegalArgumentException("outputFilename cannot be null.");
+	if (documentContext == null) throw new IllegalArgumentException("documentContext cannot be null.");
 	
 	this.globalPrepender = globalPrepender;
 	this.inputFilename = inputFilename;
 	this.outputFilename = outputFilename;
+	this.documentContext = documentContext;
+	this.resumeFromCheckpoint = resumeFromCheckpoint;
+    }
+    
+    /**
+     * Create a reader which continues from a checkpoint rather than reading a MS Word document
+     * <p>The output should be written to the directory of the run which wrote the checkpoint; otherwise embedded media will be missing.</p>
+     * 
+     * @param globalPrepender prepender for derived files (image filenames, ...); should match the one of the run which wrote the checkpoint
+     * @param checkpointFilename checkpoint to read
+     * @param outputFilename file where the output shall be written; existing files will be overridden without warning
+     * @return a new reader; never {@code null}
+     * @throws IllegalArgumentException if any of the arguments is {@code null}
+     * @see #setCheckpoint(Checkpoint.Phase, String)
+     */
+    public static DocumentReader resume(final String globalPrepender, final String checkpointFilename, final String outputFilename) {
+	return new DocumentReader(globalPrepender, checkpointFilename, outputFilename, new DocumentContext(), true);
+    }
+    
+    /**
+     * Write a checkpoint once a certain phase has been completed; see {@link #resume(String, String, String)}
+     * <p>a checkpoint after the first pass disables the overlapping of the first and the second pass</p>
+     * 
+     * @param phase phase after which the checkpoint shall be written
+     * @param checkpointFilename file where the checkpoint shall be written; existing files will be overridden without warning
+     * @return this reader
+     * @throws IllegalArgumentException if any of the arguments is {@code null}
+     */
+    public DocumentReader setCheckpoint(final Checkpoint.Phase phase, final String checkpointFilename) {
+	if (phase == null) throw new IllegalArgumentException("phase cannot be null.");
+	if (checkpointFilename == null) throw new IllegalArgumentException("checkpointFilename cannot be null.");
+	this.checkpointPhase = phase;
+	this.checkpointFilename = checkpointFilename;
+	return this;
+    }
+
+    /**
+     * Enable incremental reconversion: the results of the second pass are stored per top-level section and reused in later runs for sections which have not changed
+     * 
+     * @param secondPassCacheFilename file which holds the results of earlier runs; will be created if it does not exist and updated at the end of the second pass
+     * @return this reader
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public DocumentReader setSecondPassCache(final String secondPassCacheFilename) {
+	if (secondPassCacheFilename == null) throw new IllegalArgumentException("secondPassCacheFilename cannot be null.");
+	this.secondPassCacheFilename = secondPassCacheFilename;
+	return this;
     }
 
     /**
@@ -67,49 +143,58 @@ public class DocumentReader implements GenericReader<Integer> {
     @DomainSpecific
     public Integer read() {
 	// Setup
-	final ConsoleOutputFilter consoleFilter = new ConsoleOutputFilter();
+	final ConsoleOutputFilter consoleFilter = this.documentContext.getConsoleFilter();
 	consoleFilter.addCurrentThread();	
+	final PrintWriter status = new PrintWriter(System.err, true); // must be created after the console filter is in place
+	final SecondPassCache secondPassCache = this.secondPassCacheFilename != null ? new SecondPassCache(this.secondPassCacheFilename) : null;
 	
-	ReaderData readerData;
-	try (final FileInputStream fileInputStream = new FileInputStream(this.inputFilename)) {
-	    final HWPFDocument document = new HWPFDocument(fileInputStream);
-	    readerData = new ReaderData(document, this.globalPrepender, this.outputFilename);
-	} 
-	catch (IOException e) {
-	    throw new IllegalArgumentException("File " + this.inputFilename + " does not exist or is not a valid MS Word 97 file.");
+	final ReaderData readerData;
+	final RequirementRoot root;
+	final int numUnwrittenImages;
+	final int numDuplicateImages;
+	if (this.resumeFromCheckpoint) {
+	    readerData = new ReaderData(this.globalPrepender, this.outputFilename, this.documentContext);
+	    final Checkpoint checkpoint = Checkpoint.read(this.inputFilename, readerData);
+	    root = checkpoint.getRoot();
+	    numUnwrittenImages = 0; // have been written by the run which wrote the checkpoint
+	    numDuplicateImages = 0;
+	    System.err.println("Resuming from checkpoint " + this.inputFilename + " taken after " + checkpoint.getPhase().name() + '.');
+	    if (checkpoint.getPhase() == Checkpoint.Phase.FIRST_PASS) {
+		performSecondPass(new SecondPassReader(root, consoleFilter, secondPassCache), readerData, root);
+	    }
 	}
-	new DocumentSummaryReader(readerData, this.inputFilename, this.outputFilename).read();
-	this.totalParagraphNumber = readerData.getRange().numParagraphs();	
-	final ListToRequirementProcessor listToRequirementProcessor = readerData.getListToRequirementProcessor();
-	// Setup end
-	
-	RequirementRoot lastRequirement = listToRequirementProcessor.getRootRequirement();
-	final RequirementRoot root = lastRequirement;
-	final SecondPassReader secondPassReader = new SecondPassReader(root, consoleFilter); // setup the second pass reader (give it some time to warm up NLP)
+	else {
+	    final SecondPassReader secondPassReader;
+	    MediaWriter mediaWriter = null;
+	    try {
+		readerData = new ReaderData(openInput(), this.globalPrepender, this.outputFilename, this.documentContext);
+		mediaWriter = readerData.getMediaWriter();
+		new DocumentSummaryReader(readerData, this.inputFilename, this.outputFilename).read();
+		this.totalParagraphNumber = readerData.getParagraphIndex().numParagraphs();	
+		// Setup end
 
-	// Step 1: Handle the document title
-	final TitleReader titleReader = new TitleReader(readerData, listToRequirementProcessor.getListReader(), lastRequirement, 0);
-	final int startOffset = titleReader.read();
-	listToRequirementProcessor.setLastRequirement(titleReader.getTitleRequirement());
+		root = readerData.getListToRequirementProcessor().getRootRequirement();
+		secondPassReader = new SecondPassReader(root, consoleFilter, secondPassCache); // setup the second pass reader (give it some time to warm up NLP)
 
-	// Step 2: Handle the main document part	
-	for(int currentRangeNum=startOffset; currentRangeNum<this.totalParagraphNumber; currentRangeNum++) {
-    	    currentRangeNum = listToRequirementProcessor.processParagraph(currentRangeNum);
-	    final RequirementOrdinary currentRequirement = listToRequirementProcessor.getCurrentRequirement();
-	    if (currentRequirement != null) {
-		final int rangeNumForStatus = currentRangeNum;		
-		currentRangeNum += new RequirementReader(readerData, currentRequirement, currentRangeNum).read();
-		final String tag = currentRequirement.getHumanReadableManager() != null ? currentRequirement.getHumanReadableManager().getTag() : "";
-		final String text = currentRequirement.getText() != null && currentRequirement.getText().getRaw() != null ? currentRequirement.getText().getRaw() : "";
-		this.status.println(statusString(rangeNumForStatus, tag, text, this.totalParagraphNumber));
+		// Step 1 and 2: Read the actual document
+		// a checkpoint after the first pass must not contain any results of the second pass; hence do not overlap them in this case
+		readFirstPass(readerData, this.checkpointPhase == Checkpoint.Phase.FIRST_PASS ? null : secondPassReader, status);
+
+		// all media which is not referenced from the text has to be written while the document is still available
+		numUnwrittenImages = readerData.getPictureStore().writeUnwrittenPictures(mediaWriter);
+		mediaWriter.close(); // wait for all pending media
+		numDuplicateImages = mediaWriter.getNumberOfDuplicates();
 	    }
-	    System.err.flush(); // make sure all error messages from this iteration end up in the output
+	    finally {
+		closeInput(); // nothing reads from the input file after this point
+		if (mediaWriter != null) mediaWriter.close(); // also shuts down its threads if reading failed; no-op otherwise
+	    }
+	    if (RELEASE_DOCUMENT_AFTER_FIRST_PASS) readerData.releaseDocument(root);
+	    if (this.checkpointPhase == Checkpoint.Phase.FIRST_PASS) writeCheckpoint(readerData, root);
+
+	    performSecondPass(secondPassReader, readerData, root);
 	}
 
-	// Step 3: do a second pass to detect certain properties which rely on a complete hierarchy	
-	System.err.println("Performing second pass of generated document hierarchy.");
-	secondPassReader.read();
-	
 	// Step 4: Serialize to XML	
 	System.err.println("Starting XML serialization");
 	final DocumentWriter documentWriter = new DocumentWriter();
@@ -156,7 +241,7 @@ public class DocumentReader implements GenericReader<Integer> {
 		    @Override
 		    public String call(final RequirementWParent requirement) {
 			assert requirement != null;
-			return Integer.toString(requirement.getAssociatedRange().getStartOffset());
+			return Integer.toString(requirement.getAssociatedStartOffset());
 		    }
 		})
 	);
@@ -217,20 +302,115 @@ public class DocumentReader implements GenericReader<Integer> {
 	System.out.println("Processed " + Integer.toString(readerData.getTraceabilityLinker().getNumberOfRequirements()) + " traceable artifacts.");
 	
 	// Step 4: Handle images and shapes
-	final int numUnwrittenImages = readerData.getPictureStore().writeUnwrittenPictures(readerData.getAbsoluteFilePathPrefix() + File.separator + readerData.getMediaStoreDirRelative() + File.separator);
 	final String imageListLocation = readerData.getAbsoluteFilePathPrefix() + File.separator + readerData.getMediaStoreDirRelative() + File.separator + "images.csv";
-	final int numImages = readerData.getPictureStore().writeImageConversionFile(imageListLocation);
 	final String shapeListLocation = readerData.getAbsoluteFilePathPrefix() + File.separator + readerData.getMediaStoreDirRelative() + File.separator + "shapes.csv";
-	final int numShapes = readerData.getPictureStore().writeShapeConversionFile(shapeListLocation);
+	// when resuming, the run which wrote the checkpoint may have written these lists already
+	final boolean imagesPending = !this.resumeFromCheckpoint || !new File(imageListLocation).isFile();
+	final int numConvertedImages = imagesPending && CONVERT_RASTER_IMAGES ? readerData.getPictureStore().convertRasterPictures(readerData.getAbsoluteFilePathPrefix() + File.separator + readerData.getMediaStoreDirRelative()) : 0;
+	final int numImages = imagesPending ? readerData.getPictureStore().writeImageConversionFile(imageListLocation) : 0;
+	final int numShapes = this.resumeFromCheckpoint && new File(shapeListLocation).isFile() ? 0 : readerData.getPictureStore().writeShapeConversionFile(shapeListLocation);
 
-	if (numUnwrittenImages > 0 || numImages > 0 || numShapes > 0) { System.out.println(); System.out.println("Media summary:"); }
+	if (numUnwrittenImages > 0 || numDuplicateImages > 0 || numConvertedImages > 0 || numImages > 0 || numShapes > 0) { System.out.println(); System.out.println("Media summary:"); }
 	if (numUnwrittenImages > 0) System.out.println(Integer.toString(numUnwrittenImages) + " unreferenced images.");	    
+	if (numDuplicateImages > 0) System.out.println(Integer.toString(numDuplicateImages) + " duplicate images (written only once).");	    
+	if (numConvertedImages > 0) System.out.println(Integer.toString(numConvertedImages) + " raster images converted to png.");	    
 	if (numImages > 0) System.out.println(Integer.toString(numImages) + " images. Please process " + imageListLocation);	    
 	if (numShapes > 0) System.out.println(Integer.toString(numShapes) + " shapes. Please process " + shapeListLocation);	    
 	
 	return 0;
     }
     
+    /**
+     * Open the input document
+     * <p>if {@code MEMORY_MAPPED_INPUT} is set, the OLE2 container is accessed through a file channel; i.e. streams are paged in by the OS
+     * instead of duplicating the whole file in the heap. The container has to remain open until the document has been read; see {@link #closeInput()}.</p>
+     * 
+     * @return the opened document; never {@code null}
+     * @throws IllegalArgumentException if the input file cannot be opened
+     */
+    private HWPFDocument openInput() {
+	try {
+	    if (MEMORY_MAPPED_INPUT) {
+		this.inputFileSystem = new NPOIFSFileSystem(new File(this.inputFilename), true);
+		return new HWPFDocument(this.inputFileSystem.getRoot());
+	    }
+	    try (final FileInputStream fileInputStream = new FileInputStream(this.inputFilename)) {
+		return new HWPFDocument(fileInputStream);
+	    }
+	}
+	catch (IOException e) {
+	    throw new IllegalArgumentException("File " + this.inputFilename + " does not exist or is not a valid MS Word 97 file.");
+	}
+    }
+    
+    /**
+     * Close the file channel opened by {@link #openInput()}, if any
+     */
+    private void closeInput() {
+	if (this.inputFileSystem == null) return;
+	try {
+	    this.inputFileSystem.close();
+	} catch (IOException e) {
+	    System.err.println("Could not close " + this.inputFilename + ": " + e.getMessage());
+	}
+	this.inputFileSystem = null; // NOPMD - intentional null assignment
+    }
+    
+    /**
+     * Step 3: do a second pass to detect certain properties which rely on a complete hierarchy (finishes what has not been done in the background)
+     * 
+     * @param secondPassReader reader which shall perform the second pass
+     * @param readerData global readerData
+     * @param root root of the requirement tree
+     */
+    private void performSecondPass(final SecondPassReader secondPassReader, final ReaderData readerData, final RequirementRoot root) {
+	System.err.println("Performing second pass of generated document hierarchy.");
+	secondPassReader.read();
+	if (this.checkpointPhase == Checkpoint.Phase.SECOND_PASS) writeCheckpoint(readerData, root);
+    }
+    
+    private void writeCheckpoint(final ReaderData readerData, final RequirementRoot root) {
+	System.err.println("Writing checkpoint " + this.checkpointFilename);
+	Checkpoint.write(this.checkpointFilename, this.checkpointPhase, readerData, root);
+    }
+    
+    /**
+     * Read the title and the main part of the document into a requirement tree
+     * <p>all handles to the list processing state are local to this method; hence they may be garbage collected once it returns</p>
+     * 
+     * @param readerData global readerData
+     * @param secondPassReader second pass reader which gets completed subtrees while reading; may be {@code null} if the second pass shall not overlap with reading
+     * @param status where to write status information
+     */
+    private void readFirstPass(final ReaderData readerData, final SecondPassReader secondPassReader, final PrintWriter status) {
+	final ListToRequirementProcessor listToRequirementProcessor = readerData.getListToRequirementProcessor();
+	listToRequirementProcessor.setModificationListener(secondPassReader);
+
+	// Step 1: Handle the document title
+	final TitleReader titleReader = new TitleReader(readerData, listToRequirementProcessor.getListReader(), listToRequirementProcessor.getRootRequirement(), 0);
+	final int startOffset = titleReader.read();
+	listToRequirementProcessor.setLastRequirement(titleReader.getTitleRequirement());
+
+	// Step 2: Handle the main document part	
+	// Note: the sections are read strictly in order. The list state (ListReader/SublistManager), the placeholder de-duplication of the
+	// TraceabilityLinker and the note running numbers carry over from one section to the next; POI's ranges are not thread-safe either.
+	for(int currentRangeNum=startOffset; currentRangeNum<this.totalParagraphNumber; currentRangeNum++) {
+	    ParallelExecutor.checkCancellation();
+    	    currentRangeNum = listToRequirementProcessor.processParagraph(currentRangeNum);
+	    final RequirementOrdinary currentRequirement = listToRequirementProcessor.getCurrentRequirement();
+	    if (currentRequirement != null) {
+		final int rangeNumForStatus = currentRangeNum;		
+		currentRangeNum += new RequirementReader(readerData, currentRequirement, currentRangeNum).read();
+		final String tag = currentRequirement.getHumanReadableManager() != null ? currentRequirement.getHumanReadableManager().getTag() : "";
+		final String text = currentRequirement.getText() != null && currentRequirement.getText().getRaw() != null ? currentRequirement.getText().getRaw() : "";
+		status.println(statusString(rangeNumForStatus, tag, text, this.totalParagraphNumber));
+		if (secondPassReader != null) secondPassReader.notifyReadPosition(currentRequirement); // completed subtrees already undergo the second pass in the background
+	    }
+	    System.err.flush(); // make sure all error messages from this iteration end up in the output
+	}
+	listToRequirementProcessor.setModificationListener(null);
+    }
+    
     private static String statusString(final int currentParagraphNum, final String numberText, final String paragraphText, final int totalParagraphNumber) {
 	final StringBuilder output = new StringBuilder();
 	final int indexOfLastParagraph = totalParagraphNumber -1;
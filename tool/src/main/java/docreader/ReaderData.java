@@ -1,17 +1,22 @@
 package docreader;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.logging.Filter;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
 import helper.DeferredLoggingHandler;
+import helper.word.MediaWriter;
 import helper.word.PictureStore;
 
 import org.apache.poi.hwpf.HWPFDocument;
@@ -22,10 +27,14 @@ import org.apache.poi.hwpf.usermodel.Range;
 import org.apache.poi.hwpf.usermodel.Section;
 
 import docreader.list.ListToRequirementProcessor;
+import docreader.range.paragraph.ParagraphIndex;
+import docreader.range.paragraph.ParagraphListDataCache;
+import docreader.range.paragraph.characterRun.CharacterRunFormattingCache;
 import docreader.range.paragraph.characterRun.OfficeDrawingReader;
+import requirement.RequirementRoot;
+import requirement.RequirementWParent;
 import requirement.TraceabilityLinker;
 import requirement.metadata.KnownPhrasesLinker;
-import static helper.Constants.Generic.MEDIA_STORE_DIR;
 
 /**
  * Container for data (context) specific to each MS Word input file
@@ -36,25 +45,29 @@ public class ReaderData {
     private final String documentPrefix;
     private final String documentTitle;
     private final String mediaStoreDirRelative;
-    private final HWPFDocument document;
+    // the handles to the input document are non-final; see releaseDocument()
+    private HWPFDocument document;
     private final String outputDir;
-    private final Range range;
-    private final Fields fields;
-    private final transient Map<String, Integer> bookmarks;
+    private Range range;
+    private ParagraphIndex paragraphIndex;
+    private ParagraphListDataCache paragraphListDataCache;
+    private Fields fields;
+    private transient Map<String, Integer> bookmarks;
     private final PictureStore pictureStore;
-    private final OfficeDrawingReader officeDrawingReader;
+    private MediaWriter mediaWriter;
+    private OfficeDrawingReader officeDrawingReader;
+    private CharacterRunFormattingCache characterRunFormattingCache;
     private final TraceabilityLinker traceabilityLinker;
     private final KnownPhrasesLinker knownPhrasesLinker;
-    private final ListToRequirementProcessor listToRequirementProcessor;
+    private ListToRequirementProcessor listToRequirementProcessor;
     private int footnoteRunningNumber = 1;
     private int endnoteRunningNumber = 1;
+    private final DeferredLoggingHandler loggingHandler;
     private static final Logger logger = Logger.getLogger(ReaderData.class.getName()); // NOPMD - Reference rather than a static field    
-    private static final DeferredLoggingHandler LOGGING_HANDLER = new DeferredLoggingHandler(new ByteArrayOutputStream());       
     
     static {
-	// store away logging events for later retrieval
+	// store away logging events for later retrieval; the actual (per document) handlers are attached by the constructor
 	logger.setUseParentHandlers(false);
-	logger.addHandler(LOGGING_HANDLER);
     }
     
     /**
@@ -64,13 +77,30 @@ public class ReaderData {
      * @throws IllegalArgumentException if one of the given arguments {@code null}
      * @throw IllegalStateException if there are problems with the image storage directory
      */
-    public ReaderData(final HWPFDocument document, final String documentTitle,final String reqIFOutputFilename) {	
+    public ReaderData(final HWPFDocument document, final String documentTitle,final String reqIFOutputFilename) {
+	this(document, documentTitle, reqIFOutputFilename, new DocumentContext());
+    }
+    
+    /**
+     * @param document Document which is being processed
+     * @param documentTitle String which uniquely identifies this {@code document} and is used as a prepender for certain output
+     * @param reqIFOutputFilename filename of the resulting reqIF
+     * @param documentContext resources which are private to this document
+     * @throws IllegalArgumentException if one of the given arguments {@code null}
+     * @throw IllegalStateException if there are problems with the image storage directory
+     */
+    public ReaderData(final HWPFDocument document, final String documentTitle,final String reqIFOutputFilename, final DocumentContext documentContext) {	
 	if (document == null) throw new IllegalArgumentException("document cannot be null.");
 	if (reqIFOutputFilename == null) throw new IllegalArgumentException("reqIFOutputFilename cannot be null.");
+	if (documentContext == null) throw new IllegalArgumentException("documentContext cannot be null.");
+
+	this.loggingHandler = attachLoggingHandler(documentContext);
 
 	this.document = document;		
 	this.range = document.getRange();
-	checkDocumentAssumptions();
+	this.paragraphIndex = new ParagraphIndex(this.range);
+	this.paragraphListDataCache = new ParagraphListDataCache(this.paragraphIndex);
+	checkDocumentAssumptions(document, EnumSet.noneOf(DocumentPreflight.Check.class));
 	setupMainSection();
 	this.listToRequirementProcessor = new ListToRequirementProcessor(this); // sets up the range
 	
@@ -78,24 +108,53 @@ public class ReaderData {
 	this.bookmarks = convertBookmarks(document.getBookmarks().getBookmarksStartedBetween(this.getRange().getStartOffset(), this.getRange().getEndOffset()));
 	this.pictureStore = new PictureStore(document);
 	this.officeDrawingReader = new OfficeDrawingReader(document);
+	this.characterRunFormattingCache = new CharacterRunFormattingCache();
 	
-	// determine the output directory for supplementary artifacts
-	final Path outputPath = Paths.get(reqIFOutputFilename);	
-	if (Files.isDirectory(outputPath)) throw new IllegalArgumentException("reqIFOutputFilename refers to a directory");
-	if (Files.isRegularFile(outputPath)) throw new IllegalArgumentException("reqIFOutputFilename already exists. Please delete the file first.");
-	this.outputDir = outputPath.toAbsolutePath().getParent().toString();
-		
+	this.outputDir = determineOutputDir(reqIFOutputFilename);
 	if (documentTitle == null) throw new IllegalArgumentException("documentPrefix cannot be null.");
-	@SuppressWarnings("hiding")
-	final String documentPrefix = documentTitle.replace(" ", "_");
-	this.documentPrefix = ("".equals(documentPrefix) || documentPrefix.endsWith("-")) ? documentPrefix : documentPrefix + "-";
+	this.documentPrefix = toDocumentPrefix(documentTitle);
 	this.documentTitle = documentTitle;
 
-	this.mediaStoreDirRelative = MEDIA_STORE_DIR;
+	this.mediaStoreDirRelative = documentContext.getMediaStoreDirRelative();
 	final String mediaStoreDirAbsolute = getAbsoluteFilePathPrefix() + File.separator + this.mediaStoreDirRelative;
 	final File mediaStoreDirHandler = new File(mediaStoreDirAbsolute);
 	if (mediaStoreDirHandler.exists()) throw new IllegalStateException("The mediaStoreDir already exists. Please delete it first. Path: " + mediaStoreDirAbsolute);
 	else if (!mediaStoreDirHandler.mkdir()) throw new IllegalStateException("The mediaStoreDir cannot be created. Please check permissions. Path: " + mediaStoreDirAbsolute);
+	this.mediaWriter = new MediaWriter(mediaStoreDirAbsolute);
+
+	this.traceabilityLinker = new TraceabilityLinker();
+	this.knownPhrasesLinker = new KnownPhrasesLinker();
+    }
+    
+    /**
+     * Constructor for documents which are restored from a checkpoint (see {@link Checkpoint})
+     * <p>There is no input document; i.e. the resulting object behaves as if {@link #releaseDocument(RequirementRoot)} had already been called.
+     * The media directory of the run which wrote the checkpoint is reused.</p>
+     * 
+     * @param documentTitle String which uniquely identifies the document and is used as a prepender for certain output
+     * @param reqIFOutputFilename filename of the resulting reqIF
+     * @param documentContext resources which are private to this document
+     * @throws IllegalArgumentException if one of the given arguments {@code null}
+     * @throw IllegalStateException if there are problems with the image storage directory
+     */
+    ReaderData(final String documentTitle, final String reqIFOutputFilename, final DocumentContext documentContext) {
+	if (documentTitle == null) throw new IllegalArgumentException("documentPrefix cannot be null.");
+	if (reqIFOutputFilename == null) throw new IllegalArgumentException("reqIFOutputFilename cannot be null.");
+	if (documentContext == null) throw new IllegalArgumentException("documentContext cannot be null.");
+
+	this.loggingHandler = attachLoggingHandler(documentContext);
+	this.pictureStore = new PictureStore();
+	this.outputDir = determineOutputDir(reqIFOutputFilename);
+	this.documentPrefix = toDocumentPrefix(documentTitle);
+	this.documentTitle = documentTitle;
+
+	this.mediaStoreDirRelative = documentContext.getMediaStoreDirRelative();
+	final String mediaStoreDirAbsolute = getAbsoluteFilePathPrefix() + File.separator + this.mediaStoreDirRelative;
+	final File mediaStoreDirHandler = new File(mediaStoreDirAbsolute);
+	if (!mediaStoreDirHandler.isDirectory()) {
+	    logger.log(Level.WARNING, "The mediaStoreDir of the original run does not exist. Embedded media will be missing from the output. Path: {0}", mediaStoreDirAbsolute);
+	    if (!mediaStoreDirHandler.mkdir()) throw new IllegalStateException("The mediaStoreDir cannot be created. Please check permissions. Path: " + mediaStoreDirAbsolute);
+	}
 
 	this.traceabilityLinker = new TraceabilityLinker();
 	this.knownPhrasesLinker = new KnownPhrasesLinker();
@@ -133,6 +192,7 @@ public class ReaderData {
      * @return a handle to the currently processed document
      */
     public HWPFDocument getDocument() {
+	checkDocumentAvailable();
 	return this.document;
     }
 
@@ -140,13 +200,31 @@ public class ReaderData {
      * @return a handle to the currently processed range (either the document range or something more narrow if we are inside a nested structure)
      */
     public Range getRange() {
+	checkDocumentAvailable();
 	return this.listToRequirementProcessor.getListReader().getRange();
     }
 
+    /**
+     * @return immutable index of the paragraphs of the entire document; never {@code null}
+     */
+    public ParagraphIndex getParagraphIndex() {
+	checkDocumentAvailable();
+	return this.paragraphIndex;
+    }
+
+    /**
+     * @return a handle to the shared list properties of the paragraphs of this document; never {@code null}
+     */
+    public ParagraphListDataCache getParagraphListDataCache() {
+	checkDocumentAvailable();
+	return this.paragraphListDataCache;
+    }
+
     /**
      * @return the current nesting level (1-based)
      */
     public int getTableNestingLevel() {
+	checkDocumentAvailable();
 	return this.listToRequirementProcessor.getListReader().getTableNestingLevel();
     }
     
@@ -154,6 +232,7 @@ public class ReaderData {
      * @return a handle to the fields of the currently processed document
      */
     public Fields getFields() {
+	checkDocumentAvailable();
 	return this.fields;
     }
 
@@ -164,6 +243,7 @@ public class ReaderData {
      */
     public Integer getBookmarkTargetStartOffset(final String bookmarkName) {
 	if (bookmarkName == null) throw new IllegalArgumentException("bookmarkName cannot be null.");
+	checkDocumentAvailable();
 	return this.bookmarks.get(bookmarkName);
     }
     
@@ -174,13 +254,30 @@ public class ReaderData {
 	return this.pictureStore;
     }
     
+    /**
+     * @return a handle to the writer for all embedded media of the document; never {@code null}
+     */
+    public MediaWriter getMediaWriter() {
+	checkDocumentAvailable();
+	return this.mediaWriter;
+    }
+    
     /**
      * @return a handle to the office drawing reader (used to extract drawings from the document)
      */
     public OfficeDrawingReader getOfficeDrawingReader() {
+	checkDocumentAvailable();
 	return this.officeDrawingReader;
     }
 
+    /**
+     * @return a handle to the shared formatting of the character runs of this document; never {@code null}
+     */
+    public CharacterRunFormattingCache getCharacterRunFormattingCache() {
+	checkDocumentAvailable();
+	return this.characterRunFormattingCache;
+    }
+
     /**
      * @return a handle to the traceabilityLinker which manages tracedata
      */
@@ -214,17 +311,121 @@ public class ReaderData {
      * @return stateful handle to the global list manager; never {@code null}
      */
     public ListToRequirementProcessor getListToRequirementProcessor() {
+	checkDocumentAvailable();
 	return this.listToRequirementProcessor;
     }
 
+    /**
+     * Run only the structural checks of the constructor on a document (preflight); nothing is read and no output is written
+     * <p>all findings are logged to the handler of {@code documentContext} and flushed before this method returns</p>
+     * 
+     * @param document document to check
+     * @param documentContext resources which are private to this document
+     * @return all checks which fired on this document; never {@code null}
+     * @throws IllegalArgumentException if one of the arguments is {@code null}
+     */
+    static Set<DocumentPreflight.Check> checkDocument(final HWPFDocument document, final DocumentContext documentContext) {
+	if (document == null) throw new IllegalArgumentException("document cannot be null.");
+	if (documentContext == null) throw new IllegalArgumentException("documentContext cannot be null.");
+
+	final Set<DocumentPreflight.Check> output = EnumSet.noneOf(DocumentPreflight.Check.class);
+	final DeferredLoggingHandler loggingHandler = attachLoggingHandler(documentContext);
+	try {
+	    checkDocumentAssumptions(document, output);
+	    checkMainSection(document, document.getRange(), output);
+	} finally {
+	    loggingHandler.flushMessages();
+	    logger.removeHandler(loggingHandler);
+	}
+	return output;
+    }
+    
     /**
      * Flush any log messages which have been logged so far
+     * <p>all messages of this class originate from the constructor; hence the handler is detached afterwards</p>
      */
-    @SuppressWarnings("static-method")
     public void flushLogMessages() {
-	LOGGING_HANDLER.flushMessages();
+	this.loggingHandler.flushMessages();
+	logger.removeHandler(this.loggingHandler);
+    }
+    
+    
+    /**
+     * Drop all handles to the input document (including the ranges held by the requirement tree)
+     * <p>Only data which has been extracted from the document remains available afterwards; i.e. all getters which refer to
+     * the document itself will throw. Pictures which have not been written so far are lost.</p>
+     * 
+     * @param root root of the requirement tree which has been read from this document
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public void releaseDocument(final RequirementRoot root) {
+	if (root == null) throw new IllegalArgumentException("root cannot be null.");
+	releaseRanges(root);
+	this.pictureStore.releasePictures();
+	this.mediaWriter.close(); // all pending media must be on disk before anyone relies on it
+	this.mediaWriter = null; // NOPMD - intentional null assignment
+	this.listToRequirementProcessor = null; // NOPMD - intentional null assignment
+	this.officeDrawingReader = null; // NOPMD - intentional null assignment
+	this.characterRunFormattingCache = null; // NOPMD - intentional null assignment
+	this.bookmarks = null; // NOPMD - intentional null assignment
+	this.fields = null; // NOPMD - intentional null assignment
+	this.paragraphListDataCache = null; // NOPMD - intentional null assignment
+	this.paragraphIndex = null; // NOPMD - intentional null assignment
+	this.range = null; // NOPMD - intentional null assignment
+	this.document = null; // NOPMD - intentional null assignment
+    }
+    
+    private static void releaseRanges(final RequirementRoot requirement) {
+	assert requirement != null;
+	final Iterator<RequirementWParent> iterator = requirement.getChildIterator();
+	while (iterator.hasNext()) {
+	    final RequirementWParent child = iterator.next();
+	    child.releaseAssociatedRange();
+	    releaseRanges(child);
+	}
     }
     
+    /**
+     * Only collect the messages of the thread which reads this document; other documents may be read concurrently
+     * <p>Handlers are invoked synchronously by the logging thread; hence the filter compares the full id of the current thread rather than the (truncated) id stored in the {@link LogRecord}.</p>
+     */
+    private static DeferredLoggingHandler attachLoggingHandler(final DocumentContext documentContext) {
+	assert documentContext != null;
+	final DeferredLoggingHandler output = documentContext.getLoggingHandler();
+	final long ownerThreadID = Thread.currentThread().getId();
+	output.setFilter(new Filter() {
+	    @Override
+	    public boolean isLoggable(final LogRecord record) {
+		return Thread.currentThread().getId() == ownerThreadID;
+	    }
+	});
+	logger.addHandler(output);
+	return output;
+    }
+    
+    /**
+     * Determine the output directory for supplementary artifacts
+     */
+    private static String determineOutputDir(final String reqIFOutputFilename) {
+	assert reqIFOutputFilename != null;
+	final Path outputPath = Paths.get(reqIFOutputFilename);	
+	if (Files.isDirectory(outputPath)) throw new IllegalArgumentException("reqIFOutputFilename refers to a directory");
+	if (Files.isRegularFile(outputPath)) throw new IllegalArgumentException("reqIFOutputFilename already exists. Please delete the file first.");
+	return outputPath.toAbsolutePath().getParent().toString();
+    }
+    
+    private static String toDocumentPrefix(final String documentTitle) {
+	assert documentTitle != null;
+	final String documentPrefix = documentTitle.replace(" ", "_");
+	return ("".equals(documentPrefix) || documentPrefix.endsWith("-")) ? documentPrefix : documentPrefix + "-";
+    }
+    
+    /**
+     * @throws IllegalStateException if the document has already been released
+     */
+    private void checkDocumentAvailable() {
+	if (this.document == null) throw new IllegalStateException("The input document has already been released.");
+    }
     
     /**
      * POI returns bookmarks sorted by startOffset. However, we need them to be accessible via their name. This method converts the view.
@@ -239,9 +440,9 @@ public class ReaderData {
 	return outputMap;
     }
         
-    private void checkDocumentAssumptions() {
-	assert this.document != null;	
-	final FileInformationBlock fib = this.document.getFileInformationBlock();
+    private static void checkDocumentAssumptions(final HWPFDocument document, final Set<DocumentPreflight.Check> firedChecks) {
+	assert document != null && firedChecks != null;	
+	final FileInformationBlock fib = document.getFileInformationBlock();
 	if (fib.getFibBase().isFComplex()) {
 	    logger.log(Level.INFO, "The last save operation of this document was an incremental save. Will try my best to handle it anyways.");
 	}
@@ -249,46 +450,89 @@ public class ReaderData {
 	    logger.log(Level.INFO, "The specified file is a document template.");
 	}	
 	
-	final Range textboxRange = this.document.getMainTextboxRange();
-	// the checks in here are rather expensive
-	// but a simple textboxRange.getStartOffset() != textboxRange.getEndOffset()-1 unfortunately does not work
-	if (!"".equals(textboxRange.text().replaceAll("\\s", ""))) {
+	// a simple textboxRange.getStartOffset() != textboxRange.getEndOffset()-1 unfortunately does not work
+	if (containsNonWhitespace(document, document.getMainTextboxRange())) {
 	    logger.log(Level.INFO, "This document contains textboxes. Will skip them.");	    
+	    firedChecks.add(DocumentPreflight.Check.TEXTBOXES);
 	}
-	final Range commentsRange = this.document.getCommentsRange();
-	if (!"".equals(commentsRange.text().replaceAll("\\s", ""))) {
+	if (containsNonWhitespace(document, document.getCommentsRange())) {
 	    logger.log(Level.INFO, "This document contains comments. Will skip them.");	    
+	    firedChecks.add(DocumentPreflight.Check.COMMENTS);
 	}	
     }
     
+    /**
+     * Scan a range for anything but whitespace (in the sense of {@code \s})
+     * <p>works on the text of the document in place (i.e. nothing is copied) and stops at the first hit</p>
+     * 
+     * @param document document which holds the range
+     * @param range range to scan
+     * @return {@code true} if the range contains at least one non-whitespace character; {@code false} otherwise
+     */
+    private static boolean containsNonWhitespace(final HWPFDocument document, final Range range) {
+	final CharSequence text = document.getText();
+	final int endOffset = Math.min(range.getEndOffset(), text.length());
+	for (int i = range.getStartOffset(); i < endOffset; i++) {
+	    switch (text.charAt(i)) {
+	    case ' ':
+	    case '\t':
+	    case '\n':
+	    case '\u000B':
+	    case '\f':
+	    case '\r':
+		break;
+	    default:
+		return true;
+	    }
+	}
+	return false;
+    }
+    
     /**
      * Initialize footnote- and endnote-counters
      */
     private void setupMainSection() {
 	assert this.range != null;
-	if (this.range.numSections() > 1) {
+	final Section section = checkMainSection(this.document, this.range, EnumSet.noneOf(DocumentPreflight.Check.class));
+	if (section == null) return;
+	
+	if (this.document.getFootnotes().getNotesCount() > 0 && section.getFootnoteNumberingOffset() != 0) this.footnoteRunningNumber += section.getFootnoteNumberingOffset() -1;
+	if (this.document.getEndnotes().getNotesCount() > 0 && section.getEndnoteNumberingOffset() != 0) this.endnoteRunningNumber += section.getEndnoteNumberingOffset() -1;
+    }
+    
+    /**
+     * Check the section setup of the main document for unsupported properties
+     * 
+     * @param document document to check
+     * @param range range of the main document
+     * @param firedChecks set where all checks which fire are added to
+     * @return the only section of the main document; {@code null} if there are several sections
+     */
+    private static Section checkMainSection(final HWPFDocument document, final Range range, final Set<DocumentPreflight.Check> firedChecks) {
+	assert document != null && range != null && firedChecks != null;
+	if (range.numSections() > 1) {
 	    // see [MS-DOC], v20140721, 3.2., for an explanation what a section is
 	    logger.log(Level.INFO, "This document has several sections. Did not expect that from a requirements document. Trying to process anyways.");
+	    firedChecks.add(DocumentPreflight.Check.MULTIPLE_SECTIONS);
+	    return null;
 	}
-	else {
-	    final Section section = this.range.getSection(0);	    
-	    
-	    if (this.document.getFootnotes().getNotesCount() > 0) {
-		if (section.getFootnoteNumberingOffset() != 0) this.footnoteRunningNumber += section.getFootnoteNumberingOffset() -1;
-		if (section.getFootnoteNumberingFormat() != 0x00) {
-		    logger.log(Level.INFO, "This document requests footnotes not to have arabic numbering. This is unsupported. Will fallback to arabic numbering.");		
-		}
-		if (section.getFootnoteRestartQualifier() == 0x02) {
-		    logger.log(Level.INFO, "This document requests footnote numbering to restart on every page. This is unsupported. Assuming continuous numbering.");
-		    // section.getEndnoteRestartQualifier() == 0x02 is illegal anyways - so we do not check for it
-		}
+	final Section section = range.getSection(0);	    
+	
+	if (document.getFootnotes().getNotesCount() > 0) {
+	    if (section.getFootnoteNumberingFormat() != 0x00) {
+		logger.log(Level.INFO, "This document requests footnotes not to have arabic numbering. This is unsupported. Will fallback to arabic numbering.");		
+		firedChecks.add(DocumentPreflight.Check.UNSUPPORTED_NOTE_NUMBERING);
 	    }
-	    if (this.document.getEndnotes().getNotesCount() > 0) {
-		if (section.getEndnoteNumberingOffset() != 0) this.endnoteRunningNumber += section.getEndnoteNumberingOffset() -1;
-		if (section.getEndnoteNumberingFormat() != 0x00 && this.document.getEndnotes().getNotesCount() > 0) {
-		    logger.log(Level.INFO, "This document requests endnotes not to have arabic numbering. This is unsupported. Will fallback to arabic numbering.");
-		}
+	    if (section.getFootnoteRestartQualifier() == 0x02) {
+		logger.log(Level.INFO, "This document requests footnote numbering to restart on every page. This is unsupported. Assuming continuous numbering.");
+		firedChecks.add(DocumentPreflight.Check.UNSUPPORTED_NOTE_NUMBERING);
+		// section.getEndnoteRestartQualifier() == 0x02 is illegal anyways - so we do not check for it
 	    }
 	}
+	if (document.getEndnotes().getNotesCount() > 0 && section.getEndnoteNumberingFormat() != 0x00) {
+	    logger.log(Level.INFO, "This document requests endnotes not to have arabic numbering. This is unsupported. Will fallback to arabic numbering.");
+	    firedChecks.add(DocumentPreflight.Check.UNSUPPORTED_NOTE_NUMBERING);
+	}
+	return section;
     }
 }
\ No newline at end of file
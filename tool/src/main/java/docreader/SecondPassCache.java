@@ -0,0 +1,213 @@
+package docreader;
+
+import static helper.Constants.Internal.VERSION;
+import static helper.Constants.Specification.SpecialConstructs.USE_NLP;
+
+import helper.CheckpointHelper;
+import helper.DigestHelper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import requirement.RequirementRoot;
+import requirement.RequirementWParent;
+
+/**
+ * Persistent cache of second pass results for incremental reconversion of revised documents
+ * <p>The cache works on top-level subtrees (i.e. the sections which are handed over to the second pass one by one; see {@link SecondPassReader}).
+ * Each subtree is identified by a fingerprint of its state after the first pass (structure, traceTags, texts and metadata, but no character offsets).
+ * If a subtree with the same fingerprint has been processed in an earlier run, the stored metadata is applied instead of running the second pass (including NLP) again.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+final class SecondPassCache {
+    private final static int MAGIC = 0x53323650; // "S26P"
+    private final static int FORMAT_VERSION = 1;
+    private final static String SETTINGS = VERSION + ";NLP=" + USE_NLP; // anything which influences the second pass but is not part of the fingerprint
+    private final String cacheFilename;
+    private final Map<String, byte[]> cachedResults;
+    private final Map<RequirementWParent, SubtreeState> seenSubtrees = Collections.synchronizedMap(new IdentityHashMap<RequirementWParent, SubtreeState>());
+    private static final Logger logger = Logger.getLogger(SecondPassCache.class.getName()); // NOPMD - Reference rather than a static field
+
+    private static final class SubtreeState {
+	private final String fingerprint;
+	private final int numberOfRequirements;
+	private final boolean reused;
+
+	SubtreeState(final String fingerprint, final int numberOfRequirements, final boolean reused) {
+	    this.fingerprint = fingerprint;
+	    this.numberOfRequirements = numberOfRequirements;
+	    this.reused = reused;
+	}
+    }
+
+    /**
+     * @param cacheFilename file which holds the results of earlier runs; does not need to exist
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    SecondPassCache(final String cacheFilename) {
+	if (cacheFilename == null) throw new IllegalArgumentException("cacheFilename cannot be null.");
+	this.cacheFilename = cacheFilename;
+	this.cachedResults = readCache(cacheFilename);
+    }
+
+    /**
+     * Apply the stored second pass results to a subtree if it is unchanged since an earlier run
+     * <p>in any case the subtree is remembered so its results can be stored by {@link #write(RequirementRoot)}</p>
+     *
+     * @param subtree top-level subtree which has been read by the first pass
+     * @param processedRequirements receives all requirements of the subtree if the cached results have been applied
+     * @return {@code true} if the cached results have been applied; {@code false} if the subtree must undergo the second pass
+     */
+    boolean applyCachedResult(final RequirementWParent subtree, final Set<RequirementWParent> processedRequirements) {
+	assert subtree != null && processedRequirements != null;
+	final List<RequirementWParent> requirements = collectRequirements(subtree);
+	final String fingerprint = computeFingerprint(requirements);
+	final byte[] cachedResult = this.cachedResults.get(fingerprint);
+	if (cachedResult != null) {
+	    try (final DataInputStream input = new DataInputStream(new ByteArrayInputStream(cachedResult))) {
+		for (final RequirementWParent requirement : requirements) requirement.getMetadata().readFrom(input);
+	    } catch (IOException e) {
+		throw new IllegalStateException("Cached second pass result is malformed.", e);
+	    }
+	    processedRequirements.addAll(requirements);
+	}
+	this.seenSubtrees.put(subtree, new SubtreeState(fingerprint, requirements.size(), cachedResult != null));
+	return cachedResult != null;
+    }
+
+    /**
+     * Write the cache for the next run; must be called after the second pass (including all NLP jobs) has finished
+     * <p>only the results of subtrees seen in this run are retained</p>
+     *
+     * @param root root of the requirement tree
+     * @return number of subtrees whose results have been reused in this run
+     */
+    int write(final RequirementRoot root) {
+	assert root != null;
+	final Map<String, byte[]> output = new HashMap<>();
+	int reusedSubtrees = 0;
+	final Iterator<RequirementWParent> iterator = root.getChildIterator();
+	while (iterator.hasNext()) {
+	    final RequirementWParent subtree = iterator.next();
+	    final SubtreeState subtreeState = this.seenSubtrees.get(subtree);
+	    if (subtreeState == null) continue;
+	    if (subtreeState.reused) {
+		output.put(subtreeState.fingerprint, this.cachedResults.get(subtreeState.fingerprint));
+		reusedSubtrees++;
+		continue;
+	    }
+	    final List<RequirementWParent> requirements = collectRequirements(subtree);
+	    // subtrees which have received further children after the fingerprint was taken cannot be reused reliably
+	    if (subtreeState.numberOfRequirements == requirements.size()) output.put(subtreeState.fingerprint, serializeMetadata(requirements));
+	}
+
+	try (final DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(this.cacheFilename))))) {
+	    stream.writeInt(MAGIC);
+	    stream.writeInt(FORMAT_VERSION);
+	    CheckpointHelper.writeString(stream, SETTINGS);
+	    stream.writeInt(output.size());
+	    for (final Map.Entry<String, byte[]> entry : output.entrySet()) {
+		CheckpointHelper.writeString(stream, entry.getKey());
+		stream.writeInt(entry.getValue().length);
+		stream.write(entry.getValue());
+	    }
+	} catch (IOException e) {
+	    logger.log(Level.WARNING, "Could not write the second pass cache " + this.cacheFilename + ". The next run will not be incremental.", e);
+	}
+	return reusedSubtrees;
+    }
+
+    private static List<RequirementWParent> collectRequirements(final RequirementWParent subtree) {
+	final List<RequirementWParent> output = new ArrayList<>();
+	collectRequirements(subtree, output);
+	return output;
+    }
+
+    private static void collectRequirements(final RequirementWParent requirement, final List<RequirementWParent> output) {
+	output.add(requirement);
+	final Iterator<RequirementWParent> iterator = requirement.getChildIterator();
+	while (iterator.hasNext()) collectRequirements(iterator.next(), output);
+    }
+
+    /**
+     * Fingerprint of everything the second pass depends on; character offsets are intentionally left out since they change with every revision of the document
+     */
+    private static String computeFingerprint(final List<RequirementWParent> requirements) {
+	final MessageDigest digest = DigestHelper.newDigest();
+	try (final DataOutputStream output = DigestHelper.newDigestStream(digest)) {
+	    output.writeInt(requirements.size());
+	    for (final RequirementWParent requirement : requirements) {
+		output.writeInt(requirement.getHumanReadableManager() != null ? requirement.getHumanReadableManager().getHierarchicalLevel() : -1);
+		CheckpointHelper.writeString(output, requirement.getHumanReadableManager() != null ? requirement.getHumanReadableManager().getTag() : null);
+		output.writeBoolean(requirement.getText() != null);
+		if (requirement.getText() != null) requirement.getText().writeTo(output);
+		requirement.getMetadata().writeTo(output);
+		int numberOfChildren = 0;
+		for (final Iterator<RequirementWParent> iterator = requirement.getChildIterator(); iterator.hasNext(); iterator.next()) numberOfChildren++;
+		output.writeInt(numberOfChildren);
+	    }
+	} catch (IOException e) {
+	    throw new IllegalStateException("Cannot compute fingerprint. This should not happen.", e);
+	}
+
+	return DigestHelper.toHex(digest.digest());
+    }
+
+    private static byte[] serializeMetadata(final List<RequirementWParent> requirements) {
+	final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+	try (final DataOutputStream output = new DataOutputStream(buffer)) {
+	    for (final RequirementWParent requirement : requirements) requirement.getMetadata().writeTo(output);
+	} catch (IOException e) {
+	    throw new IllegalStateException("Cannot serialize metadata. This should not happen.", e);
+	}
+	return buffer.toByteArray();
+    }
+
+    /**
+     * @return the results of earlier runs; empty if there is no (usable) cache
+     */
+    private static Map<String, byte[]> readCache(final String cacheFilename) {
+	final Map<String, byte[]> output = new HashMap<>();
+	if (!new File(cacheFilename).isFile()) return output;
+
+	try (final DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(cacheFilename))))) {
+	    if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION || !SETTINGS.equals(CheckpointHelper.readString(input))) {
+		logger.log(Level.INFO, "Second pass cache {0} has been written with different settings. Will perform a full second pass.", cacheFilename);
+		return output;
+	    }
+	    final int numberOfEntries = input.readInt();
+	    for (int i = 0; i < numberOfEntries; i++) {
+		final String fingerprint = CheckpointHelper.readString(input);
+		final byte[] result = new byte[input.readInt()];
+		input.readFully(result);
+		output.put(fingerprint, result);
+	    }
+	} catch (IOException e) {
+	    logger.log(Level.WARNING, "Second pass cache " + cacheFilename + " cannot be read. Will perform a full second pass.", e);
+	    output.clear();
+	}
+	return output;
+    }
+}
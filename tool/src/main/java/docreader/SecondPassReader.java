@@ -1,58 +1,287 @@
 package docreader;
 
+import static helper.Constants.Generic.SECOND_PASS_QUEUE_CAPACITY;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import helper.ConsoleOutputFilter;
+import helper.ParallelExecutor;
 import helper.nlp.NLPManager;
 import helper.subset26.MetadataDeterminerSecondPass;
+import docreader.list.ListToRequirementProcessor.ModificationListener;
 import requirement.RequirementRoot;
 import requirement.RequirementWParent;
+import requirement.metadata.Kind;
+import requirement.metadata.LegalObligation;
 
 /**
  * Rescans the requirement tree and adjusts certain data which can only be determined with lookarounds
- * 
- * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
+ * <p>Top-level subtrees which are completely read may be handed over while the first pass is still running (see {@link #notifyReadPosition(RequirementWParent)}).
+ * They are then processed by a background thread; anything which has not been processed that way is handled by {@link #read()}.</p>
+ * <p>The results for a requirement depend on its children. Hence, if the first pass modifies a subtree which has already been processed in the background,
+ * the results of the whole subtree are rolled back and the subtree is processed again by {@link #read()}.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
  */
-class SecondPassReader implements GenericReader<Void> {        
+class SecondPassReader implements GenericReader<Void>, ModificationListener {
     private final RequirementRoot root;
     private final NLPManager nlpManager;
     private final ConsoleOutputFilter consoleFilter;
+    private final SecondPassCache cache;
+    private final BlockingQueue<RequirementRoot> pendingSubtrees = new ArrayBlockingQueue<>(SECOND_PASS_QUEUE_CAPACITY);
+    private final RequirementRoot poisonPill = new RequirementRoot();
+    private final Set<RequirementWParent> processedRequirements = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<RequirementWParent, Boolean>())); // rollbacks may overlap with the processing of later subtrees
+    private final Map<RequirementWParent, SubtreeSnapshot> snapshots = Collections.synchronizedMap(new IdentityHashMap<RequirementWParent, SubtreeSnapshot>());
+    private final Set<RequirementWParent> rolledBackRequirements = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<RequirementWParent, Boolean>())); // written by the reading thread, read by the background worker
+    private final Map<RequirementWParent, Integer> submittedSubtrees = new HashMap<>(); // only accessed by the reading thread
+    private int completedSubtrees = 0; // guarded by this
+    private RequirementWParent lastTopLevelRequirement = null;
+    private ExecutorService worker = null;
+    private Future<?> workerResult = null;
+    private int reusedSubtrees = 0;
+
+    /**
+     * Metadata of a subtree as left behind by the first pass
+     */
+    private static final class SubtreeSnapshot {
+	private final List<RequirementWParent> requirements = new ArrayList<>();
+	private final List<Kind> kinds = new ArrayList<>();
+	private final List<LegalObligation> legalObligations = new ArrayList<>();
+
+	SubtreeSnapshot(final RequirementWParent subtree) {
+	    add(subtree);
+	}
+
+	private void add(final RequirementWParent requirement) {
+	    this.requirements.add(requirement);
+	    this.kinds.add(requirement.getMetadata().getKind());
+	    this.legalObligations.add(requirement.getMetadata().getLegalObligation());
+	    final Iterator<RequirementWParent> iterator = requirement.getChildIterator();
+	    while (iterator.hasNext()) add(iterator.next());
+	}
 
-    public SecondPassReader(final RequirementRoot root, final ConsoleOutputFilter consoleFilter) {
+	/**
+	 * Reset the metadata which is altered by the second pass
+	 */
+	void restore() {
+	    for (int i = 0; i < this.requirements.size(); i++) {
+		this.requirements.get(i).getMetadata().setKind(this.kinds.get(i));
+		this.requirements.get(i).getMetadata().setLegalObligation(this.legalObligations.get(i));
+	    }
+	}
+    }
+
+    /**
+     * @param root root of the requirement tree to process
+     * @param consoleFilter console channel of the document
+     * @param cache results of earlier runs for incremental reconversion; may be {@code null} if every subtree shall be processed
+     */
+    public SecondPassReader(final RequirementRoot root, final ConsoleOutputFilter consoleFilter, final SecondPassCache cache) {
 	assert root != null && consoleFilter != null;
 	this.root = root;
-	this.consoleFilter = consoleFilter;	
+	this.consoleFilter = consoleFilter;
+	this.cache = cache;
 	this.nlpManager = new NLPManager(Runtime.getRuntime().availableProcessors());
     }
 
     @Override
     public Void read() {
 	this.nlpManager.writeStatusOutput(this.consoleFilter);
-	recurse(this.root);
+	if (this.workerResult != null) {
+	    submit(this.poisonPill);
+	    try {
+		this.workerResult.get();
+	    } catch (InterruptedException e) {
+		throw new IllegalStateException("Interrupted while waiting for the second pass to finish. This should not happen.", e);
+	    } catch (ExecutionException e) {
+		throw new IllegalStateException("Second pass thread threw an exception. This should not happen.", e);
+	    }
+	    finally {
+		this.worker.shutdownNow();
+	    }
+	    this.snapshots.clear(); // the first pass is over; hence nothing will be rolled back anymore
+	}
+	// catch up on everything which has not been processed in the background
+	final Iterator<RequirementWParent> iterator = this.root.getChildIterator();
+	while (iterator.hasNext()) processSubtree(iterator.next());
 	this.nlpManager.waitForNLPJobsToFinish();
+	if (this.cache != null) {
+	    this.reusedSubtrees = this.cache.write(this.root);
+	    System.err.println("Reused second pass results of " + Integer.toString(this.reusedSubtrees) + " unchanged top-level sections.");
+	}
 	return null;
     }
-    
+
+    /**
+     * @return number of top-level subtrees whose results have been taken from the cache; only valid after {@link #read()}
+     */
+    int getNumberOfReusedSubtrees() {
+	return this.reusedSubtrees;
+    }
+
+    /**
+     * Inform this reader about the requirement which the first pass has just read
+     * <p>once the first pass enters a new top-level subtree, the previous one is complete and will be processed in the background</p>
+     *
+     * @param currentRequirement requirement which has just been read
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public void notifyReadPosition(final RequirementWParent currentRequirement) {
+	if (currentRequirement == null) throw new IllegalArgumentException("currentRequirement cannot be null.");
+	final RequirementWParent topLevelRequirement = getTopLevelRequirement(currentRequirement);
+	if (topLevelRequirement == null) return;
+	if (this.lastTopLevelRequirement != null && this.lastTopLevelRequirement != topLevelRequirement && !this.submittedSubtrees.containsKey(this.lastTopLevelRequirement)) {
+	    this.submittedSubtrees.put(this.lastTopLevelRequirement, this.submittedSubtrees.size());
+	    submit(this.lastTopLevelRequirement);
+	}
+	this.lastTopLevelRequirement = topLevelRequirement;
+    }
+
+    /**
+     * Block until the subtree of the given requirement is no longer processed in the background; then roll back its results
+     *
+     * @see docreader.list.ListToRequirementProcessor.ModificationListener#beforeModification(requirement.RequirementWParent)
+     */
+    @Override
+    public void beforeModification(final RequirementWParent requirement) {
+	final RequirementWParent topLevelRequirement = getTopLevelRequirement(requirement);
+	final Integer subtreeIndex = this.submittedSubtrees.get(topLevelRequirement);
+	if (subtreeIndex == null) return;
+	synchronized (this) {
+	    while (this.completedSubtrees <= subtreeIndex) {
+		checkWorker();
+		try {
+		    wait(100);
+		} catch (InterruptedException e) {
+		    Thread.currentThread().interrupt();
+		    throw new IllegalStateException("Interrupted while waiting for the second pass.", e);
+		}
+	    }
+	}
+
+	// the results of the subtree may change with the modification; so read() has to process it again
+	final SubtreeSnapshot snapshot = this.snapshots.remove(topLevelRequirement);
+	if (snapshot == null) return; // already rolled back
+	snapshot.restore();
+	for (final RequirementWParent currentRequirement : snapshot.requirements) {
+	    // NLP jobs (if any) have already been submitted for these
+	    if (this.processedRequirements.remove(currentRequirement)) this.rolledBackRequirements.add(currentRequirement);
+	}
+    }
+
+    /**
+     * @param requirement requirement to start from
+     * @return the ancestor of the given requirement which is a direct child of the root; {@code null} if there is no such ancestor
+     */
+    private RequirementWParent getTopLevelRequirement(final RequirementRoot requirement) {
+	RequirementRoot currentRequirement = requirement;
+	while (currentRequirement != null && currentRequirement.getParent() != this.root) {
+	    currentRequirement = currentRequirement.getParent();
+	}
+	return (RequirementWParent) currentRequirement;
+    }
+
+    /**
+     * Hand over a subtree to the background thread; blocks while the queue is full
+     *
+     * @param subtree subtree to process or the poison pill
+     */
+    private void submit(final RequirementRoot subtree) {
+	assert subtree != null;
+	if (this.worker == null) startWorker();
+	try {
+	    while (!this.pendingSubtrees.offer(subtree, 100, TimeUnit.MILLISECONDS)) checkWorker();
+	} catch (InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	    throw new IllegalStateException("Interrupted while handing over a subtree to the second pass.", e);
+	}
+    }
+
+    private void startWorker() {
+	this.worker = ParallelExecutor.createThreadPool("SecondPass", 1).getExecutorService();
+	this.workerResult = this.worker.submit(new Runnable() {
+	    @Override
+	    public void run() {
+		SecondPassReader.this.consoleFilter.addCurrentThread();
+		try {
+		    RequirementRoot subtree;
+		    while ((subtree = SecondPassReader.this.pendingSubtrees.take()) != SecondPassReader.this.poisonPill) {
+			SecondPassReader.this.snapshots.put((RequirementWParent) subtree, new SubtreeSnapshot((RequirementWParent) subtree));
+			processSubtree((RequirementWParent) subtree);
+			synchronized (SecondPassReader.this) {
+			    SecondPassReader.this.completedSubtrees++;
+			    SecondPassReader.this.notifyAll();
+			}
+		    }
+		} catch (InterruptedException e) {
+		    Thread.currentThread().interrupt();
+		}
+	    }
+	});
+    }
+
+    /**
+     * @throws IllegalStateException if the background thread has terminated abnormally
+     */
+    private void checkWorker() {
+	if (this.workerResult != null && this.workerResult.isDone()) {
+	    try {
+		this.workerResult.get();
+	    } catch (InterruptedException | ExecutionException e) {
+		throw new IllegalStateException("Second pass thread threw an exception. This should not happen.", e);
+	    }
+	    throw new IllegalStateException("Second pass thread terminated prematurely. This should not happen.");
+	}
+    }
+
+    /**
+     * Process a top-level subtree; reuses the results of an earlier run if the subtree has not changed since then
+     *
+     * @param subtree direct child of the root
+     */
+    private void processSubtree(final RequirementWParent subtree) {
+	assert subtree != null;
+	// subtrees which have been processed in the background are skipped unless they have been rolled back; any of their unprocessed children are caught by process()
+	if (this.cache != null && !this.processedRequirements.contains(subtree) && this.cache.applyCachedResult(subtree, this.processedRequirements)) return;
+	process(subtree);
+    }
+
     /**
      * Recurse into child requirements
-     * 
+     *
      * @param currentRequirement requirement from which to obtain children
      */
     private void recurse(final RequirementRoot currentRequirement) {
 	assert currentRequirement != null;
-	final Iterator<RequirementWParent> iterator = currentRequirement.getChildIterator();	   
-	while (iterator.hasNext()) process(iterator.next());	
+	final Iterator<RequirementWParent> iterator = currentRequirement.getChildIterator();
+	while (iterator.hasNext()) process(iterator.next());
     }
 
     /**
      * Generate the the tree part for anything below the root
-     * 
+     *
      * @param currentRequirement requirement to process
      */
     private void process(final RequirementWParent currentRequirement) {
-	assert currentRequirement != null;	
-	MetadataDeterminerSecondPass.processRequirement(currentRequirement, this.nlpManager);
+	assert currentRequirement != null;
+	ParallelExecutor.checkCancellation();
+	if (this.processedRequirements.add(currentRequirement)) {
+	    MetadataDeterminerSecondPass.processRequirement(currentRequirement, this.rolledBackRequirements.contains(currentRequirement) ? null : this.nlpManager);
+	}
 
-	recurse(currentRequirement);	
-    }    
+	recurse(currentRequirement);
+    }
 }
@@ -23,6 +23,17 @@ public class ListToRequirementProcessor {
     private transient RequirementRoot lastRequirement = new RequirementRoot();
     private final RequirementRoot rootRequirement = this.lastRequirement;    
     private RequirementOrdinary currentRequirement = null; // NOPMD - intentionally non-transient; getter below
+    private transient ModificationListener modificationListener = null;
+    
+    /**
+     * Callback which is notified before an already completed part of the requirement tree receives further children
+     */
+    public interface ModificationListener {
+	/**
+	 * @param requirement requirement which is about to receive further (hierarchical) children; never {@code null}
+	 */
+	void beforeModification(RequirementWParent requirement);
+    }
     
     /**
      * Ordinary constructor
@@ -44,8 +55,6 @@ public class ListToRequirementProcessor {
      * @return the paragraph number of the next paragraph to read -1
      */
     public int processParagraph(final int paragraphNum) {	
-	final Paragraph paragraph = this.readerData.getRange().getParagraph(paragraphNum);	
-	
 	final int paragraphsToSkip = new SkipReader(this.readerData, paragraphNum).read();
 	int newParagraphNum = paragraphNum;
 	if (paragraphsToSkip > 0) {
@@ -55,6 +64,7 @@ public class ListToRequirementProcessor {
 	}
 	else {
 	    // do the listhandling here
+	    final Paragraph paragraph = this.readerData.getRange().getParagraph(paragraphNum); // only materialize paragraphs which are not skipped
 	    this.listReader.processParagraph(paragraph);
 	    
 	    // get the insertion point for the first element to be inserted (which may be either a real list item or some skipped stuff)
@@ -70,6 +80,7 @@ public class ListToRequirementProcessor {
 			&& (this.lastRequirement == this.rootRequirement || RequirementHelper.isParentalRelation(this.lastRequirement, possibleDuplicate))) {
 		    // this requirement was already created earlier (i.e. some other list item had missing levels and one of them referred to this requirement)
 		    // do not recreate it, but set our lastRequirement to this so we can properly create children
+		    if (this.modificationListener != null) this.modificationListener.beforeModification(possibleDuplicate);
 		    this.lastRequirement = possibleDuplicate;
 		}
 		else {
@@ -110,6 +121,15 @@ public class ListToRequirementProcessor {
 	return this.listReader;
     }
     
+    /**
+     * Register a listener which is notified whenever previously created requirements are about to receive further children
+     * 
+     * @param modificationListener listener to notify; may be {@code null} to remove any previously registered listener
+     */
+    public void setModificationListener(final ModificationListener modificationListener) {
+	this.modificationListener = modificationListener;
+    }
+    
     /**
      * Set the last processed requirement to an arbitrary value
      * 
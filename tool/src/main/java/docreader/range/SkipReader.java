@@ -4,10 +4,14 @@ package docreader.range;
 import helper.annotations.DomainSpecific;
 import helper.word.DataConverter;
 
+import java.util.regex.Pattern;
+
 import org.apache.poi.hwpf.usermodel.Paragraph;
+import org.apache.poi.hwpf.usermodel.Range;
 
 import docreader.GenericReader;
 import docreader.ReaderData;
+import docreader.range.paragraph.ParagraphIndex;
 import docreader.range.paragraph.ParagraphListAware;
 
 /**
@@ -16,9 +20,14 @@ import docreader.range.paragraph.ParagraphListAware;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
  */
 public class SkipReader implements GenericReader<Integer> {
+    private static final Pattern TOC_PATTERN = Pattern.compile("^\u0013 TOC .*\u0014.*\\r$");
     private final transient ReaderData readerData;   
     private final transient int initialParagraphIndex;
-    private final transient Paragraph paragraph;    
+    /**
+     * index of the paragraphs of the main document; {@code null} if the current range is not part of it (e.g. a footnote)
+     */
+    private final transient ParagraphIndex paragraphIndex;
+    private final transient int documentParagraphIndex;
                
     /**
      * Ordinary constructor
@@ -31,7 +40,17 @@ public class SkipReader implements GenericReader<Integer> {
 	
 	this.readerData = readerData;	
 	this.initialParagraphIndex = initialParagraphIndex;
-	this.paragraph = readerData.getRange().getParagraph(initialParagraphIndex);	
+	final ParagraphIndex paragraphIndex = readerData.getParagraphIndex();
+	final Range range = readerData.getRange();
+	if (paragraphIndex.contains(range)) {
+	    this.paragraphIndex = paragraphIndex;
+	    this.documentParagraphIndex = paragraphIndex.getParagraphIndex(range, initialParagraphIndex);
+	}
+	else {
+	    // notes are separate subdocuments which are not indexed; query POI directly
+	    this.paragraphIndex = null; // NOPMD - null means no index
+	    this.documentParagraphIndex = -1;
+	}
     }
 
     /**
@@ -43,8 +62,10 @@ public class SkipReader implements GenericReader<Integer> {
     @Override
     @DomainSpecific
     public Integer read() {	
-	// Case 1: Is this an empty paragraph?	
-	if (DataConverter.isEmptyParagraph(this.readerData, new ParagraphListAware(this.readerData, this.paragraph))) return 1;
+	// Case 1: Is this an empty paragraph?
+	// check the text first; only then it is worth to determine the (expensive) list membership
+	if ((this.paragraphIndex == null || this.paragraphIndex.isEmpty(this.documentParagraphIndex))
+		&& DataConverter.isEmptyParagraph(this.readerData, new ParagraphListAware(this.readerData, this.readerData.getRange().getParagraph(this.initialParagraphIndex)))) return 1;
 	// Case 2: Is this a TOC?
 	if (isTOCCandidate()) {
 	    return new TOCReader(this.readerData, this.initialParagraphIndex).read();
@@ -59,7 +80,10 @@ public class SkipReader implements GenericReader<Integer> {
      * @return {@code true} if this range contains the starting paragraph of a TOC; {@code false} otherwise
      */    
     private boolean isTOCCandidate() {			
-	final String pattern = "^\u0013 TOC .*\u0014.*\\r$";	
-	return this.paragraph.text().matches(pattern) && this.paragraph.getCharacterRun(0).isSpecialCharacter();
+	if (this.paragraphIndex == null) {
+	    final Paragraph paragraph = this.readerData.getRange().getParagraph(this.initialParagraphIndex);
+	    return TOC_PATTERN.matcher(paragraph.text()).matches() && paragraph.getCharacterRun(0).isSpecialCharacter();
+	}
+	return TOC_PATTERN.matcher(this.paragraphIndex.getText(this.documentParagraphIndex)).matches() && this.paragraphIndex.isSpecialCharacterRun(this.documentParagraphIndex, 0);
     }
 }
@@ -2,9 +2,11 @@ package docreader.range;
 
 import org.apache.poi.hwpf.usermodel.CharacterRun;
 import org.apache.poi.hwpf.usermodel.Paragraph;
+import org.apache.poi.hwpf.usermodel.Range;
 
 import docreader.GenericReader;
 import docreader.ReaderData;
+import docreader.range.paragraph.ParagraphIndex;
 
 /**
  * Reader for a "Table of Contents"
@@ -42,13 +44,26 @@ public class TOCReader implements GenericReader<Integer> {
 	
 	// look for 0013's (start of field) followed by 0014's (separator of field) and matching 0015's (end of field)
 	// a TOC is typically a nested structure of one TOC field with a lot of PAGEREFs inside
+	final ParagraphIndex paragraphIndex = this.readerData.getParagraphIndex();
+	final Range range = this.readerData.getRange();
+	// notes are separate subdocuments which are not indexed; query POI directly in this case
+	final boolean indexed = paragraphIndex.contains(range);
+	final int firstParagraphIndex = indexed ? paragraphIndex.getParagraphIndex(range, 0) : -1;
 	do {	    
-	    final Paragraph paragraph = this.readerData.getRange().getParagraph(currentParagraphOffset);
-	    for (int currentCharacterRunOffset = 0; currentCharacterRunOffset < paragraph.numCharacterRuns(); currentCharacterRunOffset++) {
-		final CharacterRun currentRun = paragraph.getCharacterRun(currentCharacterRunOffset);
-		if (currentRun.isSpecialCharacter()) {
+	    final int documentParagraphIndex = firstParagraphIndex + currentParagraphOffset;
+	    final Paragraph paragraph = indexed ? null : range.getParagraph(currentParagraphOffset);
+	    final int numCharacterRuns = indexed ? paragraphIndex.numCharacterRuns(documentParagraphIndex) : paragraph.numCharacterRuns();
+	    for (int currentCharacterRunOffset = 0; currentCharacterRunOffset < numCharacterRuns; currentCharacterRunOffset++) {
+		final CharSequence inputText;
+		if (indexed) {
+		    inputText = paragraphIndex.isSpecialCharacterRun(documentParagraphIndex, currentCharacterRunOffset) ? paragraphIndex.getCharacterRunText(documentParagraphIndex, currentCharacterRunOffset) : null;
+		}
+		else {
+		    final CharacterRun currentRun = paragraph.getCharacterRun(currentCharacterRunOffset);
+		    inputText = currentRun.isSpecialCharacter() ? currentRun.text() : null;
+		}
+		if (inputText != null) {
 		    // currentRun must be a special character, otherwise it never contains field data; [MS-DOC], v20140721, 2.6.1, sprmCFSpec
-		    final String inputText = currentRun.text();
 		    for (int i = 0; i < inputText.length(); i++) {
 			final char currentChar = inputText.charAt(i);
 			// match current char against list of special chars; [MS-DOC], v20140721, 2.8.25
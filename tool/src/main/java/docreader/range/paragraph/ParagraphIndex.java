@@ -0,0 +1,278 @@
+package docreader.range.paragraph;
+
+import helper.word.DataConverter;
+
+import java.nio.CharBuffer;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.poi.hwpf.usermodel.CharacterRun;
+import org.apache.poi.hwpf.usermodel.Paragraph;
+import org.apache.poi.hwpf.usermodel.Range;
+
+/**
+ * Immutable snapshot of the most frequently queried paragraph properties of a document
+ * <p>POI rebuilds its {@link Paragraph} and {@link CharacterRun} objects (and their texts) from the piece tables on every access.
+ * This index is built in one linear pass over the document and answers the common queries of the main loop from primitive arrays instead.
+ * Paragraphs are addressed by their 0-based running number within the entire document; see {@link #getParagraphIndex(Range, int)} for nested ranges.</p>
+ * <p>The text of the document is materialized exactly once into a shared buffer; all texts returned by this class are read-only views into that buffer.
+ * Character runs are only needed for a few paragraphs (e.g. the TOC); hence their boundaries are recorded lazily per paragraph on first access.</p>
+ * <p>Instances are safe for use by multiple threads.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public final class ParagraphIndex {
+    private final int[] startOffsets;
+    private final int[] endOffsets;
+    /**
+     * text of the entire document; position 0 corresponds to {@link #textBaseOffset}
+     */
+    private final char[] text;
+    private final int textBaseOffset;
+    private final BitSet emptyParagraphs;
+    private final BitSet tableParagraphs;
+    private final BitSet listParagraphs;
+    private final int[] tableLevels;
+    private final short[] styleIndices;
+    private final Range documentRange;
+    /**
+     * character run boundaries per paragraph; {@code null} until first queried
+     */
+    private final AtomicReferenceArray<CharacterRunBoundaries> characterRuns;
+
+    /**
+     * @param documentRange range which covers the entire main document
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public ParagraphIndex(final Range documentRange) {
+	if (documentRange == null) throw new IllegalArgumentException("documentRange cannot be null.");
+
+	final int numParagraphs = documentRange.numParagraphs();
+	this.startOffsets = new int[numParagraphs];
+	this.endOffsets = new int[numParagraphs];
+	this.text = documentRange.text().toCharArray();
+	this.textBaseOffset = documentRange.getStartOffset();
+	this.emptyParagraphs = new BitSet(numParagraphs);
+	this.tableParagraphs = new BitSet(numParagraphs);
+	this.listParagraphs = new BitSet(numParagraphs);
+	this.tableLevels = new int[numParagraphs];
+	this.styleIndices = new short[numParagraphs];
+	this.documentRange = documentRange;
+	this.characterRuns = new AtomicReferenceArray<>(numParagraphs);
+
+	for (int i = 0; i < numParagraphs; i++) {
+	    final Paragraph paragraph = documentRange.getParagraph(i);
+	    this.startOffsets[i] = paragraph.getStartOffset();
+	    this.endOffsets[i] = paragraph.getEndOffset();
+	    if (DataConverter.isEmptyText(getView(this.startOffsets[i], this.endOffsets[i]))) this.emptyParagraphs.set(i);
+	    if (paragraph.isInTable()) this.tableParagraphs.set(i);
+	    if (paragraph.isInList()) this.listParagraphs.set(i);
+	    this.tableLevels[i] = paragraph.getTableLevel();
+	    this.styleIndices[i] = paragraph.getStyleIndex();
+	}
+    }
+
+    /**
+     * @return number of paragraphs in the entire document
+     */
+    public int numParagraphs() {
+	return this.startOffsets.length;
+    }
+
+    /**
+     * Check whether the paragraphs of a range can be looked up in this index
+     * <p>Only the main document is indexed. Footnotes, endnotes, textboxes etc. are separate subdocuments; query POI directly for those.</p>
+     *
+     * @param range range to check
+     * @return {@code true} if the range is part of the main document; {@code false} otherwise
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public boolean contains(final Range range) {
+	if (range == null) throw new IllegalArgumentException("range cannot be null.");
+	return range.getStartOffset() >= this.textBaseOffset && range.getEndOffset() <= this.textBaseOffset + this.text.length;
+    }
+
+    /**
+     * Convert the paragraph number of an arbitrary (possibly nested) range to the running number within the entire document
+     *
+     * @param range range which contains the paragraph; must be part of the main document (see {@link #contains(Range)})
+     * @param paragraphNum 0-based number of the paragraph within {@code range} (as used by {@link Range#getParagraph(int)})
+     * @return 0-based running number of the paragraph within the entire document
+     * @throws IllegalArgumentException if the range is {@code null} or the paragraph does not exist
+     */
+    public int getParagraphIndex(final Range range, final int paragraphNum) {
+	if (range == null) throw new IllegalArgumentException("range cannot be null.");
+	// same as POI: the first paragraph of a range is the one which contains its startOffset
+	int low = 0;
+	int high = this.endOffsets.length;
+	while (low < high) {
+	    final int middle = (low + high) >>> 1;
+	    if (this.endOffsets[middle] <= range.getStartOffset()) low = middle + 1;
+	    else high = middle;
+	}
+	final int output = low + paragraphNum;
+	checkParagraph(output);
+	return output;
+    }
+
+    /**
+     * @param paragraphIndex 0-based running number of the paragraph within the document
+     * @return character offset of the start of the paragraph
+     * @see Paragraph#getStartOffset()
+     */
+    public int getStartOffset(final int paragraphIndex) {
+	checkParagraph(paragraphIndex);
+	return this.startOffsets[paragraphIndex];
+    }
+
+    /**
+     * @param paragraphIndex 0-based running number of the paragraph within the document
+     * @return character offset of the end of the paragraph
+     * @see Paragraph#getEndOffset()
+     */
+    public int getEndOffset(final int paragraphIndex) {
+	checkParagraph(paragraphIndex);
+	return this.endOffsets[paragraphIndex];
+    }
+
+    /**
+     * @param paragraphIndex 0-based running number of the paragraph within the document
+     * @return raw text of the paragraph as a view into the document text (i.e. without copying); never {@code null}
+     * @see Paragraph#text()
+     */
+    public CharSequence getText(final int paragraphIndex) {
+	checkParagraph(paragraphIndex);
+	return getView(this.startOffsets[paragraphIndex], this.endOffsets[paragraphIndex]);
+    }
+
+    /**
+     * @param paragraphIndex 0-based running number of the paragraph within the document
+     * @return {@code true} if the cleaned text of the paragraph is empty; {@code false} otherwise
+     * @see DataConverter#isEmptyParagraph(Paragraph)
+     */
+    public boolean isEmpty(final int paragraphIndex) {
+	checkParagraph(paragraphIndex);
+	return this.emptyParagraphs.get(paragraphIndex);
+    }
+
+    /**
+     * @param paragraphIndex 0-based running number of the paragraph within the document
+     * @return {@code true} if the paragraph is part of a table (at any nesting level); {@code false} otherwise
+     * @see Paragraph#isInTable()
+     */
+    public boolean isInTable(final int paragraphIndex) {
+	checkParagraph(paragraphIndex);
+	return this.tableParagraphs.get(paragraphIndex);
+    }
+
+    /**
+     * @param paragraphIndex 0-based running number of the paragraph within the document
+     * @return the table nesting level as stored by Word
+     * @see Paragraph#getTableLevel()
+     */
+    public int getTableLevel(final int paragraphIndex) {
+	checkParagraph(paragraphIndex);
+	return this.tableLevels[paragraphIndex];
+    }
+
+    /**
+     * <p><em>Note:</em> This is POI's view; it does not contain list membership which is inherited from a style. Use {@link ParagraphListAware} where this matters.</p>
+     *
+     * @param paragraphIndex 0-based running number of the paragraph within the document
+     * @return {@code true} if the paragraph is directly formatted as a list item; {@code false} otherwise
+     * @see Paragraph#isInList()
+     */
+    public boolean isInList(final int paragraphIndex) {
+	checkParagraph(paragraphIndex);
+	return this.listParagraphs.get(paragraphIndex);
+    }
+
+    /**
+     * @param paragraphIndex 0-based running number of the paragraph within the document
+     * @return index of the paragraph style in the stylesheet
+     * @see Paragraph#getStyleIndex()
+     */
+    public short getStyleIndex(final int paragraphIndex) {
+	checkParagraph(paragraphIndex);
+	return this.styleIndices[paragraphIndex];
+    }
+
+    /**
+     * @param paragraphIndex 0-based running number of the paragraph within the document
+     * @return number of character runs in the paragraph
+     * @see Paragraph#numCharacterRuns()
+     */
+    public int numCharacterRuns(final int paragraphIndex) {
+	return getCharacterRuns(paragraphIndex).startOffsets.length;
+    }
+
+    /**
+     * @param paragraphIndex 0-based running number of the paragraph within the document
+     * @param characterRunNum 0-based number of the character run within the paragraph
+     * @return {@code true} if the character run consists of special characters; {@code false} otherwise
+     * @see CharacterRun#isSpecialCharacter()
+     */
+    public boolean isSpecialCharacterRun(final int paragraphIndex, final int characterRunNum) {
+	final CharacterRunBoundaries boundaries = getCharacterRuns(paragraphIndex);
+	checkCharacterRun(boundaries, paragraphIndex, characterRunNum);
+	return boundaries.specialCharacterRuns.get(characterRunNum);
+    }
+
+    /**
+     * @param paragraphIndex 0-based running number of the paragraph within the document
+     * @param characterRunNum 0-based number of the character run within the paragraph
+     * @return raw text of the character run as a view into the document text (i.e. without copying); never {@code null}
+     * @see CharacterRun#text()
+     */
+    public CharSequence getCharacterRunText(final int paragraphIndex, final int characterRunNum) {
+	final CharacterRunBoundaries boundaries = getCharacterRuns(paragraphIndex);
+	checkCharacterRun(boundaries, paragraphIndex, characterRunNum);
+	return getView(boundaries.startOffsets[characterRunNum], boundaries.endOffsets[characterRunNum]);
+    }
+    
+    private CharSequence getView(final int startOffset, final int endOffset) {
+	return CharBuffer.wrap(this.text, startOffset - this.textBaseOffset, endOffset - startOffset).asReadOnlyBuffer();
+    }
+
+    private CharacterRunBoundaries getCharacterRuns(final int paragraphIndex) {
+	checkParagraph(paragraphIndex);
+	final CharacterRunBoundaries existing = this.characterRuns.get(paragraphIndex);
+	if (existing != null) return existing;
+	// concurrent callers may both compute the boundaries; they are equal, so the first one wins
+	this.characterRuns.compareAndSet(paragraphIndex, null, new CharacterRunBoundaries(this.documentRange.getParagraph(paragraphIndex)));
+	return this.characterRuns.get(paragraphIndex);
+    }
+
+    private static void checkCharacterRun(final CharacterRunBoundaries boundaries, final int paragraphIndex, final int characterRunNum) {
+	if (characterRunNum < 0 || characterRunNum >= boundaries.startOffsets.length) throw new IllegalArgumentException("Character run " + characterRunNum + " does not exist in paragraph " + paragraphIndex + '.');
+    }
+
+    private void checkParagraph(final int paragraphIndex) {
+	if (paragraphIndex < 0 || paragraphIndex >= this.startOffsets.length) throw new IllegalArgumentException("Paragraph " + paragraphIndex + " does not exist.");
+    }
+
+    /**
+     * Boundaries and special character flags of all character runs of a single paragraph
+     */
+    private static final class CharacterRunBoundaries {
+	private final int[] startOffsets;
+	private final int[] endOffsets;
+	private final BitSet specialCharacterRuns;
+
+	/**
+	 * @param paragraph paragraph whose character runs to record
+	 */
+	CharacterRunBoundaries(final Paragraph paragraph) {
+	    final int numCharacterRuns = paragraph.numCharacterRuns();
+	    this.startOffsets = new int[numCharacterRuns];
+	    this.endOffsets = new int[numCharacterRuns];
+	    this.specialCharacterRuns = new BitSet(numCharacterRuns);
+	    for (int i = 0; i < numCharacterRuns; i++) {
+		final CharacterRun characterRun = paragraph.getCharacterRun(i);
+		this.startOffsets[i] = characterRun.getStartOffset();
+		this.endOffsets[i] = characterRun.getEndOffset();
+		if (characterRun.isSpecialCharacter()) this.specialCharacterRuns.set(i);
+	    }
+	}
+    }
+}
@@ -23,32 +23,9 @@ import docreader.ReaderData;
  */
 public final class ParagraphListAware {        
     /**
-     * overridden handle to the true list this paragraph belongs to
+     * overridden list properties of this paragraph; shared by all wrappers of the same paragraph
      */
-    private final HWPFList list;
-    /**
-     * overridden value of the list level format override
-     */
-    private final int ilfo;
-    /**
-     * overridden value of the list level
-     */
-    private final int ilvl;
-    
-    /**
-     * overridden outline level
-     */
-    private final int olvl;
-    
-    /**
-     * overridden value of the indentation of the paragraph
-     */
-    private final int dxaLeft;
-    
-    /**
-     * overridden value of the indentation of the first line 
-     */
-    private final int dxaLeft1;
+    private final ParagraphListData listData;
     
     /**
      * original paragraph as stored by POI 
@@ -78,56 +55,67 @@ public final class ParagraphListAware {
      * @param paragraph paragraph to process
      * @throws IllegalArgumentException if a given argument is {@code null}
      */
-    @SuppressWarnings("deprecation")
     public ParagraphListAware(final ReaderData readerData, final Paragraph paragraph) {
 	if (readerData == null) throw new IllegalArgumentException("readerData cannot be null.");
 	if (paragraph == null) throw new IllegalArgumentException("paragraph cannot be null.");
 	this.paragraph = paragraph;
 	
+	final ParagraphListDataCache cache = readerData.getParagraphListDataCache();
+	final ParagraphListData cachedListData = cache.get(paragraph);
+	this.listData = cachedListData != null ? cachedListData : cache.put(paragraph, determineListData(readerData, paragraph));
+    }
+    
+    /**
+     * Decode the list properties of a paragraph from POI
+     * 
+     * @param readerData global readerData
+     * @param paragraph paragraph to process
+     * @return the list properties of the given paragraph; never {@code null}
+     */
+    @SuppressWarnings("deprecation")
+    private static ParagraphListData determineListData(final ReaderData readerData, final Paragraph paragraph) {
+	assert readerData != null && paragraph != null;
 	if (paragraph.isInList()) {
 	    // ordinary POI case
-	    this.ilvl = paragraph.getIlvl();
-	    this.ilfo = paragraph.getIlfo();
-	    this.olvl = paragraph.getLvl();
-	    this.dxaLeft = paragraph.getIndentFromLeft();
-	    this.dxaLeft1 = paragraph.getFirstLineIndent();
-	    this.list = paragraph.getList();	    
+	    return new ParagraphListData(paragraph.getList(), paragraph.getIlfo(), paragraph.getIlvl(), paragraph.getLvl(), paragraph.getIndentFromLeft(), paragraph.getFirstLineIndent());
+	}
+
+	// backup case when POI fails
+	// Step 1: See if this concrete paragraph has overridden values
+	final ListDataStore listDataTuple = getOverriddenParagraphValues(paragraph);
+	int ilvlTmp = listDataTuple.ilvl;
+	int ilfoTmp = listDataTuple.ilfo;
+	final int olvlTmp = listDataTuple.olvl;
+	final int dxaLeftTmp = listDataTuple.dxaLeft;
+	final int dxaLeft1Tmp = listDataTuple.dxaLeft1;
+
+	// Step 2: Determine unset values from styles
+	final StyleSheet styleSheet = readerData.getDocument().getStyleSheet();	    
+	assert styleSheet != null && styleSheet.numStyles() > paragraph.getStyleIndex();
+	final ParagraphProperties propertiesFromStyle = styleSheet.getStyleDescription(paragraph.getStyleIndex()).getPAP();	    
+	assert propertiesFromStyle != null;
+
+	if (ilvlTmp == LIST_VALUE_ILLEGAL) ilvlTmp = propertiesFromStyle.getIlvl();
+	if (ilfoTmp == LIST_VALUE_ILLEGAL) ilfoTmp = propertiesFromStyle.getIlfo();	    
+	final int ilvl;
+	final int ilfo;
+	final HWPFList list;
+	if (isInList(ilvlTmp, ilfoTmp)) {
+	    ilvl = ilvlTmp;
+	    ilfo = ilfoTmp;
+	    assert readerData.getDocument().getListTables() != null;
+	    // inspired by org.apache.poi.hwpf.usermodel.Paragraph#getList()
+	    list = new HWPFList(styleSheet, readerData.getDocument().getListTables(), ilfoTmp);
 	}
-	else {
-	    // backup case when POI fails
-	    // Step 1: See if this concrete paragraph has overridden values
-	    final ListDataStore listDataTuple = getOverriddenParagraphValues(paragraph);
-	    int ilvlTmp = listDataTuple.ilvl;
-	    int ilfoTmp = listDataTuple.ilfo;
-	    int olvlTmp = listDataTuple.olvl;
-	    int dxaLeftTmp = listDataTuple.dxaLeft;
-	    int dxaLeft1Tmp = listDataTuple.dxaLeft1;
-	    
-	    // Step 2: Determine unset values from styles
-	    final StyleSheet styleSheet = readerData.getDocument().getStyleSheet();	    
-	    assert styleSheet != null && styleSheet.numStyles() > paragraph.getStyleIndex();
-	    final ParagraphProperties propertiesFromStyle = styleSheet.getStyleDescription(paragraph.getStyleIndex()).getPAP();	    
-	    assert propertiesFromStyle != null;
-	   
-	    if (ilvlTmp == LIST_VALUE_ILLEGAL) ilvlTmp = propertiesFromStyle.getIlvl();
-	    if (ilfoTmp == LIST_VALUE_ILLEGAL) ilfoTmp = propertiesFromStyle.getIlfo();	    
-	    if (isInList(ilvlTmp, ilfoTmp)) {
-		this.ilvl = ilvlTmp;
-		this.ilfo = ilfoTmp;
-		assert readerData.getDocument().getListTables() != null;
-		// inspired by org.apache.poi.hwpf.usermodel.Paragraph#getList()
-		this.list = new HWPFList(styleSheet, readerData.getDocument().getListTables(), ilfoTmp);
-		assert this.list != null;
-	    }
-	    else {		
-		this.ilvl = 0; // mimic the behavior of stock POI and assign 0 if not in list; see org.apache.poi.hwpf.usermodel.Paragraph#getIlvl()
-		this.ilfo = 0; // mimic the behavior of stock POI and assign 0 if not in list; see org.apache.poi.hwpf.usermodel.Paragraph#getIlfo()
-		this.list = null; // NOPMD - intentional null assignment
-	    }
-	    this.olvl = (olvlTmp == OLVL_VALUE_ILLEGAL) ? propertiesFromStyle.getLvl(): olvlTmp; 
-	    this.dxaLeft = (dxaLeftTmp == INDENT_VALUE_ILLEGAL) ? propertiesFromStyle.getDxaLeft() : dxaLeftTmp;
-	    this.dxaLeft1 = (dxaLeft1Tmp == INDENT_VALUE_ILLEGAL) ? propertiesFromStyle.getDxaLeft1() : dxaLeft1Tmp;
+	else {		
+	    ilvl = 0; // mimic the behavior of stock POI and assign 0 if not in list; see org.apache.poi.hwpf.usermodel.Paragraph#getIlvl()
+	    ilfo = 0; // mimic the behavior of stock POI and assign 0 if not in list; see org.apache.poi.hwpf.usermodel.Paragraph#getIlfo()
+	    list = null; // NOPMD - intentional null assignment
 	}
+	final int olvl = (olvlTmp == OLVL_VALUE_ILLEGAL) ? propertiesFromStyle.getLvl(): olvlTmp; 
+	final int dxaLeft = (dxaLeftTmp == INDENT_VALUE_ILLEGAL) ? propertiesFromStyle.getDxaLeft() : dxaLeftTmp;
+	final int dxaLeft1 = (dxaLeft1Tmp == INDENT_VALUE_ILLEGAL) ? propertiesFromStyle.getDxaLeft1() : dxaLeft1Tmp;
+	return new ParagraphListData(list, ilfo, ilvl, olvl, dxaLeft, dxaLeft1);
     }
     
     /**
@@ -136,10 +124,10 @@ public final class ParagraphListAware {
      * @throws IllegalStateException if this paragraph does not belong to any list
      */
     public HWPFList getList() {
-	if (this.list == null) {
+	if (this.listData.list == null) {
 	    throw new IllegalStateException("Paragraph is not part of a list.");
 	}
-	return this.list;	
+	return this.listData.list;	
     }
     
     /**
@@ -147,7 +135,7 @@ public final class ParagraphListAware {
      * @see org.apache.poi.hwpf.usermodel.Paragraph#getIlvl()
      */
     public int getIlvl() {	
-	return this.ilvl;
+	return this.listData.ilvl;
     }
     
     /**
@@ -155,7 +143,7 @@ public final class ParagraphListAware {
      * @see org.apache.poi.hwpf.usermodel.Paragraph#getIlfo()
      */
     public int getIlfo() {
-	return this.ilfo;
+	return this.listData.ilfo;
     }
     
     /**
@@ -163,7 +151,7 @@ public final class ParagraphListAware {
      * @see org.apache.poi.hwpf.usermodel.Paragraph#getIndentFromLeft()
      */
     public int getIndentFromLeft() {
-	return this.dxaLeft;
+	return this.listData.dxaLeft;
     }
     
     /**
@@ -171,7 +159,7 @@ public final class ParagraphListAware {
      * @see org.apache.poi.hwpf.usermodel.Paragraph#getFirstLineIndent()
      */
     public int getFirstLineIndent() {
-	return this.dxaLeft1;
+	return this.listData.dxaLeft1;
     }
     
     /**
@@ -179,7 +167,7 @@ public final class ParagraphListAware {
      * @see org.apache.poi.hwpf.usermodel.Paragraph#getLvl()
      */
     public int getLvl() {
-	return this.olvl;
+	return this.listData.olvl;
     }
     
     /**
@@ -194,7 +182,7 @@ public final class ParagraphListAware {
      * @see org.apache.poi.hwpf.usermodel.Paragraph#isInList()
      */
     public boolean isInList() {
-	return this.list != null;
+	return this.listData.list != null;
     }
     
     /**
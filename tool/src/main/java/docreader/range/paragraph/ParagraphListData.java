@@ -0,0 +1,29 @@
+package docreader.range.paragraph;
+
+import org.apache.poi.hwpf.usermodel.HWPFList;
+
+/**
+ * Immutable list properties of a single paragraph as determined by {@link ParagraphListAware}
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+final class ParagraphListData {
+    /**
+     * the list this paragraph belongs to; {@code null} if not in a list
+     */
+    final HWPFList list;
+    final int ilfo;
+    final int ilvl;
+    final int olvl;
+    final int dxaLeft;
+    final int dxaLeft1;
+
+    ParagraphListData(final HWPFList list, final int ilfo, final int ilvl, final int olvl, final int dxaLeft, final int dxaLeft1) {
+	this.list = list;
+	this.ilfo = ilfo;
+	this.ilvl = ilvl;
+	this.olvl = olvl;
+	this.dxaLeft = dxaLeft;
+	this.dxaLeft1 = dxaLeft1;
+    }
+}
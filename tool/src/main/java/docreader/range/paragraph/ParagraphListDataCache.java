@@ -0,0 +1,64 @@
+package docreader.range.paragraph;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.poi.hwpf.usermodel.Paragraph;
+
+/**
+ * Per-document store of the list properties of all paragraphs; see {@link ParagraphListAware}
+ * <p>The same paragraph is wrapped many times (skip detection, list readers, table overrides, ...). Its list properties
+ * are decoded from POI only the first time; all later wrappers share the resulting immutable descriptor.
+ * Paragraphs are addressed by their running number in the {@link ParagraphIndex}.</p>
+ * <p>Instances are safe for use by multiple threads.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public final class ParagraphListDataCache {
+    private final ParagraphIndex paragraphIndex;
+    private final AtomicReferenceArray<ParagraphListData> listData;
+
+    /**
+     * @param paragraphIndex index of all paragraphs of the document
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public ParagraphListDataCache(final ParagraphIndex paragraphIndex) {
+	if (paragraphIndex == null) throw new IllegalArgumentException("paragraphIndex cannot be null.");
+	this.paragraphIndex = paragraphIndex;
+	this.listData = new AtomicReferenceArray<>(paragraphIndex.numParagraphs());
+    }
+
+    /**
+     * @param paragraph paragraph to look up
+     * @return the stored list properties of the given paragraph; {@code null} if they have not been stored so far
+     */
+    ParagraphListData get(final Paragraph paragraph) {
+	assert paragraph != null;
+	final int index = getIndex(paragraph);
+	return index != -1 ? this.listData.get(index) : null;
+    }
+
+    /**
+     * Store the list properties of a paragraph unless some other thread has been faster
+     *
+     * @param paragraph paragraph the properties belong to
+     * @param paragraphListData properties to store
+     * @return the stored list properties of the given paragraph; never {@code null}
+     */
+    ParagraphListData put(final Paragraph paragraph, final ParagraphListData paragraphListData) {
+	assert paragraph != null && paragraphListData != null;
+	final int index = getIndex(paragraph);
+	if (index == -1) return paragraphListData; // cannot be shared
+	return this.listData.compareAndSet(index, null, paragraphListData) ? paragraphListData : this.listData.get(index);
+    }
+
+    /**
+     * @return running number of the given paragraph within the document; {@code -1} if it does not coincide with a paragraph of the document
+     */
+    private int getIndex(final Paragraph paragraph) {
+	// paragraphs outside of the main document (footnotes, ...) are not part of the index
+	final int numParagraphs = this.paragraphIndex.numParagraphs();
+	if (numParagraphs == 0 || paragraph.getStartOffset() < this.paragraphIndex.getStartOffset(0) || paragraph.getStartOffset() >= this.paragraphIndex.getEndOffset(numParagraphs - 1)) return -1;
+	final int index = this.paragraphIndex.getParagraphIndex(paragraph, 0);
+	return this.paragraphIndex.getStartOffset(index) == paragraph.getStartOffset() && this.paragraphIndex.getEndOffset(index) == paragraph.getEndOffset() ? index : -1;
+    }
+}
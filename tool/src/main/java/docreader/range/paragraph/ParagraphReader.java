@@ -81,7 +81,7 @@ public class ParagraphReader implements RequirementReaderI {
 	// set Paragraph properties
 	final ParagraphPropertiesReader pReader = new ParagraphPropertiesReader(this.xmlwriter, this.paragraph);
 	pReader.read();
-	final CharacterRunReaderRich crReaderRich = new CharacterRunReaderRich(this.readerData, this.xmlwriter, this.requirement);
+	final CharacterRunReaderRich crReaderRich = new CharacterRunReaderRich(this.readerData, this.xmlwriter, this.requirement, this.paragraph.getStyleIndex());
 	final int startOffset = absoluteStartOffsetForRawReader();
 	final CharacterRunReaderRaw crReaderRaw = new CharacterRunReaderRaw(startOffset, this.rawText);
 	final FakeFieldHandler fakeFieldHandler = new FakeFieldHandler(this.readerData.getTraceabilityLinker().getNonQualifiedManager(), startOffset, this.requirement, this.lastWordOfPreviousParagraph);
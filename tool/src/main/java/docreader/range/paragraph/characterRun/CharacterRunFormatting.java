@@ -0,0 +1,165 @@
+package docreader.range.paragraph.characterRun;
+
+import helper.CSSManager;
+import helper.HTMLHelper;
+import helper.word.DataConverter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.poi.hwpf.usermodel.CharacterRun;
+
+/**
+ * Immutable rich text formatting of a character run as it is written to the output
+ * <p>A document typically only contains a few hundred distinct formats; hence instances are shared between all runs with identical character properties.
+ * See {@link CharacterRunFormattingCache}.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+final class CharacterRunFormatting {
+    /**
+     * plain HTML tags in the order in which they have been determined; no duplicates
+     */
+    private final List<String> plainElements;
+    /**
+     * CSS properties of the run; never modified after construction
+     */
+    private final CSSManager cssManager;
+    /**
+     * style attribute of the span tag; {@code null} if there is no CSS styling
+     */
+    private final String css;
+    private final boolean vanished;
+    private final boolean markedDeleted;
+    private final boolean markedInserted;
+    private final boolean illegalSubSuperScript;
+
+    /**
+     * Decode the formatting of a character run from POI
+     * <p>this is a customized version of @link {@link org.apache.poi.hwpf.converter.WordToHtmlUtils#addCharactersProperties(CharacterRun, StringBuilder)}</p>
+     *
+     * @param characterRun character run to decode
+     */
+    @SuppressWarnings("javadoc")
+    CharacterRunFormatting(final CharacterRun characterRun) {
+	assert characterRun != null;
+	final Set<String> plainElements = new LinkedHashSet<>();
+	final CSSManager cssManager = new CSSManager();
+
+	if (characterRun.isBold()) {
+	    plainElements.add(HTMLHelper.getBold());
+	}
+	if (characterRun.isItalic()) {
+	    plainElements.add(HTMLHelper.getItalic());
+	}
+	if (characterRun.isStrikeThrough()) {
+	    plainElements.add("del");
+	}
+	if (characterRun.isDoubleStrikeThrough()) {
+	    // cannot be represented better in HTML easily
+	    plainElements.add("del");
+	}
+	this.vanished = characterRun.isVanished();
+	if (this.vanished) {
+	    plainElements.add("del");
+	}
+	this.markedDeleted = characterRun.isMarkedDeleted();
+	if (this.markedDeleted) {
+	    plainElements.add("del");
+	}
+	this.markedInserted = characterRun.isMarkedInserted();
+	if (characterRun.isCapitalized()) {
+	    cssManager.putProperty("text-transform", "uppercase");
+	}
+	if (characterRun.isSmallCaps()) {
+	    cssManager.putProperty("font-variant", "small-caps");
+	}
+	if (characterRun.getUnderlineCode() != 0x00) {
+	    // We do not distinguish between different underline types here; [MS-DOC], v20140721, 2.9.127
+	    cssManager.putProperty("text-decoration", "underline");
+	}
+	if (!characterRun.getCV().isEmpty() && !characterRun.getCV().toHex().equals("000000")) {
+	    cssManager.putProperty("color", "#" + characterRun.getCV().toHex());
+	}
+	if (characterRun.isSymbol() && characterRun.getSymbolFont() != null) {
+	    cssManager.putProperty("font-family", characterRun.getSymbolFont().getMainFontName());
+	}
+	else if (!characterRun.getFontName().isEmpty()) {
+	    cssManager.putProperty("font-family", characterRun.getFontName());
+	}
+
+	cssManager.putProperty("font-size", Math.round(characterRun.getFontSize() / 2.0) + "pt");
+
+	// check for sub- / superscript-marker in word; we do not read out font-size changes here, though
+	// [MS-DOC], v20140721, 2.6.1, sprmCIss
+	boolean illegalSubSuperScript = false;
+	switch (characterRun.getSubSuperScriptIndex()) {
+	case 0x00: break; //normal text
+	case 0x01: cssManager.putProperty("vertical-align", "super"); break;
+	case 0x02: cssManager.putProperty("vertical-align", "sub"); break;
+	default: illegalSubSuperScript = true; break;
+	}
+	this.illegalSubSuperScript = illegalSubSuperScript;
+
+	// Whatever this is good for. Haven't seen a document in the wild that triggers this.
+	if (characterRun.isHighlighted()) {
+	    cssManager.putProperty("background-color", DataConverter.getColorName(characterRun.getHighlightedColor()));
+	}
+
+	this.plainElements = Collections.unmodifiableList(new ArrayList<>(plainElements));
+	this.cssManager = cssManager;
+	this.css = cssManager.propertiesAvailable() ? cssManager.toString().intern() : null;
+    }
+
+    /**
+     * @return plain HTML tags to apply in the order of their determination; never {@code null}
+     */
+    List<String> getPlainElements() {
+	return this.plainElements;
+    }
+
+    /**
+     * @return value of the style attribute of the surrounding span tag; {@code null} if there is no CSS styling
+     */
+    String getCSS() {
+	return this.css;
+    }
+
+    /**
+     * @return CSS properties of the run; shared between all runs with this formatting and hence must not be modified
+     */
+    CSSManager getCSSManager() {
+	return this.cssManager;
+    }
+
+    /**
+     * @return {@code true} if the run is hidden text
+     */
+    boolean isVanished() {
+	return this.vanished;
+    }
+
+    /**
+     * @return {@code true} if the run was deleted while revision marking was on
+     */
+    boolean isMarkedDeleted() {
+	return this.markedDeleted;
+    }
+
+    /**
+     * @return {@code true} if the run was inserted while revision marking was on
+     */
+    boolean isMarkedInserted() {
+	return this.markedInserted;
+    }
+
+    /**
+     * @return {@code true} if the sub/superscript qualifier of the run is malformed
+     */
+    boolean hasIllegalSubSuperScript() {
+	return this.illegalSubSuperScript;
+    }
+}
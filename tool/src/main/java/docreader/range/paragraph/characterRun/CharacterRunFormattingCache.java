@@ -0,0 +1,103 @@
+package docreader.range.paragraph.characterRun;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.poi.hwpf.sprm.SprmBuffer;
+import org.apache.poi.hwpf.usermodel.CharacterRun;
+
+/**
+ * Per-document flyweight store of the formatting of character runs
+ * <p>The formatting of a run only depends on the style of its paragraph and its own character properties (CHPX).
+ * Both are used as the key; i.e. the properties of each distinct format are decoded from POI only once.</p>
+ * <p>Instances are safe for use by multiple threads.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public final class CharacterRunFormattingCache {
+    private final static Field CHPX_FIELD = getChpxField();
+    private final ConcurrentMap<FormattingKey, CharacterRunFormatting> formattings = new ConcurrentHashMap<>();
+
+    private static final class FormattingKey {
+	private final short styleIndex;
+	private final byte[] chpx;
+	private final int hashCode;
+
+	FormattingKey(final short styleIndex, final byte[] chpx) {
+	    assert chpx != null;
+	    this.styleIndex = styleIndex;
+	    this.chpx = chpx;
+	    this.hashCode = 31 * styleIndex + Arrays.hashCode(chpx);
+	}
+
+	@Override
+	public int hashCode() {
+	    return this.hashCode;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+	    if (this == obj) return true;
+	    if (!(obj instanceof FormattingKey)) return false;
+	    final FormattingKey other = (FormattingKey) obj;
+	    return this.styleIndex == other.styleIndex && Arrays.equals(this.chpx, other.chpx);
+	}
+    }
+
+    /**
+     * Get the formatting of a character run
+     *
+     * @param characterRun run to look up
+     * @param paragraphStyleIndex index of the style of the paragraph which contains {@code characterRun} (see {@link org.apache.poi.hwpf.usermodel.Paragraph#getStyleIndex()})
+     * @return shared formatting of the given run; never {@code null}
+     */
+    CharacterRunFormatting get(final CharacterRun characterRun, final short paragraphStyleIndex) {
+	assert characterRun != null;
+	final FormattingKey key = getKey(characterRun, paragraphStyleIndex);
+	if (key == null) return new CharacterRunFormatting(characterRun); // cannot be shared
+
+	CharacterRunFormatting output = this.formattings.get(key);
+	if (output == null) {
+	    final CharacterRunFormatting newFormatting = new CharacterRunFormatting(characterRun);
+	    // the key may refer to POI's internal buffer; store a private copy
+	    output = this.formattings.putIfAbsent(new FormattingKey(key.styleIndex, key.chpx.clone()), newFormatting);
+	    if (output == null) output = newFormatting;
+	}
+	return output;
+    }
+
+    /**
+     * @return number of distinct formats seen so far
+     */
+    public int size() {
+	return this.formattings.size();
+    }
+
+    /**
+     * @return the key of the given run; {@code null} if the underlying properties are inaccessible
+     */
+    private static FormattingKey getKey(final CharacterRun characterRun, final short paragraphStyleIndex) {
+	if (CHPX_FIELD == null) return null;
+	// Note: This is based on reflection -- POI does not expose the CHPX of a run
+	try {
+	    final SprmBuffer chpx = (SprmBuffer) CHPX_FIELD.get(characterRun);
+	    if (chpx == null) return null;
+	    return new FormattingKey(paragraphStyleIndex, chpx.toByteArray());
+	} catch (IllegalArgumentException | IllegalAccessException e) {
+	    return null;
+	}
+    }
+
+    private static Field getChpxField() {
+	try {
+	    final Field output = CharacterRun.class.getDeclaredField("_chpx");
+	    output.setAccessible(true);
+	    return output;
+	} catch (NoSuchFieldException | SecurityException e) {
+	    // POI has changed; fall back to decoding each run on its own
+	    return null;
+	}
+    }
+}
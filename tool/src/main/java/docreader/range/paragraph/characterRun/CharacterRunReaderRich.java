@@ -2,7 +2,6 @@ package docreader.range.paragraph.characterRun;
 
 import helper.CSSManager;
 import helper.Destructible;
-import helper.HTMLHelper;
 import helper.XmlStringWriter;
 import helper.word.DataConverter;
 
@@ -26,6 +25,7 @@ public class CharacterRunReaderRich implements CharacterRunReaderGeneric {
     private final transient XmlStringWriter xmlwriter;
     private final ReaderData readerData;
     private final RequirementTemporary requirement;
+    private final short paragraphStyleIndex;
     private static final Logger logger = Logger.getLogger(CharacterRunReaderRich.class.getName()); // NOPMD - Reference rather than a static field
 
     /**
@@ -34,24 +34,24 @@ public class CharacterRunReaderRich implements CharacterRunReaderGeneric {
      * @param readerData global readerData
      * @param xmlwriter writer for the rich output
      * @param requirement requirement which is being read
+     * @param paragraphStyleIndex index of the style of the paragraph whose runs are read (see {@link org.apache.poi.hwpf.usermodel.Paragraph#getStyleIndex()})
      * @throws IllegalArgumentException if any of the arguments is {@code null}
      */
-    public CharacterRunReaderRich(final ReaderData readerData, final XmlStringWriter xmlwriter, final RequirementTemporary requirement) {
+    public CharacterRunReaderRich(final ReaderData readerData, final XmlStringWriter xmlwriter, final RequirementTemporary requirement, final short paragraphStyleIndex) {
 	if (readerData == null) throw new IllegalArgumentException("readerData cannot be null.");
 	if (xmlwriter == null) throw new IllegalArgumentException("xmlwriter cannot be null.");
 	if (requirement == null) throw new IllegalArgumentException("requirement cannot be null.");
 	this.readerData = readerData;
 	this.xmlwriter = xmlwriter;
 	this.requirement = requirement;
+	this.paragraphStyleIndex = paragraphStyleIndex;
     }	    
 
     /**
-     * Read out the properties from POI and forward them to {@link CharacterRunCharacteristics}
-     * <p>this is a customized version of @link {@link org.apache.poi.hwpf.converter.WordToHtmlUtils#addCharactersProperties(CharacterRun, StringBuilder)}</p>
+     * Look up the formatting of a run (see {@link CharacterRunFormatting}) and forward it to {@link CharacterRunCharacteristics}
      * 
      * @param characterRun character run currently being processed
      */
-    @SuppressWarnings("javadoc")
     @Override
     public void read(final CharacterRun characterRun) {	
 	assert characterRun != null;
@@ -61,68 +61,22 @@ public class CharacterRunReaderRich implements CharacterRunReaderGeneric {
 	if(characterRun.text().equals("\r")) return;
 
 	// Step 1: Determine actual styling
-	if (characterRun.isBold()) {
-	    this.crCharacteristics.addToCurrentRunPlain(HTMLHelper.getBold());
-	}
-	if (characterRun.isItalic()) {
-	    this.crCharacteristics.addToCurrentRunPlain(HTMLHelper.getItalic());
-	}
-	if (characterRun.isStrikeThrough()) {
-	    this.crCharacteristics.addToCurrentRunPlain("del");
-	}
-	if (characterRun.isDoubleStrikeThrough()) {
-	    // cannot be represented better in HTML easily
-	    this.crCharacteristics.addToCurrentRunPlain("del");
-	}
-	if (characterRun.isVanished()) {
+	final CharacterRunFormatting formatting = this.readerData.getCharacterRunFormattingCache().get(characterRun, this.paragraphStyleIndex);
+	if (formatting.isVanished()) {
 	    logger.log(Level.INFO, "We have vanished text here. Will mark it as strike through.");
-	    this.crCharacteristics.addToCurrentRunPlain("del");
 	}
-	if (characterRun.isMarkedDeleted()) {
+	if (formatting.isMarkedDeleted()) {
 	    logger.log(Level.INFO, "Text contains characters which were deleted while revision marking was on. Will apply strikethrough formatting to them.");
-	    this.crCharacteristics.addToCurrentRunPlain("del");
 	}
-	if (characterRun.isMarkedInserted()) {
+	if (formatting.isMarkedInserted()) {
 	    logger.log(Level.INFO, "Text contains characters which were inserted while revision marking was on. Will treat them as ordinary characters.");
 	}
-	if (characterRun.isCapitalized()) {
-	    this.crCharacteristics.addToCurrentRunCSS("text-transform", "uppercase");
-	}
-	if (characterRun.isSmallCaps()) {
-	    this.crCharacteristics.addToCurrentRunCSS("font-variant", "small-caps");
-	}
-	if (characterRun.getUnderlineCode() != 0x00) {
-	    // We do not distinguish between different underline types here; [MS-DOC], v20140721, 2.9.127
-	    this.crCharacteristics.addToCurrentRunCSS("text-decoration", "underline");		    		   
-	}
-	if (!characterRun.getCV().isEmpty() && !characterRun.getCV().toHex().equals("000000")) {
-	    this.crCharacteristics.addToCurrentRunCSS("color", "#" + characterRun.getCV().toHex());
-	}
-	if (characterRun.isSymbol() && characterRun.getSymbolFont() != null) {
-	    this.crCharacteristics.addToCurrentRunCSS("font-family", characterRun.getSymbolFont().getMainFontName());	    			
+	if (formatting.hasIllegalSubSuperScript()) {
+	    logger.log(Level.WARNING, "Encountered an illegal sub/superscript qualifier. Your document is corrupted. Will skip this styling.");
 	}
-	else if (!characterRun.getFontName().isEmpty()) {
-	    this.crCharacteristics.addToCurrentRunCSS("font-family", characterRun.getFontName());
-	}	    	
 
-	this.crCharacteristics.addToCurrentRunCSS("font-size", Math.round(characterRun.getFontSize() / 2.0) + "pt");
-
-	// check for sub- / superscript-marker in word; we do not read out font-size changes here, though
-	// [MS-DOC], v20140721, 2.6.1, sprmCIss
-	switch (characterRun.getSubSuperScriptIndex()) {
-	case 0x00: break; //normal text
-	case 0x01: this.crCharacteristics.addToCurrentRunCSS("vertical-align", "super"); break;
-	case 0x02: this.crCharacteristics.addToCurrentRunCSS("vertical-align", "sub"); break;
-	default: logger.log(Level.WARNING, "Encountered an illegal sub/superscript qualifier. Your document is corrupted. Will skip this styling."); break;
-	}
-
-	// Whatever this is good for. Haven't seen a document in the wild that triggers this. 
-	if (characterRun.isHighlighted()) {
-	    this.crCharacteristics.addToCurrentRunCSS("background-color", DataConverter.getColorName(characterRun.getHighlightedColor()));
-	}		    	   
-
-	// Write formatting output		    	   
-	this.crCharacteristics.writeNextRun();
+	// Write formatting output
+	this.crCharacteristics.writeNextRun(formatting);
 
 
 	// Step 2: output routine
@@ -177,52 +131,75 @@ public class CharacterRunReaderRich implements CharacterRunReaderGeneric {
      * subsequent runs which share the same subset of the properties which we are actually interested in.</p>
      */
     private final class CharacterRunCharacteristics implements Destructible {			
-	private final transient Set<String> currentPlain = new LinkedHashSet<>();
 	private transient Set<String> oldPlain = new LinkedHashSet<>();			
-	private transient CSSManager currentCSSManager = new CSSManager();
 	private transient CSSManager oldCSSManager = new CSSManager();
 	private transient boolean oldCSS = false;
+	/**
+	 * {@code true} if the previous run did not change anything; its tags and CSS properties then also apply to the next run
+	 */
+	private transient boolean carryOver = false;
+	/**
+	 * formatting whose tags and CSS are currently open as they are; {@code null} if they stem from several runs
+	 */
+	private transient CharacterRunFormatting lastFormatting = null;
 
 	/**			 
 	 * Differences two sets of style-tags. Called between each character run.
+	 * 
+	 * @param formatting formatting of the next run; {@code null} if there is no further run
 	 */
-	public void writeNextRun() {
+	public void writeNextRun(final CharacterRunFormatting formatting) {
+	    if (formatting != null && formatting == this.lastFormatting) {
+		// formattings are shared; nothing has changed
+		this.carryOver = true;
+		return;
+	    }
+	    final Set<String> currentPlain = new LinkedHashSet<>();
+	    final CSSManager currentCSSManager;
+	    if (this.carryOver) {
+		currentPlain.addAll(this.oldPlain);
+		currentCSSManager = new CSSManager();
+		currentCSSManager.putProperties(this.oldCSSManager);
+		if (formatting != null) {
+		    currentPlain.addAll(formatting.getPlainElements());
+		    currentCSSManager.putProperties(formatting.getCSSManager());
+		}
+	    }
+	    else {
+		if (formatting != null) currentPlain.addAll(formatting.getPlainElements());
+		currentCSSManager = formatting != null ? formatting.getCSSManager() : new CSSManager();
+	    }
+
 	    // Step 1: Determine differences for plain HTML tags
 
 	    final LinkedHashSet<String> oldPlainTmp = new LinkedHashSet<>(this.oldPlain);
-	    oldPlainTmp.removeAll(this.currentPlain); // all tags which are no more applicable
+	    oldPlainTmp.removeAll(currentPlain); // all tags which are no more applicable
 
-	    final LinkedHashSet<String> currentPlainTmp = new LinkedHashSet<>(this.currentPlain);
+	    final LinkedHashSet<String> currentPlainTmp = new LinkedHashSet<>(currentPlain);
 	    currentPlainTmp.removeAll(this.oldPlain); // all tags which are now applicable
 
-	    this.oldPlain.retainAll(this.currentPlain); // tags which remain applicable
+	    this.oldPlain.retainAll(currentPlain); // tags which remain applicable
 	    
 	    // Step 2: Determine differences for CSS tags
 	    // effectively we do not do this. Instead one character run always maps to one span tag
 	    // unless no CSS styling was applicable in which case there is no span at all
 
 	    // check if anything has changed between this and the previous run; if so write the changes
-	    if (!(oldPlainTmp.isEmpty() && currentPlainTmp.isEmpty() && this.currentCSSManager.equals(this.oldCSSManager))) {
+	    if (!(oldPlainTmp.isEmpty() && currentPlainTmp.isEmpty() && currentCSSManager.equals(this.oldCSSManager))) {
 		writeClosingElementsCSS();
 		writeClosingElementsPlain(oldPlainTmp);
 		writeStartingElementsPlain(currentPlainTmp);
-		writeStartingElementsCSS();
+		writeStartingElementsCSS(currentCSSManager, this.carryOver || formatting == null ? null : formatting.getCSS());
 
-		this.oldPlain = new LinkedHashSet<>(this.currentPlain);		
-		
-		this.currentPlain.clear();
-		this.oldCSSManager = this.currentCSSManager;
-		this.currentCSSManager = new CSSManager();
+		this.oldPlain = currentPlain;
+		this.oldCSSManager = currentCSSManager;
+		this.lastFormatting = this.carryOver ? null : formatting;
+		this.carryOver = false;
+	    }
+	    else {
+		// Note: the properties of this run are not reset; i.e. they are merged into those of the next run
+		this.carryOver = true;
 	    }
-	}
-
-	public void addToCurrentRunPlain(final String element) {				
-	    this.currentPlain.add(element);
-	}
-
-	public void addToCurrentRunCSS(final String name, final String argument) {
-	    // the CSS version of the above method				
-	    this.currentCSSManager.putProperty(name, argument);
 	}
 
 	/**
@@ -230,9 +207,8 @@ public class CharacterRunReaderRich implements CharacterRunReaderGeneric {
 	 */
 	@Override
 	public void close() {
-	    this.currentPlain.clear();
-	    this.currentCSSManager = new CSSManager();
-	    this.writeNextRun(); // causes all left-over open tags to be closed				
+	    this.carryOver = false;
+	    this.writeNextRun(null); // causes all left-over open tags to be closed				
 	}
 
 	/**
@@ -262,14 +238,17 @@ public class CharacterRunReaderRich implements CharacterRunReaderGeneric {
 
 	/**
 	 * Writes a span tag with a list of CSS-styles obtained from cssmanager
+	 * 
+	 * @param cssManager CSS properties to write
+	 * @param css precomputed value of the style attribute; {@code null} if it has to be obtained from {@code cssManager}
 	 */
-	private void writeStartingElementsCSS() {
-	    if (!this.currentCSSManager.propertiesAvailable()) {
-		this.oldCSS = false;					
+	private void writeStartingElementsCSS(final CSSManager cssManager, final String css) {
+	    if (!cssManager.propertiesAvailable()) {
+		this.oldCSS = false;
 	    }
 	    else {
 		CharacterRunReaderRich.this.xmlwriter.writeStartElement("span");
-		CharacterRunReaderRich.this.xmlwriter.writeAttribute("style", this.currentCSSManager.toString());
+		CharacterRunReaderRich.this.xmlwriter.writeAttribute("style", css != null ? css : cssManager.toString());
 		this.oldCSS = true;
 	    }
 	}
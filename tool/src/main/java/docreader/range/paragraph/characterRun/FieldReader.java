@@ -43,7 +43,7 @@ public class FieldReader implements GenericReader<FieldStore<?>> {
 	if (inputRun == null) throw new IllegalArgumentException("inputRun cannot be null.");
 	if (surroundingParagraph == null) throw new IllegalArgumentException("surroundingParagraph cannot be null.");
 	
-	final Field field = readerData.getDocument().getFields().getFieldByStartOffset(FieldsDocumentPart.MAIN, inputRun.getStartOffset());
+	final Field field = readerData.getFields().getFieldByStartOffset(FieldsDocumentPart.MAIN, inputRun.getStartOffset());
 	if (field != null && !field.isPrivateResult()) {
 	    // field available
 	    this.internalFieldData = new InternalFieldData(inputRun, field, surroundingParagraph);			
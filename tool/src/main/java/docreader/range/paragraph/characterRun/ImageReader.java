@@ -1,9 +1,6 @@
 package docreader.range.paragraph.characterRun;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -176,17 +173,15 @@ public class ImageReader {
      */
     private void writeToFile(final FilenameDeterminer filenameDeterminer, final int width, final int height) {
 	assert filenameDeterminer != null;
-	final String destination = filenameDeterminer.getFilenameStore();
-
 	if (this.picture.getSize() > 0) {
-	    // we have picture data; write it to a file
-	    try (final FileOutputStream fos = new FileOutputStream(ImageReader.this.readerData.getAbsoluteFilePathPrefix() + File.separator + destination)) {
-		this.picture.writeImageContent(fos);	    
+	    // we have picture data; hand it over to the background writer
+	    final String filename = this.readerData.getMediaWriter().write(this.picture.getContent(), filenameDeterminer.getBaseNameStore());
+	    if (filename.equals(filenameDeterminer.getBaseNameStore())) {
 		filenameDeterminer.addToPictureConversionStore(width, height);
-	    } catch (FileNotFoundException e) {
-		logger.log(Level.WARNING, "Could not write data to disk because of issues in the underlying file-system", e);			
-	    } catch (IOException e) {
-		logger.log(Level.WARNING, "Could not write data to disk because of issues inside POI.", e);
+	    }
+	    else {
+		// same content has been written before (and registered for conversion there, i.e. with the size of that occurrence)
+		filenameDeterminer.redirectTo(filename);
 	    }
 	}
 	else {
@@ -197,7 +192,7 @@ public class ImageReader {
 	    }
 	    else {
 		// picture is not a shape; fail safely
-		String filename = destination;
+		String filename = filenameDeterminer.getFilenameStore();
 		if (filename.length() >= 1 && filename.charAt(filename.length()-1) == '.') filename = filename.substring(0, filename.length()-1); // remove the final dot to make it look prettier
 		logger.log(Level.WARNING, "Picture \"{0}\" seems to be empty. Will not write to disk. Please extract manually.", filename);
 	    }	    
@@ -303,6 +298,29 @@ public class ImageReader {
 	    return this.fullFilenameDisplay;
 	}
 
+	/**
+	 * @return filename for (preliminary) storage on disk without any directory
+	 */
+	public String getBaseNameStore() {
+	    return this.baseNameStore;
+	}
+	
+	/**
+	 * Refer to the file of an earlier picture with identical content instead of a file of our own
+	 * <p><em>Note:</em> Only the earlier picture is registered for conversion. Hence a converted file always has the width and height of the first occurrence;
+	 * later occurrences which are displayed at a different size refer to that file as well (browsers scale it to the size of the element).</p>
+	 * 
+	 * @param baseNameStore filename of the earlier picture without any directory
+	 */
+	public void redirectTo(final String baseNameStore) {
+	    assert baseNameStore != null;
+	    this.baseNameStore = baseNameStore;
+	    this.fullFilenameStore = this.mediaStorePrefix + File.separator + baseNameStore;
+	    // identical content implies an identical extension; hence the need for conversion is the same
+	    this.baseNameDisplay = this.pictureNeedsConversion ? baseNameStore.substring(0, baseNameStore.lastIndexOf('.') + 1) + "png" : baseNameStore;
+	    this.fullFilenameDisplay = this.mediaStorePrefix + '/' + this.baseNameDisplay;
+	}
+
 	/**
 	 * @return filename for (preliminary) storage on disk
 	 */
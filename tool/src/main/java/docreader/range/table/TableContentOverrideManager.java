@@ -3,7 +3,7 @@ package docreader.range.table;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import helper.HashMap2D;
+import helper.Grid2D;
 import helper.TableHelper;
 import helper.TraceabilityManagerHumanReadable;
 import helper.XmlStringWriter;
@@ -20,7 +20,6 @@ import org.apache.poi.hwpf.usermodel.TableRow;
 
 import docreader.ReaderData;
 import docreader.list.ListReader;
-import docreader.range.table.TableDimensionsManager.CellData;
 import docreader.range.paragraph.ParagraphListAware;
 import docreader.range.paragraph.characterRun.OfficeDrawingReader;
 import docreader.range.paragraph.characterRun.OfficeDrawingReader.ArrowData;
@@ -41,7 +40,7 @@ final class TableContentOverrideManager {
     /**
      * Internal store for override data; first index is row, second is column; not guaranteed to be rectangular or consecutive 
      */
-    private final transient HashMap2D<Integer, Integer, CellOverrideData> overrideData = new HashMap2D<>();
+    private final transient Grid2D<CellOverrideData> overrideData = new Grid2D<>();
 
     /**
      * Create a new override manager
@@ -289,9 +288,8 @@ final class TableContentOverrideManager {
 	public ArrowSourceTargetManager(final CellID currentCell) {
 	    assert currentCell != null;
 	    this.currentCell = currentCell;
-	    final CellData cellData = TableContentOverrideManager.this.tableDimensionsManager.getCellData(currentCell.rowNum, currentCell.columnNum);
-	    this.currentCellLeft = cellData.getLeft();
-	    this.currentCellTop = cellData.getTop();
+	    this.currentCellLeft = TableContentOverrideManager.this.tableDimensionsManager.getLeft(currentCell.rowNum, currentCell.columnNum);
+	    this.currentCellTop = TableContentOverrideManager.this.tableDimensionsManager.getTop(currentCell.rowNum, currentCell.columnNum);
 	}
 
 	@DomainSpecific
@@ -348,18 +346,17 @@ final class TableContentOverrideManager {
 	@DomainSpecific
 	private CellID findMatchingCell(final int indexOfRowContainingArrow, final int absoluteOffset) {
 	    // Assumption: part of the table containing the arrows is rectangular
-	    final CellData currentCellData = TableContentOverrideManager.this.tableDimensionsManager.getCellData(indexOfRowContainingArrow, this.currentCell.columnNum);
-	    assert currentCellData != null;
+	    assert TableContentOverrideManager.this.tableDimensionsManager.hasCellData(indexOfRowContainingArrow, this.currentCell.columnNum);
 
 	    // Assumption: we are only moving horizontally
 	    int columnNum = this.currentCell.columnNum;
 	    final int firstColumnNum = 0;
-	    final int lastColumnNum = TableContentOverrideManager.this.tableDimensionsManager.getLastColumnIndexForRow(indexOfRowContainingArrow); // autoboxing is safe; get() will never return null here
+	    final int lastColumnNum = TableContentOverrideManager.this.tableDimensionsManager.getLastColumnIndexForRow(indexOfRowContainingArrow);
 	    offsetDeterminer: {		
-		if (absoluteOffset < currentCellData.getLeft()) {		
+		if (absoluteOffset < TableContentOverrideManager.this.tableDimensionsManager.getLeft(indexOfRowContainingArrow, this.currentCell.columnNum)) {		
 		    do {
 			columnNum--;
-			while (TableContentOverrideManager.this.tableDimensionsManager.getCellData(indexOfRowContainingArrow, columnNum) == null) {			    			    
+			while (!TableContentOverrideManager.this.tableDimensionsManager.hasCellData(indexOfRowContainingArrow, columnNum)) {			    			    
 			    if (columnNum < firstColumnNum) {
 				// exit condition; out of range
 				logger.log(Level.WARNING, "Arrow points out of the left edge of the table. This is strange. Will assume it points to the leftmost cell.");
@@ -369,13 +366,13 @@ final class TableContentOverrideManager {
 			    // skip merged cells
 			    columnNum--;
 			}
-		    } while (absoluteOffset < TableContentOverrideManager.this.tableDimensionsManager.getCellData(indexOfRowContainingArrow, columnNum).getLeft());		
+		    } while (absoluteOffset < TableContentOverrideManager.this.tableDimensionsManager.getLeft(indexOfRowContainingArrow, columnNum));		
 
 		}
-		else if (absoluteOffset > currentCellData.getRight()) {
+		else if (absoluteOffset > TableContentOverrideManager.this.tableDimensionsManager.getRight(indexOfRowContainingArrow, this.currentCell.columnNum)) {
 		    do {
 			columnNum++;
-			while (TableContentOverrideManager.this.tableDimensionsManager.getCellData(indexOfRowContainingArrow, columnNum) == null) {
+			while (!TableContentOverrideManager.this.tableDimensionsManager.hasCellData(indexOfRowContainingArrow, columnNum)) {
 			    if (columnNum > lastColumnNum) {
 				// exit condition; out of range
 				logger.log(Level.WARNING, "Arrow points out of the right edge of the table. This is strange. Will assume it points to the rightmost cell.");
@@ -385,11 +382,11 @@ final class TableContentOverrideManager {
 			    // skip merged cells
 			    columnNum++;
 			}
-		    } while (absoluteOffset > TableContentOverrideManager.this.tableDimensionsManager.getCellData(indexOfRowContainingArrow, columnNum).getRight());
+		    } while (absoluteOffset > TableContentOverrideManager.this.tableDimensionsManager.getRight(indexOfRowContainingArrow, columnNum));
 		}				
 	    }
 
-	    assert TableContentOverrideManager.this.tableDimensionsManager.getCellData(indexOfRowContainingArrow, columnNum) != null;
+	    assert TableContentOverrideManager.this.tableDimensionsManager.hasCellData(indexOfRowContainingArrow, columnNum);
 	    return new CellID(indexOfRowContainingArrow, columnNum);
 	}
 	
@@ -402,18 +399,16 @@ final class TableContentOverrideManager {
 	 */
 	@DomainSpecific
 	private int findMatchingRow(final int absoluteOffset) {
-	    final CellData currentCellData = TableContentOverrideManager.this.tableDimensionsManager.getCellData(this.currentCell.rowNum, this.currentCell.columnNum);
-	    
 	    final int columnNum = this.currentCell.columnNum;
 	    int rowNum = this.currentCell.rowNum;
 	    final int firstRowNum = 0;
 	    final int lastRowNum = TableContentOverrideManager.this.tableDimensionsManager.getIndexOfLastRow();	    
 	    
 	    offsetDeterminer: {
-		if (absoluteOffset < currentCellData.getTop()) {
+		if (absoluteOffset < TableContentOverrideManager.this.tableDimensionsManager.getTop(this.currentCell.rowNum, this.currentCell.columnNum)) {
 		    do {
 			rowNum--;
-			while (TableContentOverrideManager.this.tableDimensionsManager.getCellData(rowNum, columnNum) == null) {
+			while (!TableContentOverrideManager.this.tableDimensionsManager.hasCellData(rowNum, columnNum)) {
 			    if (rowNum < firstRowNum) {
 				// exit condition; out of range
 				logger.log(Level.WARNING, "Arrow is above the table. This is strange. Will assume it belongs to the first row.");
@@ -423,12 +418,12 @@ final class TableContentOverrideManager {
 			    // skip merged cells
 			    rowNum--;
 			}
-		    } while (absoluteOffset < TableContentOverrideManager.this.tableDimensionsManager.getCellData(rowNum, columnNum).getTop());		    
+		    } while (absoluteOffset < TableContentOverrideManager.this.tableDimensionsManager.getTop(rowNum, columnNum));		    
 		}
-		else if (absoluteOffset > currentCellData.getBottom()) {		    
+		else if (absoluteOffset > TableContentOverrideManager.this.tableDimensionsManager.getBottom(this.currentCell.rowNum, this.currentCell.columnNum)) {		    
 		    do {
 			rowNum++;
-			while (TableContentOverrideManager.this.tableDimensionsManager.getCellData(rowNum, columnNum) == null) {
+			while (!TableContentOverrideManager.this.tableDimensionsManager.hasCellData(rowNum, columnNum)) {
 			    if (rowNum > lastRowNum) {
 				// exit condition; out of range
 				logger.log(Level.WARNING, "Arrow is below the table. This is strange. Will assume it belongs to the last row.");
@@ -438,10 +433,10 @@ final class TableContentOverrideManager {
 			    // skip merged cells
 			    rowNum++;
 			}
-		    } while (absoluteOffset > TableContentOverrideManager.this.tableDimensionsManager.getCellData(rowNum, columnNum).getBottom());
+		    } while (absoluteOffset > TableContentOverrideManager.this.tableDimensionsManager.getBottom(rowNum, columnNum));
 		}
 	    }
-	    assert TableContentOverrideManager.this.tableDimensionsManager.getCellData(rowNum, columnNum) != null;
+	    assert TableContentOverrideManager.this.tableDimensionsManager.hasCellData(rowNum, columnNum);
 	    return rowNum;
 	}	
     }
@@ -1,6 +1,5 @@
 package docreader.range.table;
 
-import helper.HashMap2D;
 import helper.TableHelper;
 import helper.word.DataConverter;
 
@@ -13,9 +12,8 @@ import java.awt.geom.AffineTransform;
 import java.text.AttributedCharacterIterator;
 import java.text.AttributedString;
 import java.text.BreakIterator;
-import java.util.HashMap;
+import java.util.BitSet;
 import java.util.Iterator;
-import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.logging.Level;
@@ -34,14 +32,22 @@ import org.apache.poi.hwpf.usermodel.TableRow;
  */
 final class TableDimensionsManager {
     /**
-     * Hashmap to store cellData. First key is row, second is column. Not guaranteed to be rectangular or even continuous.
+     * Dense grid of cell dimensions; one slot per (row, column) at {@code row * numColumns + column}. Only slots marked in {@link #presentCells} hold data (i.e. merged cells leave holes).
      */
-    private final transient HashMap2D<Integer, Integer, CellData> tableData = new HashMap2D<>();
-    private final transient Map<Integer, Integer> rowLastColumnIndex = new HashMap<>();
+    private final int numColumns;
+    private final int[] left;
+    private final int[] right;
+    private final int[] top;
+    private final int[] bottom;
+    private final int[] rowspan;
+    private final int[] colspan;
+    private final BitSet presentCells;
+    private final int[] rowLastColumnIndex;
     private final int indexOfLastRow;
     private static final Logger logger = Logger.getLogger(TableDimensionsManager.class.getName()); // NOPMD - Reference rather than a static field
     /**
      * Immutable store for metadata of a table cell
+     * <p>this is merely a view onto the data of a {@link TableDimensionsManager}; see {@link TableDimensionsManager#getCellData(int, int)}</p>
      */
     public final static class CellData {
 	private final int left;
@@ -125,6 +131,19 @@ final class TableDimensionsManager {
 	final TableRowspanManager tableRowspanManager = new TableRowspanManager(table);
 	final TableColspanManager tableColspanManager = new TableColspanManager(table);
 
+	int maxColumns = 0;
+	for (int rn = 0; rn < table.numRows(); rn++) maxColumns = Math.max(maxColumns, table.getRow(rn).numCells());
+	this.numColumns = maxColumns;
+	final int numSlots = table.numRows() * maxColumns;
+	this.left = new int[numSlots];
+	this.right = new int[numSlots];
+	this.top = new int[numSlots];
+	this.bottom = new int[numSlots];
+	this.rowspan = new int[numSlots];
+	this.colspan = new int[numSlots];
+	this.presentCells = new BitSet(numSlots);
+	this.rowLastColumnIndex = new int[table.numRows()];
+
 	int top;
 	int bottom = 0; // fake bottom value of "row #-1"
 	int rowNum;
@@ -137,13 +156,16 @@ final class TableDimensionsManager {
 		final TableCell cell = tableRow.getCell(columnNum);
 		if (TableHelper.isMerged(cell)) continue;
 
-		final int left = cell.getLeftEdge();
-		final int right = cell.getLeftEdge() + cell.getWidth();		
-		final int rowspan = tableRowspanManager.getRowspan(rowNum, columnNum);
-		final int colspan = tableColspanManager.getColspan(rowNum, columnNum);
-		this.tableData.put(rowNum, columnNum, new CellData(left, right, top, bottom, rowspan, colspan)); // NOPMD - intentional instantiation inside loop		
+		final int slot = rowNum * this.numColumns + columnNum;
+		this.left[slot] = cell.getLeftEdge();
+		this.right[slot] = cell.getLeftEdge() + cell.getWidth();		
+		this.top[slot] = top;
+		this.bottom[slot] = bottom;
+		this.rowspan[slot] = tableRowspanManager.getRowspan(rowNum, columnNum);
+		this.colspan[slot] = tableColspanManager.getColspan(rowNum, columnNum);
+		this.presentCells.set(slot);
 	    }
-	    this.rowLastColumnIndex.put(rowNum, columnNum);
+	    this.rowLastColumnIndex[rowNum] = columnNum;
 	}
 	this.indexOfLastRow = rowNum;
     }
@@ -154,15 +176,73 @@ final class TableDimensionsManager {
      * @return cellData for the given cell or {@code null} if there is no such data
      */
     public CellData getCellData(final int rowNum, final int columnNum) {
-	return this.tableData.get(rowNum, columnNum);
+	if (!hasCellData(rowNum, columnNum)) return null;
+	final int slot = rowNum * this.numColumns + columnNum;
+	return new CellData(this.left[slot], this.right[slot], this.top[slot], this.bottom[slot], this.rowspan[slot], this.colspan[slot]);
+    }
+
+    /**
+     * @param rowNum 0-based row number
+     * @param columnNum 0-based column number
+     * @return {@code true} if there is data for the given cell (i.e. it exists and is not merged); {@code false} otherwise
+     */
+    public boolean hasCellData(final int rowNum, final int columnNum) {
+	if (rowNum < 0 || rowNum >= this.rowLastColumnIndex.length || columnNum < 0 || columnNum >= this.numColumns) return false;
+	return this.presentCells.get(rowNum * this.numColumns + columnNum);
+    }
+
+    /**
+     * @param rowNum 0-based row number
+     * @param columnNum 0-based column number
+     * @return left value of the given cell in twips
+     * @throws IllegalArgumentException if there is no data for the given cell
+     * @see CellData#getLeft()
+     */
+    public int getLeft(final int rowNum, final int columnNum) {
+	return this.left[getSlot(rowNum, columnNum)];
+    }
+
+    /**
+     * @param rowNum 0-based row number
+     * @param columnNum 0-based column number
+     * @return right value of the given cell in twips
+     * @throws IllegalArgumentException if there is no data for the given cell
+     * @see CellData#getRight()
+     */
+    public int getRight(final int rowNum, final int columnNum) {
+	return this.right[getSlot(rowNum, columnNum)];
+    }
+
+    /**
+     * @param rowNum 0-based row number
+     * @param columnNum 0-based column number
+     * @return top value of the given cell in twips
+     * @throws IllegalArgumentException if there is no data for the given cell
+     * @see CellData#getTop()
+     */
+    public int getTop(final int rowNum, final int columnNum) {
+	return this.top[getSlot(rowNum, columnNum)];
+    }
+
+    /**
+     * @param rowNum 0-based row number
+     * @param columnNum 0-based column number
+     * @return bottom value of the given cell in twips
+     * @throws IllegalArgumentException if there is no data for the given cell
+     * @see CellData#getBottom()
+     */
+    public int getBottom(final int rowNum, final int columnNum) {
+	return this.bottom[getSlot(rowNum, columnNum)];
     }
 
     /**
      * @param rowNum index of the row of interest (0-based)
-     * @return absolute index of the last column in this row (taking into account any possible merged cells) or {@code null} if the given {@code rowNum} was out of range
+     * @return absolute index of the last column in this row (taking into account any possible merged cells)
+     * @throws IllegalArgumentException if the given {@code rowNum} is out of range
      */
-    public Integer getLastColumnIndexForRow(final int rowNum) {
-	return this.rowLastColumnIndex.get(rowNum);
+    public int getLastColumnIndexForRow(final int rowNum) {
+	if (rowNum < 0 || rowNum >= this.rowLastColumnIndex.length) throw new IllegalArgumentException("Row " + Integer.toString(rowNum) + " does not exist.");
+	return this.rowLastColumnIndex[rowNum];
     }
 
     /**
@@ -173,6 +253,12 @@ final class TableDimensionsManager {
     }
 
 
+    private int getSlot(final int rowNum, final int columnNum) {
+	if (!hasCellData(rowNum, columnNum)) throw new IllegalArgumentException("There is no data for cell (" + Integer.toString(rowNum) + "," + Integer.toString(columnNum) + ").");
+	return rowNum * this.numColumns + columnNum;
+    }
+
+
     /**
      * Calculate the row height
      * 
@@ -124,7 +124,7 @@ public final class TableReader extends RangeReader {
 	     * Runs independent preprocessing tasks for the current table in parallel
 	     */
 	    public ParallelHeaddataDetermination() {
-		final ExecutorService pool = ParallelExecutor.createThreadPool("TableHeaddataDetermination", 2).getExecutorService();
+		final ExecutorService pool = ParallelExecutor.createTaskGroup("TableHeaddataDetermination");
 
 		// run our expensive calculations in parallel
 		final Future<TableDimensionsManager> tableDimensionsManagerFuture = pool.submit(new Callable<TableDimensionsManager>(){
@@ -133,19 +133,14 @@ public final class TableReader extends RangeReader {
 			return new TableDimensionsManager(table);
 		    }
 		});
-		final Future<TableMatcher> tableMatcherFuture = pool.submit(new Callable<TableMatcher>(){
-		    @Override
-		    public TableMatcher call() {
-			return new TableMatcher(table);
-		    }
-		});
 		pool.shutdown();
 
-		// collect the results
+		// the tableMatcher fans out into the shared pool itself; hence it must not occupy a thread of that pool while waiting
 		try {
-		    this.tableMatcher = tableMatcherFuture.get();
-		} catch (InterruptedException | ExecutionException e) {		    
+		    this.tableMatcher = new TableMatcher(table);
+		} catch (RuntimeException e) {		    
 		    logger.log(Level.SEVERE, "Error while determining tableMatcher data.", e);
+		    tableDimensionsManagerFuture.cancel(true);
 		    // make sure to propagate some exception so we eventually halt the program
 		    throw new IllegalStateException(e);
 		}
@@ -29,6 +29,17 @@ public class CSSManager {
 	this.cssProperties.put(name, argument);
     }
 
+    /**
+     * Add all properties of another manager; properties which already exist are overwritten
+     *
+     * @param other manager to copy the properties from
+     * @throws IllegalArgumentException if {@code other} is {@code null}
+     */
+    public void putProperties(final CSSManager other) {
+	if (other == null) throw new IllegalArgumentException("other cannot be null.");
+	this.cssProperties.putAll(other.cssProperties);
+    }
+
     /**
      * @return A string containing all stored properties
      */
@@ -0,0 +1,82 @@
+package helper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helper class for the binary checkpoint format of the requirement tree
+ * <p>{@link DataOutput#writeUTF(String)} is limited to 64k bytes which is not enough for the rich text of large tables. Hence, strings are stored length-prefixed here.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public enum CheckpointHelper {
+    ;
+
+    private final static int NULL_LENGTH = -1;
+
+    /**
+     * Write a string
+     *
+     * @param output where to write
+     * @param input string to write; may be {@code null}
+     * @throws IOException if the underlying stream cannot be written
+     */
+    public static void writeString(final DataOutput output, final String input) throws IOException {
+	assert output != null;
+	if (input == null) {
+	    output.writeInt(NULL_LENGTH);
+	}
+	else {
+	    final byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+	    output.writeInt(bytes.length);
+	    output.write(bytes);
+	}
+    }
+
+    /**
+     * Read a string which has been written by {@link #writeString(DataOutput, String)}
+     *
+     * @param input where to read from
+     * @return the string; may be {@code null}
+     * @throws IOException if the underlying stream cannot be read or is malformed
+     */
+    public static String readString(final DataInput input) throws IOException {
+	assert input != null;
+	final int length = input.readInt();
+	if (length == NULL_LENGTH) return null;
+	if (length < 0) throw new IOException("Malformed string length in checkpoint.");
+	final byte[] bytes = new byte[length];
+	input.readFully(bytes);
+	return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read the ordinal of an enum value
+     *
+     * @param input where to read from
+     * @param values all values of the enum (as returned by {@code values()})
+     * @return the enum value; may be {@code null} if a negative ordinal has been stored
+     * @throws IOException if the underlying stream cannot be read or the ordinal is out of range
+     */
+    public static <T extends Enum<T>> T readEnum(final DataInput input, final T[] values) throws IOException {
+	assert input != null && values != null;
+	final int ordinal = input.readByte();
+	if (ordinal < 0) return null;
+	if (ordinal >= values.length) throw new IOException("Malformed enum value in checkpoint.");
+	return values[ordinal];
+    }
+
+    /**
+     * Write the ordinal of an enum value
+     *
+     * @param output where to write
+     * @param value value to write; may be {@code null}
+     * @throws IOException if the underlying stream cannot be written
+     */
+    public static void writeEnum(final DataOutput output, final Enum<?> value) throws IOException {
+	assert output != null;
+	output.writeByte(value == null ? -1 : value.ordinal());
+    }
+}
@@ -1,40 +1,70 @@
 package helper;
 
-import java.io.FilterOutputStream;
-import java.io.IOException;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
-import java.util.HashSet;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Helper class to filter console output from various (thread-) sources
+ * <p>Each instance is a separate channel (i.e. belongs to exactly one document). Output of threads which have not been
+ * added to any channel is discarded. If a channel has a name then its output is written line by line and each line is
+ * prefixed with that name; this keeps the output of concurrently processed documents apart.</p>
  * 
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
-public class ConsoleOutputFilter {    
-    private final HashSet<Long> allowedthreadIDs = new HashSet<>();
-    private final PrintStream system_err_Original = System.err;
-    private final PrintStream system_out_Original = System.out;
-    private PrintStream system_err_old = null;
-    private PrintStream system_out_old = null;
+public class ConsoleOutputFilter implements Destructible {    
+    // the console is process-wide; hence all channels share the same router which always writes to the original streams
+    private final static Map<Long, ConsoleOutputFilter> threadToChannel = new ConcurrentHashMap<>();
+    private final static PrintStream system_err_Original = System.err;
+    private final static PrintStream system_out_Original = System.out;
+    private static boolean routerInstalled = false;
+    private final byte[] linePrefix;
+    private final ByteArrayOutputStream pendingErr = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream pendingOut = new ByteArrayOutputStream();
     
-    private static class AllowedThreadOnlyOutputStream extends FilterOutputStream
+    private static class ThreadRoutingOutputStream extends OutputStream
     {
-	private final HashSet<Long> allowedThreadIDs;
+	private final PrintStream target;
 
-	public AllowedThreadOnlyOutputStream(final PrintStream out, final HashSet<Long> threadIDs)
+	public ThreadRoutingOutputStream(final PrintStream target)
 	{
-	    super(out);
-	    this.allowedThreadIDs = new HashSet<>(threadIDs);
+	    assert target != null;
+	    this.target = target;
 	}
 
 	@Override
-	public void write(int b) throws IOException
+	public void write(int b)
 	{
-	    if (this.allowedThreadIDs.contains(Thread.currentThread().getId())) {
-		// we do not need to synchronize here because the PrintStream already does that
-		super.write(b);	
-	    }
+	    final ConsoleOutputFilter channel = threadToChannel.get(Thread.currentThread().getId());
+	    if (channel != null) channel.write(this.target, b);
 	}
+	
+	@Override
+	public void flush()
+	{
+	    final ConsoleOutputFilter channel = threadToChannel.get(Thread.currentThread().getId());
+	    if (channel != null) channel.flush(this.target);
+	}
+    }
+    
+    /**
+     * Create an unnamed channel; output is forwarded unchanged
+     */
+    public ConsoleOutputFilter() {
+	this(null);
+    }
+    
+    /**
+     * Create a named channel
+     * 
+     * @param channelName name to prefix every line of output with; if {@code null} output is forwarded unchanged
+     */
+    public ConsoleOutputFilter(final String channelName) {
+	this.linePrefix = channelName != null ? ('[' + channelName + "] ").getBytes(Charset.defaultCharset()) : null;
     }
 
     /**
@@ -46,24 +76,84 @@ public class ConsoleOutputFilter {
     }
         
     /**
-     * Add the given thread to those which may output to the console
+     * Add the given thread to those which may output to the console; output of that thread will end up in this channel
      * 
      * @param threadID id of the thread which shall be allowed to write output
      */    
-    public synchronized void addThread(final long threadID) {
-	// flush the previous wrappers (apparently not really necessary, but hey...)
-	if (this.system_err_old != null) this.system_err_old.flush();
-	if (this.system_out_old != null) this.system_out_old.flush();
-	
-	// add the new threadID and create appropriate streams
-	this.allowedthreadIDs.add(threadID);
-	final PrintStream newErrStream = new PrintStream(new AllowedThreadOnlyOutputStream(this.system_err_Original, this.allowedthreadIDs));
-	final PrintStream newOutStream = new PrintStream(new AllowedThreadOnlyOutputStream(this.system_out_Original, this.allowedthreadIDs));
-	System.setErr(newErrStream);
-	System.setOut(newOutStream);
-	
-	// save the previous wrappers
-	this.system_err_old = newErrStream;
-	this.system_out_old = newOutStream;
+    public void addThread(final long threadID) {
+	installRouter();
+	threadToChannel.put(threadID, this);
+    }
+    
+    /**
+     * Flush any incomplete lines and detach all threads from this channel
+     * 
+     * @see helper.Destructible#close()
+     */
+    @Override
+    public void close() {
+	flush(system_err_Original);
+	flush(system_out_Original);
+	final Iterator<ConsoleOutputFilter> iterator = threadToChannel.values().iterator();
+	while (iterator.hasNext()) {
+	    if (iterator.next() == this) iterator.remove();
+	}
+    }
+    
+    /**
+     * @return the channel the calling thread currently writes to or {@code null} if its output is discarded
+     */
+    static ConsoleOutputFilter getChannelOfCurrentThread() {
+	return threadToChannel.get(Thread.currentThread().getId());
+    }
+    
+    /**
+     * Make the calling thread write to a given channel; used by pooled threads which temporarily work on behalf of some other thread 
+     * 
+     * @param channel channel to write to or {@code null} if any output shall be discarded
+     */
+    static void setChannelOfCurrentThread(final ConsoleOutputFilter channel) {
+	if (channel == null) threadToChannel.remove(Thread.currentThread().getId());
+	else channel.addCurrentThread();
+    }
+    
+    private synchronized void write(final PrintStream target, final int b) {
+	if (this.linePrefix == null) {
+	    // we do not need to synchronize here because the PrintStream already does that
+	    target.write(b);
+	    return;
+	}
+	final ByteArrayOutputStream pending = getPending(target);
+	pending.write(b);
+	if (b == '\n') writeLine(target, pending);
+    }
+    
+    private synchronized void flush(final PrintStream target) {
+	if (this.linePrefix != null) {
+	    final ByteArrayOutputStream pending = getPending(target);
+	    if (pending.size() > 0) writeLine(target, pending);
+	}
+	target.flush();
+    }
+    
+    private void writeLine(final PrintStream target, final ByteArrayOutputStream pending) {
+	assert this.linePrefix != null && Thread.holdsLock(this);
+	final byte[] line = new byte[this.linePrefix.length + pending.size()];
+	System.arraycopy(this.linePrefix, 0, line, 0, this.linePrefix.length);
+	System.arraycopy(pending.toByteArray(), 0, line, this.linePrefix.length, pending.size());
+	pending.reset();
+	// a single call so lines of concurrent channels do not intermingle
+	target.write(line, 0, line.length);
+    }
+    
+    private ByteArrayOutputStream getPending(final PrintStream target) {
+	return target == system_err_Original ? this.pendingErr : this.pendingOut;
+    }
+    
+    private static synchronized void installRouter() {
+	if (routerInstalled) return;
+	System.setErr(new PrintStream(new ThreadRoutingOutputStream(system_err_Original)));
+	System.setOut(new PrintStream(new ThreadRoutingOutputStream(system_out_Original)));
+	routerInstalled = true;
     }
 }
@@ -109,6 +109,55 @@ public final class Constants {
 	 * This, however, makes the file non-compliant with the ReqIF-standard. 
 	 */
 	public static final boolean WRITE_CLASS_ATTRIBUTES = false;
+
+	/**
+	 * Heap (in bytes) to reserve for each document in batch mode; limits the number of documents which are processed at the same time
+	 */
+	public static final long BATCH_HEAP_PER_DOCUMENT = 1536L * 1024 * 1024;
+
+	/**
+	 * Number of completed top-level subtrees which may wait for their second pass while the first pass continues; limits the lead of the reader
+	 */
+	public static final int SECOND_PASS_QUEUE_CAPACITY = 16;
+
+	/**
+	 * If {@code true} then blocking coordination work (pipes, status output) runs on virtual threads, provided the runtime supports them (Java 21+); otherwise a cached pool of platform threads is used
+	 */
+	public static final boolean USE_VIRTUAL_THREADS = true;
+	
+	/**
+	 * If {@code true} then all structures of the input document are dropped once the requirement tree has been read;
+	 * this bounds the heap which is needed during the second pass and the serialization to roughly the size of the requirement tree
+	 */
+	public static final boolean RELEASE_DOCUMENT_AFTER_FIRST_PASS = true;
+	
+	/**
+	 * If {@code true} then the input document is accessed through a file channel ({@code NPOIFSFileSystem}) rather than copying the entire OLE2 container into the heap;
+	 * the file is kept open until the first pass has finished
+	 */
+	public static final boolean MEMORY_MAPPED_INPUT = true;
+	
+	/**
+	 * Number of threads which write embedded media to disk in the background
+	 */
+	public static final int MEDIA_WRITER_THREADS = 2;
+	
+	/**
+	 * Number of media files which may wait for being written; the reader blocks (i.e. writes on its own) if this is exceeded
+	 */
+	public static final int MEDIA_WRITER_QUEUE_CAPACITY = 32;
+	
+	/**
+	 * Convert raster images (JPEG, BMP, DIB, GIF, ...) to PNG within this process; if {@code false} all images are left to the external conversion tool
+	 * <p>Vector formats (WMF, EMF, PICT) and anything else which cannot be decoded are always listed for the external tool; see {@link #IMAGE_CONVERSION_TOOL_PATTERN}.</p>
+	 * <p>Disabled by default so the output stays identical to that of the external tool; enable it to save the external conversion of raster images.</p>
+	 */
+	public static final boolean CONVERT_RASTER_IMAGES = false;
+	
+	/**
+	 * Maximum number of distinct table structures whose matching result is remembered for the lifetime of the process (i.e. across documents in batch mode)
+	 */
+	public static final int TABLE_MATCH_CACHE_SIZE = 4096;
     }
 
 
@@ -8,11 +8,13 @@ import java.util.logging.StreamHandler;
 
 /**
  * Logging Handler which caches all log events instead of forwarding them right away
+ * <p>Once the cached events have been flushed, all further events are forwarded right away; hence the cache does not grow without bound.</p>
  * 
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 public class DeferredLoggingHandler extends StreamHandler {
     private final ByteArrayOutputStream buffer; 
+    private boolean deferred = true;
     
     /**
      * Create a Logging Handler which caches all logged events
@@ -30,7 +32,7 @@ public class DeferredLoggingHandler extends StreamHandler {
     /**
      * Flushes all collected messages to <tt>System.err</tt>
      */
-    public void flushMessages() {
+    public synchronized void flushMessages() {
 	System.err.flush();
 	try {
 	    this.buffer.writeTo(System.err);	    
@@ -38,6 +40,8 @@ public class DeferredLoggingHandler extends StreamHandler {
 	    throw new IllegalStateException("Unable to write logging data", e);	    
 	}
 	System.err.flush();
+	this.buffer.reset();
+	this.deferred = false;
     }
     
     /**
@@ -49,5 +53,6 @@ public class DeferredLoggingHandler extends StreamHandler {
     public synchronized void publish(final LogRecord record) {
 	super.publish(record);
 	flush();
+	if (!this.deferred) flushMessages();
     }
 }
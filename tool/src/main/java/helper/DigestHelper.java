@@ -0,0 +1,78 @@
+package helper;
+
+import java.io.DataOutputStream;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Helper class for content hashes (fingerprints of media, requirement subtrees and table structures)
+ * <p>All hashes are SHA-256.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public enum DigestHelper {
+    ;
+
+    private final static char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * @return a fresh digest; never {@code null}
+     * @throws IllegalStateException if the platform does not provide SHA-256
+     */
+    public static MessageDigest newDigest() {
+	try {
+	    return MessageDigest.getInstance("SHA-256");
+	} catch (NoSuchAlgorithmException e) {
+	    throw new IllegalStateException("SHA-256 is not available. This should not happen.", e);
+	}
+    }
+
+    /**
+     * Create a stream which feeds everything written to it into a digest; the data itself is discarded
+     *
+     * @param digest digest to update
+     * @return the stream; never {@code null}
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public static DataOutputStream newDigestStream(final MessageDigest digest) {
+	if (digest == null) throw new IllegalArgumentException("digest cannot be null.");
+	return new DataOutputStream(new DigestOutputStream(new OutputStream() {
+	    @Override
+	    public void write(final int b) {
+		// only the digest is of interest
+	    }
+
+	    @Override
+	    public void write(final byte[] b, final int off, final int len) {
+		// only the digest is of interest
+	    }
+	}, digest));
+    }
+
+    /**
+     * @param content data to hash
+     * @return hash of the data in lowercase hexadecimal notation; never {@code null}
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public static String computeHash(final byte[] content) {
+	if (content == null) throw new IllegalArgumentException("content cannot be null.");
+	return toHex(newDigest().digest(content));
+    }
+
+    /**
+     * @param input bytes to convert
+     * @return the bytes in lowercase hexadecimal notation; never {@code null}
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public static String toHex(final byte[] input) {
+	if (input == null) throw new IllegalArgumentException("input cannot be null.");
+	final char[] output = new char[input.length * 2];
+	for (int i = 0; i < input.length; i++) {
+	    output[2 * i] = HEX_DIGITS[(input[i] >> 4) & 0x0F];
+	    output[2 * i + 1] = HEX_DIGITS[input[i] & 0x0F];
+	}
+	return new String(output);
+    }
+}
@@ -0,0 +1,72 @@
+package helper;
+
+import java.util.Arrays;
+
+/**
+ * Dense two-dimensional store for small grids (such as the cells of a table)
+ * <p>Values are kept in one array per row which grows on demand; hence lookups neither box their indices nor chase hash buckets.
+ * Rows do not need to be rectangular or continuous. Does not implement {@link java.util.Map} due to its simplicity.</p>
+ *
+ * @param <V> type of value to be stored
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public final class Grid2D<V> {
+    private static final Object[][] EMPTY = new Object[0][];
+    private transient Object[][] rows = EMPTY;
+
+    /**
+     * @param row row of the value (0-based)
+     * @param column column of the value (0-based)
+     * @return the value stored at the given position, or {@code null} if there is none (this includes negative indices)
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final int row, final int column) {
+	if (row < 0 || row >= this.rows.length || column < 0) return null;
+	final Object[] currentRow = this.rows[row];
+	return currentRow != null && column < currentRow.length ? (V) currentRow[column] : null;
+    }
+
+    /**
+     * @param row row of the value (0-based)
+     * @param column column of the value (0-based)
+     * @param value value to be stored at the given position, may be {@code null}
+     * @throws IllegalArgumentException if one of the indices is negative
+     */
+    public void put(final int row, final int column, final V value) {
+	if (row < 0 || column < 0) throw new IllegalArgumentException("Position (" + Integer.toString(row) + "," + Integer.toString(column) + ") is invalid.");
+	if (row >= this.rows.length) this.rows = Arrays.copyOf(this.rows, Math.max(row + 1, this.rows.length * 2));
+	Object[] currentRow = this.rows[row];
+	if (currentRow == null) {
+	    currentRow = new Object[column + 1];
+	    this.rows[row] = currentRow;
+	}
+	else if (column >= currentRow.length) {
+	    currentRow = Arrays.copyOf(currentRow, Math.max(column + 1, currentRow.length * 2));
+	    this.rows[row] = currentRow;
+	}
+	currentRow[column] = value;
+    }
+
+    /**
+     * @param row row of interest (0-based)
+     * @return {@code true} if anything has ever been stored in the given row; {@code false} otherwise
+     */
+    public boolean hasRow(final int row) {
+	return row >= 0 && row < this.rows.length && this.rows[row] != null;
+    }
+
+    /**
+     * Replace the contents of a row with (a copy of) the contents of another row
+     *
+     * @param sourceRow row to copy from (0-based)
+     * @param targetRow row to copy to (0-based)
+     * @throws IllegalArgumentException if the source row does not exist or the target row is negative
+     */
+    public void copyRow(final int sourceRow, final int targetRow) {
+	if (!hasRow(sourceRow)) throw new IllegalArgumentException("Row " + Integer.toString(sourceRow) + " does not exist.");
+	if (targetRow < 0) throw new IllegalArgumentException("Row " + Integer.toString(targetRow) + " is invalid.");
+	if (targetRow >= this.rows.length) this.rows = Arrays.copyOf(this.rows, Math.max(targetRow + 1, this.rows.length * 2));
+	this.rows[targetRow] = this.rows[sourceRow].clone();
+    }
+}
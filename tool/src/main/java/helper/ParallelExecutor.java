@@ -1,20 +1,39 @@
 package helper;
 
+import static helper.Constants.Generic.USE_VIRTUAL_THREADS;
+
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Fire-and-forget parallel executor; uses runnables instead of callables to allow for exception propagation
+ * <p>Short-lived work is run by a single process-wide work-stealing pool (see {@link #createTaskGroup(String)}).
+ * Work which mostly waits (pipes, status output) is run by a separate coordination pool (see {@link #createCoordinationTaskGroup(String)}).
+ * Dedicated thread pools (see {@link #createThreadPool(String, int)}) are only meant for long-running workers which block for most of their lifetime.</p>
  * 
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
  */
@@ -41,47 +60,185 @@ public final class ParallelExecutor {
 	}
     }
 
+    /**
+     * Named view on a shared pool; tasks which are submitted through it may be cancelled and awaited independently of all other groups
+     * <p>Tasks of a group on the work-stealing pool must not block on other tasks of that pool; otherwise the pool may run out of threads.</p>
+     */
+    public final static class TaskGroup extends AbstractExecutorService {
+	private final String name;
+	private final Executor backend;
+	private final Set<Runnable> pendingTasks = Collections.newSetFromMap(new ConcurrentHashMap<Runnable, Boolean>());
+	private volatile boolean isShutdown = false;
+	
+	TaskGroup(final String name, final Executor backend) {
+	    assert name != null && backend != null;
+	    this.name = name;
+	    this.backend = backend;
+	}
+	
+	/**
+	 * @return name of this group; never {@code null}
+	 */
+	public String getName() {
+	    return this.name;
+	}
+
+	/**
+	 * Run a task in the backing pool
+	 * <p>while the task is running, the executing thread carries the name of this group and writes to the console channel of the submitting thread</p>
+	 * 
+	 * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
+	 */
+	@Override
+	public void execute(final Runnable command) {
+	    if (command == null) throw new NullPointerException(); // mandated by the Executor interface
+	    if (this.isShutdown) throw new RejectedExecutionException("Task group " + this.name + " does not accept any new tasks.");
+	    final ConsoleOutputFilter channel = ConsoleOutputFilter.getChannelOfCurrentThread();
+	    this.pendingTasks.add(command);
+	    this.backend.execute(new Runnable() {
+		@Override
+		public void run() {
+		    final Thread currentThread = Thread.currentThread();
+		    final String originalName = currentThread.getName();
+		    currentThread.setName(TaskGroup.this.name + '@' + originalName);
+		    ConsoleOutputFilter.setChannelOfCurrentThread(channel);
+		    try {
+			command.run();
+		    }
+		    finally {
+			ConsoleOutputFilter.setChannelOfCurrentThread(null);
+			currentThread.setName(originalName);
+			Thread.interrupted(); // a cancellation must not leak into the next task of this thread
+			taskFinished(command);
+		    }
+		}
+	    });
+	}
+	
+	@Override
+	public void shutdown() {
+	    this.isShutdown = true;
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+	    this.isShutdown = true;
+	    for (final Runnable currentTask : this.pendingTasks) {
+		if (currentTask instanceof Future) ((Future<?>) currentTask).cancel(true);
+	    }
+	    // cancelled tasks still pass through the shared pool (and return immediately); hence nothing is handed back
+	    return Collections.emptyList();
+	}
+
+	@Override
+	public boolean isShutdown() {
+	    return this.isShutdown;
+	}
+
+	@Override
+	public boolean isTerminated() {
+	    return this.isShutdown && this.pendingTasks.isEmpty();
+	}
+
+	@Override
+	public synchronized boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+	    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+	    while (!isTerminated()) {
+		final long remaining = deadline - System.nanoTime();
+		if (remaining <= 0) return false;
+		TimeUnit.NANOSECONDS.timedWait(this, remaining);
+	    }
+	    return true;
+	}
+	
+	private synchronized void taskFinished(final Runnable command) {
+	    this.pendingTasks.remove(command);
+	    notifyAll();
+	}
+    }
+    
+    /**
+     * Lazily created process-wide pool; sized to the number of cores (but at least two threads so a pair of tasks connected by a pipe always makes progress)
+     */
+    private final static class SharedPoolHolder {
+	static final ForkJoinPool POOL = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()), new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+	    private final AtomicLong count = new AtomicLong(0);
+
+	    @Override
+	    public ForkJoinWorkerThread newThread(final ForkJoinPool pool) {
+		final ForkJoinWorkerThread thread = new ForkJoinWorkerThread(pool) { /* constructor is protected */ };
+		thread.setName("SharedPool-" + this.count.getAndIncrement());
+		return thread;
+	    }
+	}, null, true);
+    }
+    
+    /**
+     * Lazily created process-wide pool for coordination work; threads are only held while a task is running
+     */
+    private final static class CoordinationPoolHolder {
+	static final ExecutorService POOL = createCoordinationPool();
+    }
+    
     private ParallelExecutor() {
 	// utility class; avoid instantiation
     }
 
     /**
      * Execute parallel tasks which do not return anything
+     * <p>All runnables are run by the shared pool; the calling thread only waits for them.
+     * The first failing runnable cancels all of its siblings; its exception is then rethrown.</p>
      * 
-     * @param namePrefix prefix of the names of the created threads
+     * @param namePrefix name of the task group to use
      * @param runnables a variable number of runnables to be executed in parallel
      * @throws IllegalArgumentException if one of the arguments is malformed
+     * @throws IllegalStateException if one of the runnables failed
      */
     public static void execute(final String namePrefix, final Runnable... runnables) {
 	if (runnables.length == 0) throw new IllegalArgumentException("Need at least one runnable");
 	if (namePrefix == null) throw new IllegalArgumentException("namePrefix cannot be null.");
+	execute(createTaskGroup(namePrefix), runnables);
+    }
+    
+    /**
+     * Execute parallel tasks which spend most of their time waiting (e.g. on each other through a pipe)
+     * <p>Same as {@link #execute(String, Runnable...)} but uses the coordination pool.</p>
+     * 
+     * @param namePrefix name of the task group to use
+     * @param runnables a variable number of runnables to be executed in parallel
+     * @throws IllegalArgumentException if one of the arguments is malformed
+     * @throws IllegalStateException if one of the runnables failed
+     */
+    public static void executeCoordination(final String namePrefix, final Runnable... runnables) {
+	if (runnables.length == 0) throw new IllegalArgumentException("Need at least one runnable");
+	if (namePrefix == null) throw new IllegalArgumentException("namePrefix cannot be null.");
+	execute(createCoordinationTaskGroup(namePrefix), runnables);
+    }
+    
+    private static void execute(final TaskGroup taskGroup, final Runnable... runnables) {
+	assert taskGroup != null && runnables.length > 0;
+	final CompletionService<Boolean> ecs = new ExecutorCompletionService<>(taskGroup);
 
-	final int numThreads = runnables.length;	
-	final ExecutorService threadPool = createThreadPool(namePrefix, numThreads).getExecutorService();	
-	final CompletionService<Boolean> ecs = new ExecutorCompletionService<>(threadPool);
-
-	final Collection<Future<?>> futures = new ArrayList<>(numThreads);
+	final Collection<Future<?>> futures = new ArrayList<>(runnables.length);
 	try {
-	    for (final Runnable currentRunnable : runnables) futures.add(ecs.submit(currentRunnable, Boolean.TRUE));	
-	    threadPool.shutdown();
-	    for (int i = 0; i < futures.size(); i++) {
-		try {
-		    // dont care about the output; will be Boolean.TRUE for successful completion;
-		    // but do care about the exceptions it might throw
-		    ecs.take().get();
-		} catch (InterruptedException | ExecutionException e) {
-		    logger.log(Level.SEVERE, "Encountered problems during parallel execution", e);			
-		}
-	    }
+	    // the caller does not run any of the runnables itself; otherwise a failing sibling could not interrupt its wait
+	    for (final Runnable currentRunnable : runnables) futures.add(ecs.submit(currentRunnable, Boolean.TRUE));
+	    taskGroup.shutdown();
+	    awaitAll(ecs, futures);
 	}
 	finally {
-	    for (final Future<?> currentFuture : futures) currentFuture.cancel(true);
+	    cancelAll(futures);
 	}
     }
 
-    /**    
-     * @param threadPool
-     * @param runnables
+    /**
+     * Execute parallel tasks on a dedicated thread pool
+     * <p>The first failing task cancels all of its siblings; its exception is then rethrown.</p>
+     * 
+     * @param threadPool pool to run the tasks on; will not be shut down
+     * @param runnables a variable number of runnables to be executed in parallel
+     * @throws IllegalArgumentException if one of the arguments is malformed
+     * @throws IllegalStateException if one of the runnables failed
      */
     public static void execute(final ThreadPool threadPool, final Runnable... runnables) {
 	if (runnables.length == 0) throw new IllegalArgumentException("Need at least one runnable");
@@ -92,21 +249,82 @@ public final class ParallelExecutor {
 	try {
 	    for (final Runnable currentRunnable : runnables) futures.add(ecs.submit(currentRunnable, Boolean.TRUE));
 	    // no shutdown here since we are reusing the threadPool
-	    for (int i = 0; i < futures.size(); i++) {
-		try {
-		    // dont care about the output; will be Boolean.TRUE for successful completion;
-		    // but do care about the exceptions it might throw
-		    ecs.take().get();
-		} catch (InterruptedException | ExecutionException e) {
-		    logger.log(Level.SEVERE, "Encountered problems during parallel execution", e);
-		}
-	    }
+	    awaitAll(ecs, futures);
 	}
 	finally {
-	    for (final Future<?> currentFuture : futures) currentFuture.cancel(true);
+	    cancelAll(futures);
 	}
-    }  
+    }
+    
+    /**
+     * Abort the calling task if it has been cancelled; to be called regularly within long-running loops
+     * 
+     * @throws CancellationException if the calling thread has been interrupted
+     */
+    public static void checkCancellation() {
+	if (Thread.currentThread().isInterrupted()) throw new CancellationException("Task has been cancelled.");
+    }
+    
+    /**
+     * Wait for all submitted tasks; the first failure promptly cancels all remaining tasks
+     * 
+     * @param ecs completion service the tasks were submitted to
+     * @param futures all submitted tasks
+     * @throws IllegalStateException if any task failed
+     * @throws CancellationException if the calling thread has been interrupted while waiting
+     */
+    private static void awaitAll(final CompletionService<Boolean> ecs, final Collection<Future<?>> futures) {
+	Throwable failure = null;
+	for (int i = 0; i < futures.size(); i++) {
+	    try {
+		// dont care about the output; will be Boolean.TRUE for successful completion;
+		// but do care about the exceptions it might throw
+		ecs.take().get();
+	    } catch (ExecutionException e) {
+		if (failure == null) {
+		    logger.log(Level.SEVERE, "Encountered problems during parallel execution", e.getCause());
+		    failure = e.getCause();
+		    cancelAll(futures);
+		}
+	    } catch (CancellationException e) {
+		// the consequence of an earlier failure
+	    } catch (InterruptedException e) {
+		cancelAll(futures);
+		Thread.currentThread().interrupt();
+		throw new CancellationException("Interrupted while waiting for parallel execution to finish.");
+	    }
+	}
+	if (failure != null) throw new IllegalStateException("Parallel execution failed.", failure);
+    }
+    
+    private static void cancelAll(final Collection<Future<?>> futures) {
+	for (final Future<?> currentFuture : futures) currentFuture.cancel(true);
+    }
 
+    /**
+     * Create a new task group on the shared pool
+     * 
+     * @param name name of the group; used to name the executing threads
+     * @return newly created task group; never {@code null}
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public static TaskGroup createTaskGroup(final String name) {
+	if (name == null) throw new IllegalArgumentException("name cannot be null.");
+	return new TaskGroup(name, SharedPoolHolder.POOL);
+    }
+    
+    /**
+     * Create a new task group for blocking coordination work; CPU-bound work should use {@link #createTaskGroup(String)} instead
+     * 
+     * @param name name of the group; used to name the executing threads
+     * @return newly created task group; never {@code null}
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public static TaskGroup createCoordinationTaskGroup(final String name) {
+	if (name == null) throw new IllegalArgumentException("name cannot be null.");
+	return new TaskGroup(name, CoordinationPoolHolder.POOL);
+    }
+    
     /**
      * Create a new fixed thread pool
      * 
@@ -120,6 +338,54 @@ public final class ParallelExecutor {
 	return new ThreadPool(Executors.newFixedThreadPool(numThreads, createThreadFactory(namePrefix)));
     }      
 
+    /**
+     * Create a new fixed thread pool with a bounded queue of pending tasks
+     * <p>If the queue is full, the submitting thread runs the task itself; i.e. producers are throttled to the speed of the pool.
+     * The threads are daemons; callers which need the results have to shut the pool down and await its termination.</p>
+     * 
+     * @param namePrefix name prefix to use for the new thread pool
+     * @param numThreads number of threads to create
+     * @param queueCapacity maximum number of tasks which may wait for execution
+     * @return newly created thread pool; never {@code null}
+     * @throws IllegalArgumentException if the name is {@code null} or one of the numbers is not positive
+     */
+    public static ThreadPool createBoundedThreadPool(final String namePrefix, final int numThreads, final int queueCapacity) {
+	if (namePrefix == null) throw new IllegalArgumentException("namePrefix cannot be null.");
+	if (numThreads < 1 || queueCapacity < 1) throw new IllegalArgumentException("numThreads and queueCapacity must be positive.");
+	final ThreadFactory threadFactory = createThreadFactory(namePrefix);
+	return new ThreadPool(new ThreadPoolExecutor(numThreads, numThreads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(queueCapacity), new ThreadFactory() {
+	    @Override
+	    public Thread newThread(final Runnable runnable) {
+		final Thread thread = threadFactory.newThread(runnable);
+		thread.setDaemon(true); // must not keep the JVM alive if the owner fails before shutting the pool down
+		return thread;
+	    }
+	}, new ThreadPoolExecutor.CallerRunsPolicy()));
+    }
+
+    /**
+     * @return a pool which uses virtual threads if available and enabled; a cached pool of daemon platform threads otherwise
+     */
+    private static ExecutorService createCoordinationPool() {
+	if (USE_VIRTUAL_THREADS) {
+	    try {
+		// only available from Java 21 onwards; hence looked up reflectively
+		return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+	    } catch (ReflectiveOperationException e) {
+		logger.log(Level.FINE, "Virtual threads are not supported by this runtime. Falling back to platform threads.", e);
+	    }
+	}
+	final ThreadFactory threadFactory = createThreadFactory("Coordination");
+	return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new ThreadFactory() {
+	    @Override
+	    public Thread newThread(final Runnable runnable) {
+		final Thread thread = threadFactory.newThread(runnable);
+		thread.setDaemon(true); // idle coordination threads must not keep the JVM alive
+		return thread;
+	    }
+	});
+    }
+    
     private static ThreadFactory createThreadFactory(final String namePrefix) {
 	assert namePrefix != null;
 	final AtomicLong count = new AtomicLong(0);		
@@ -3,6 +3,9 @@ package helper;
 import static helper.Constants.MSWord.DELIMITER_LISTLEVEL;
 import static helper.Constants.Traceability.*;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -293,6 +296,45 @@ public final class TraceabilityManagerHumanReadable {
 	return this.linkedRequirement;
     }
     
+    /**
+     * Write the traceTag into a checkpoint; the linked requirement is not written
+     * 
+     * @param output where to write
+     * @throws IOException if the underlying stream cannot be written
+     * @see #readFrom(DataInput, RequirementWParent)
+     */
+    public void writeTo(final DataOutput output) throws IOException {
+	if (output == null) throw new IllegalArgumentException("output cannot be null.");
+	output.writeInt(this.traceTag.size());
+	for (final TraceTagItem item : this.traceTag) {
+	    CheckpointHelper.writeEnum(output, item.tagType);
+	    CheckpointHelper.writeString(output, item.text);
+	}
+    }
+    
+    /**
+     * Restore a manager from a checkpoint
+     * 
+     * @param input where to read from
+     * @param linkedRequirement the requirement the restored manager shall be linked to; may be {@code null}
+     * @return the restored manager; never {@code null}
+     * @throws IOException if the underlying stream cannot be read or is malformed
+     * @see #writeTo(DataOutput)
+     */
+    public static TraceabilityManagerHumanReadable readFrom(final DataInput input, final RequirementWParent linkedRequirement) throws IOException {
+	if (input == null) throw new IllegalArgumentException("input cannot be null.");
+	final TraceabilityManagerHumanReadable output = new TraceabilityManagerHumanReadable();
+	final int numberOfItems = input.readInt();
+	for (int i = 0; i < numberOfItems; i++) {
+	    final TagType tagType = CheckpointHelper.readEnum(input, TagType.values());
+	    final String text = CheckpointHelper.readString(input);
+	    if (tagType == null || text == null) throw new IOException("Malformed traceTag in checkpoint.");
+	    output.traceTag.add(new TraceTagItem(tagType, text));
+	}
+	output.linkedRequirement = linkedRequirement;
+	return output;
+    }
+    
     /**
      * Add a list to the current traceTag
      * 
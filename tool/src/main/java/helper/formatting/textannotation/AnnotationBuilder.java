@@ -1,5 +1,7 @@
 package helper.formatting.textannotation;
 
+import helper.XmlStringWriter;
+
 /**
  * Create annotations for all sorts of use-cases
  * 
@@ -20,7 +22,7 @@ public enum AnnotationBuilder {
      */
     LEGALOBLIGATION {		
 	@Override
-	public Annotator getAnnotator() {
+	protected Annotator createAnnotator(final String name) {
 	    return new AnnotatorBGColor("Legal Obligation", "#D3D3D3", true);
 	}
     },
@@ -30,7 +32,7 @@ public enum AnnotationBuilder {
      */
     LEGALOBLIGATION_UNKNOWN {	
 	@Override
-	public Annotator getAnnotator() {
+	protected Annotator createAnnotator(final String name) {
 	    return new AnnotatorBGColor("Legal Obligation Unknown", "#D3D3D3", false);
 	}
     },
@@ -40,7 +42,7 @@ public enum AnnotationBuilder {
      */
     SENTENCE_ROOT_VERB {
 	@Override
-	public Annotator getAnnotator() {
+	protected Annotator createAnnotator(final String name) {
 	    return new AnnotatorUnderline("Predicate", "black");
 	}
     },
@@ -50,7 +52,7 @@ public enum AnnotationBuilder {
      */
     SENTENCE_ROOT_ADJECTIVE {
 	@Override
-	public Annotator getAnnotator() {
+	protected Annotator createAnnotator(final String name) {
 	    return new AnnotatorUnderline("Predicate", "#C0C0C0");
 	}
     },
@@ -60,7 +62,7 @@ public enum AnnotationBuilder {
      */
     HEADPHRASE {
 	@Override
-	public Annotator getAnnotator() {
+	protected Annotator createAnnotator(final String name) {
 	    return new AnnotatorBGColor("Headphrase", "#FFE4B5", false);
 	}
     },
@@ -95,14 +97,8 @@ public enum AnnotationBuilder {
      */
     ENTITY {
 	@Override
-	public AnnotationBuilder setName(final String name) {
-	    this.name = name;
-	    return this;
-	}
-	
-	@Override
-	public Annotator getAnnotator() {
-	    return new AnnotatorMonospace(this.name);
+	protected Annotator createAnnotator(final String name) {
+	    return new AnnotatorMonospace(name);
 	}
     },
     
@@ -121,14 +117,8 @@ public enum AnnotationBuilder {
      */
     NO_IMPORTANCE {
 	@Override
-	public AnnotationBuilder setName(final String name) {
-	    this.name = name;
-	    return this;
-	}
-	
-	@Override
-	public Annotator getAnnotator() {
-	    return new AnnotatorFGColor(this.name, "#C0C0C0");
+	protected Annotator createAnnotator(final String name) {
+	    return new AnnotatorFGColor(name, "#C0C0C0");
 	}
     },
     
@@ -156,7 +146,7 @@ public enum AnnotationBuilder {
      */
     DEFINITION_EXPLANATION("Explanation", "#008000");
     
-    protected String name;
+    private final String name;
     private final String color;
     
     private AnnotationBuilder(final String name, final String color) {
@@ -171,19 +161,72 @@ public enum AnnotationBuilder {
     }
     
     /**
-     * Set the (visible/css)-name of this annotation; only has an effect for certain annotations
+     * Annotator which remembers how it has been created; this allows to persist annotations (see {@link #getOriginOf(Annotator)})
+     */
+    private final static class BuiltAnnotator implements Annotator {
+	private final AnnotationBuilder origin;
+	private final String name;
+	private final Annotator delegate;
+
+	BuiltAnnotator(final AnnotationBuilder origin, final String name, final Annotator delegate) {
+	    assert origin != null && delegate != null;
+	    this.origin = origin;
+	    this.name = name;
+	    this.delegate = delegate;
+	}
+
+	@Override
+	public void writeStart(final XmlStringWriter xmlwriter) {
+	    this.delegate.writeStart(xmlwriter);
+	}
+
+	@Override
+	public void writeEnd(final XmlStringWriter xmlwriter) {
+	    this.delegate.writeEnd(xmlwriter);
+	}
+    }
+    
+    /**
+     * Get an annotator with a given (visible/css)-name; the name only has an effect for certain annotations ({@link #ENTITY}, {@link #NO_IMPORTANCE})
+     * <p>the name is intentionally not stored in this enum value since that would be global state shared by all documents of this JVM</p>
      * 
-     * @param name name to set, may be {@code null}
-     * @return a reference to this object
+     * @param name name to use, may be {@code null}
+     * @return get the actual annotator which is associated with this enum value; never {@code null}
      */
-    public AnnotationBuilder setName(final String name) {
-	return this; 
+    public final Annotator getAnnotator(final String name) {
+	return new BuiltAnnotator(this, name, createAnnotator(name));
     }
     
     /**
      * @return get the actual annotator which is associated with this enum value; never {@code null}
      */
-    public Annotator getAnnotator() {
+    public final Annotator getAnnotator() {
+	return getAnnotator(null);
+    }
+    
+    /**
+     * @param annotator an annotator obtained from {@link #getAnnotator(String)}
+     * @return the enum value which created the given annotator or {@code null} if it has not been created by this class
+     */
+    public static AnnotationBuilder getOriginOf(final Annotator annotator) {
+	return annotator instanceof BuiltAnnotator ? ((BuiltAnnotator) annotator).origin : null;
+    }
+    
+    /**
+     * @param annotator an annotator obtained from {@link #getAnnotator(String)}
+     * @return the name which has been used to create the given annotator; may be {@code null}
+     */
+    public static String getNameOf(final Annotator annotator) {
+	return annotator instanceof BuiltAnnotator ? ((BuiltAnnotator) annotator).name : null;
+    }
+    
+    /**
+     * Create the actual annotator; overridden by enum values which do not use the default annotator
+     * 
+     * @param name name to use, may be {@code null}
+     * @return a new annotator; never {@code null}
+     */
+    protected Annotator createAnnotator(final String name) {
 	return new AnnotatorWType(this.name, this.color);
     }
 }
@@ -1,8 +1,11 @@
 package helper.nlp;
 
 import helper.ConsoleOutputFilter;
+import helper.ParallelExecutor;
 
 import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Regularly write status output about the ongoing NLP operations to Standard Error
@@ -10,18 +13,21 @@ import java.util.Queue;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class NLPStatusWriter {
-    final Thread writerThread;       
+    final Future<?> writer;       
     
     private final class Writer implements Runnable {
 	private final Queue<?> queue;
+	private final ConsoleOutputFilter consoleFilter;
 	
-	public Writer(final Queue<?> queue) {
-	    assert queue != null;	   
+	public Writer(final Queue<?> queue, final ConsoleOutputFilter consoleFilter) {
+	    assert queue != null && consoleFilter != null;	   
 	    this.queue = queue;
+	    this.consoleFilter = consoleFilter;
 	}
 
 	@Override
 	public void run() {	    
+	    this.consoleFilter.addCurrentThread();
 	    System.err.println("NLP is active. Processing may take a while...");
 	    
 	    while(!(Thread.currentThread().isInterrupted())) {		
@@ -45,18 +51,16 @@ class NLPStatusWriter {
      */
     public NLPStatusWriter(final Queue<?> queue, final ConsoleOutputFilter consoleFilter) {
 	assert queue != null && consoleFilter != null;
-	this.writerThread = new Thread(new Writer(queue));
-	this.writerThread.setName("NLPStatusWriter");
-	this.writerThread.setPriority(Thread.MIN_PRIORITY);
-	this.writerThread.setDaemon(true); // not really necessary; but show off how little we care about you	
-	consoleFilter.addThread(this.writerThread.getId());
-	this.writerThread.start();
+	// this mostly sleeps; hence it does not deserve a thread of its own
+	final ExecutorService coordinationGroup = ParallelExecutor.createCoordinationTaskGroup("NLPStatusWriter");
+	this.writer = coordinationGroup.submit(new Writer(queue, consoleFilter));
+	coordinationGroup.shutdown();
     }
     
     /**
      * Stop output of status information
      */
     void shutdown() {
-	this.writerThread.interrupt();
+	this.writer.cancel(true);
     }    
 }
@@ -8,6 +8,13 @@ class NLPWorkerThread implements Runnable {
     private final static String PARSER_MODEL = "edu/stanford/nlp/models/lexparser/englishPCFG.ser.gz";
     private final Queue<NLPJob> tasks;
 
+    /**
+     * Lazily loaded parser model; shared by all workers of all documents processed in this JVM
+     */
+    private static final class ParserHolder {
+	static final LexicalizedParser PARSER = LexicalizedParser.loadModel(PARSER_MODEL);
+    }
+
     public NLPWorkerThread(final Queue<NLPJob> tasks) {
 	assert tasks != null;	
 	this.tasks = tasks;
@@ -15,8 +22,8 @@ class NLPWorkerThread implements Runnable {
 
     @Override
     public void run() {
-	// Step 1: load our parser (warmup)
-	final LexicalizedParser lexicalizedParser = LexicalizedParser.loadModel(PARSER_MODEL);
+	// Step 1: obtain our parser (warmup); only the very first worker actually loads the model
+	final LexicalizedParser lexicalizedParser = ParserHolder.PARSER;
 	
 	// Step 2: work loop (process actual NLP tasks)
 	while(!(Thread.currentThread().isInterrupted())) {
@@ -24,7 +31,8 @@ class NLPWorkerThread implements Runnable {
 	    do {
 		// this is a busy wait; but it should only be iterated n>1-times in the very beginning (i.e. while the producer is still active)
 		task = this.tasks.poll();
-	    } while (task == null);
+	    } while (task == null && !Thread.currentThread().isInterrupted());
+	    if (task == null) break; // cancelled
 
 	    if (!task.process(lexicalizedParser)) {
 		this.tasks.add(task); // put back the pill
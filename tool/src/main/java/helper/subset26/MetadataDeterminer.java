@@ -10,6 +10,7 @@ import java.util.regex.Pattern;
 import helper.RegexHelper;
 import helper.annotations.DomainSpecific;
 import helper.formatting.textannotation.AnnotationBuilder;
+import helper.formatting.textannotation.Annotator;
 import helper.poi.PoiHelpers;
 import helper.subset26.LegalObligationDeterminer.StopwordTuple;
 
@@ -36,18 +37,29 @@ public class MetadataDeterminer {
 	final Pattern stopwordPattern;
 	final Pattern stopwordExceptionPattern;
 	final AnnotationBuilder annotationBuilder;
+	final String annotationName;
 	
-	PatternToAnnotator(final Pattern pattern, final Pattern exceptionPattern, final AnnotationBuilder annotationBuilder) {
+	PatternToAnnotator(final Pattern pattern, final Pattern exceptionPattern, final AnnotationBuilder annotationBuilder, final String annotationName) {
 	    assert pattern != null && exceptionPattern != null && annotationBuilder != null;
 	    this.stopwordPattern = pattern;
 	    this.stopwordExceptionPattern = exceptionPattern;
 	    this.annotationBuilder = annotationBuilder;
+	    this.annotationName = annotationName;
 	}
 	
-	PatternToAnnotator(final Pattern pattern, final AnnotationBuilder annotationBuilder) {
+	PatternToAnnotator(final Pattern pattern, final AnnotationBuilder annotationBuilder, final String annotationName) {
 	    this.stopwordPattern = pattern;
 	    this.stopwordExceptionPattern = null;
 	    this.annotationBuilder = annotationBuilder;
+	    this.annotationName = annotationName;
+	}
+	
+	PatternToAnnotator(final Pattern pattern, final AnnotationBuilder annotationBuilder) {
+	    this(pattern, annotationBuilder, null);
+	}
+	
+	Annotator getAnnotator() {
+	    return this.annotationName != null ? this.annotationBuilder.getAnnotator(this.annotationName) : this.annotationBuilder.getAnnotator();
 	}
     }
     
@@ -90,19 +102,19 @@ public class MetadataDeterminer {
 	{	    
 	    final Pattern entityPattern = Pattern.compile(RegexHelper.getLeadingPhraseBoundaryRegex("\\/") + "((?:[“”\"][^“”\"]+[“”\"]|[A-Z](?:\\w-?)*[A-Z](?:s|\\(s\\))?|(?:[A-Za-z]+_)+[A-Za-z]+))" + RegexHelper.getTrailingPhraseBoundaryRegex("\\/"));
 	    final Pattern entityExceptionPattern = RegexHelper.createWordPattern(new String[]{"OR", "AND", "SRS", "MIN", "MAX", "BEGIN", "END"});
-	    PA_ENTITY = new PatternToAnnotator(entityPattern, entityExceptionPattern, AnnotationBuilder.ENTITY.setName("Named Entity"));
+	    PA_ENTITY = new PatternToAnnotator(entityPattern, entityExceptionPattern, AnnotationBuilder.ENTITY, "Named Entity");
 	    
 	    // Note: java does not support recursive patterns. Hence, this is limited to one nesting level of braces (second non-matching group from the left)
 	    final Pattern embracedPattern = Pattern.compile(RegexHelper.getLeadingPhraseBoundaryRegex() + "(\\((?>(?: [a-z]\\)|[^()])|(?:\\((?>(?: [a-z]\\)|[^()]))*\\)))*\\))" + RegexHelper.getTrailingPhraseBoundaryRegex());
-	    PA_EMBRACED = new PatternToAnnotator(embracedPattern, AnnotationBuilder.NO_IMPORTANCE.setName("Embraced"));
+	    PA_EMBRACED = new PatternToAnnotator(embracedPattern, AnnotationBuilder.NO_IMPORTANCE, "Embraced");
 	}	
 	{
 	    final String optionalNumberPrepender = "^(?:(?:\\{[0-9]+\\}|\\[[0-9]+\\])\\s?)?"; // matches [1] or {13}, but not {60]	    	   
-	    PA_NOTE = new PatternToAnnotator(Pattern.compile(optionalNumberPrepender + "(Note(?:\\s(?:[0-9]+|regarding [a-zA-Z0-9]+\\)?))?:).*"), AnnotationBuilder.NO_IMPORTANCE.setName("NoteIdentifier"));	    	    
-	    PA_EXAMPLE = new PatternToAnnotator(Pattern.compile(optionalNumberPrepender + "(Example\\s?[0-9]*:).*"), AnnotationBuilder.NO_IMPORTANCE.setName("ExampleIdentifier"));
-	    PA_DELETED = new PatternToAnnotator(Pattern.compile("^((?:(?:(?:Figure|Table).*:\\s*)?(?:Deleted|Intentionally (?:deleted|moved))|Void)\\s?\\.?)$"), AnnotationBuilder.NO_IMPORTANCE.setName("DeletedIdentifier"));
-	    PA_JUSTIFICATION = new PatternToAnnotator(Pattern.compile(optionalNumberPrepender + "(Justification(?: for [a-zA-Z0-9]\\)?)?\\s?:).*"), AnnotationBuilder.NO_IMPORTANCE.setName("JustificationIdentifier"));
-	    PA_EXCEPTION = new PatternToAnnotator(Pattern.compile(optionalNumberPrepender + "((?:Exception(?: (?:to|for) .*)?|Regarding .*):).*"), AnnotationBuilder.NO_IMPORTANCE.setName("ExceptionIdentifier"));	    
+	    PA_NOTE = new PatternToAnnotator(Pattern.compile(optionalNumberPrepender + "(Note(?:\\s(?:[0-9]+|regarding [a-zA-Z0-9]+\\)?))?:).*"), AnnotationBuilder.NO_IMPORTANCE, "NoteIdentifier");	    	    
+	    PA_EXAMPLE = new PatternToAnnotator(Pattern.compile(optionalNumberPrepender + "(Example\\s?[0-9]*:).*"), AnnotationBuilder.NO_IMPORTANCE, "ExampleIdentifier");
+	    PA_DELETED = new PatternToAnnotator(Pattern.compile("^((?:(?:(?:Figure|Table).*:\\s*)?(?:Deleted|Intentionally (?:deleted|moved))|Void)\\s?\\.?)$"), AnnotationBuilder.NO_IMPORTANCE, "DeletedIdentifier");
+	    PA_JUSTIFICATION = new PatternToAnnotator(Pattern.compile(optionalNumberPrepender + "(Justification(?: for [a-zA-Z0-9]\\)?)?\\s?:).*"), AnnotationBuilder.NO_IMPORTANCE, "JustificationIdentifier");
+	    PA_EXCEPTION = new PatternToAnnotator(Pattern.compile(optionalNumberPrepender + "((?:Exception(?: (?:to|for) .*)?|Regarding .*):).*"), AnnotationBuilder.NO_IMPORTANCE, "ExceptionIdentifier");	    
 	}
     }      
 
@@ -172,23 +184,23 @@ public class MetadataDeterminer {
 	ifCases:
 	    if ((matcher = PA_NOTE.stopwordPattern.matcher(rawTextualContent)) != null && matcher.matches()) {
 		output = Kind.NOTE;
-		textAnnotator.addAnnotation(matcher.start(1), matcher.end(1), PA_NOTE.annotationBuilder.getAnnotator());
+		textAnnotator.addAnnotation(matcher.start(1), matcher.end(1), PA_NOTE.getAnnotator());
 	    }
 	    else if ((matcher = PA_EXAMPLE.stopwordPattern.matcher(rawTextualContent)) != null && matcher.matches()) {
 		output = Kind.EXAMPLE;
-		textAnnotator.addAnnotation(matcher.start(1), matcher.end(1), PA_EXAMPLE.annotationBuilder.getAnnotator());
+		textAnnotator.addAnnotation(matcher.start(1), matcher.end(1), PA_EXAMPLE.getAnnotator());
 	    }
 	    else if ((matcher = PA_DELETED.stopwordPattern.matcher(rawTextualContent)) != null && matcher.matches()) {
 		output = Kind.PLACEHOLDER;
-		textAnnotator.addAnnotation(matcher.start(1), matcher.end(1), PA_DELETED.annotationBuilder.getAnnotator());
+		textAnnotator.addAnnotation(matcher.start(1), matcher.end(1), PA_DELETED.getAnnotator());
 	    }
 	    else if ((matcher = PA_JUSTIFICATION.stopwordPattern.matcher(rawTextualContent)) != null && matcher.matches()) {
 		output = Kind.JUSTIFICATION;
-		textAnnotator.addAnnotation(matcher.start(1), matcher.end(1), PA_JUSTIFICATION.annotationBuilder.getAnnotator());
+		textAnnotator.addAnnotation(matcher.start(1), matcher.end(1), PA_JUSTIFICATION.getAnnotator());
 	    }
 	    else if ((matcher = PA_EXCEPTION.stopwordPattern.matcher(rawTextualContent)) != null && matcher.matches()) {
 		output = Kind.ORDINARY;
-		textAnnotator.addAnnotation(matcher.start(1), matcher.end(1), PA_EXCEPTION.annotationBuilder.getAnnotator());
+		textAnnotator.addAnnotation(matcher.start(1), matcher.end(1), PA_EXCEPTION.getAnnotator());
 	    }	
 	    else if (isDefinition(rawTextualContent)) {
 		output = Kind.DEFINITION;
@@ -304,7 +316,7 @@ public class MetadataDeterminer {
 		final Matcher stopwordExceptionMatcher = patternAnnotator.stopwordExceptionPattern.matcher(stopwordMatcher.group(1));
 		if (stopwordExceptionMatcher.matches()) continue; // proceed with the next word in the inputString
 	    }
-	    outputAnnotator.addAnnotation(stopwordMatcher.start(1), stopwordMatcher.end(1), patternAnnotator.annotationBuilder.getAnnotator());
+	    outputAnnotator.addAnnotation(stopwordMatcher.start(1), stopwordMatcher.end(1), patternAnnotator.getAnnotator());
 	}
     }
 
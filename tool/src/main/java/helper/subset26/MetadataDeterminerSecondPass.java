@@ -37,15 +37,14 @@ public final class MetadataDeterminerSecondPass {
      * 
      * @param requirement requirement to process
      * @param nlpManager handle to NLP parsers or {@code null} if no NLP shall be applied
-     * @throws IllegalArgumentException if the given argument is {@code null} 
+     * @throws IllegalArgumentException if the given requirement is {@code null} 
      */
     @DomainSpecific
     public static void processRequirement(final RequirementWParent requirement, final NLPManager nlpManager) {
 	if (requirement == null) throw new IllegalArgumentException("requirement cannot be null.");
-	if (nlpManager == null) throw new IllegalArgumentException("nlpManager cannot be null");
 	final MetadataReqif metadata = requirement.getMetadata();
 
-	doNLP(requirement, nlpManager);	
+	if (nlpManager != null) doNLP(requirement, nlpManager);	
 
 	// reevaluate the switch below as long as the kind keeps changing	
 	Kind oldKind = metadata.getKind();
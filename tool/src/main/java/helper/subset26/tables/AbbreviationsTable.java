@@ -7,11 +7,18 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class AbbreviationsTable extends GenericTable {
+    private final static int EXPECTED_ROWS = 1;
+    private final static MatchingData CONTENTS = MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFTORJUSTIFY, "[A-Z]+\\s?=\\s?.+");
 
     @Override
     public String getName() {
 	return "AbbreviationsTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, EXPECTED_ROWS, UNCONSTRAINED, false) && signatureCellMatches(signature, 0, 0, CONTENTS);
+    }
     
     @Override
     @DomainSpecific
@@ -22,12 +29,11 @@ class AbbreviationsTable extends GenericTable {
 	// Row 0: | TEXT = TEXT | TEXT = TEXT | TEXT = TEXT | TEXT = TEXT | (may be more or less than four columns)
 	//        ---------------------------------------------------------	
 
-	this.rows.setExpected(1);
+	this.rows.setExpected(EXPECTED_ROWS);
 
-	final String regexContents = "[A-Z]+\\s?=\\s?.+";
 	final String regexAbbreviation = "^([A-Z]+)\\s?=";
 	for (int cn = 0; cn < this.columns.getActual(); cn++) {
-	    addData(0, cn, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFTORJUSTIFY, regexContents));
+	    addData(0, cn, CONTENTS);
 	    addData(0, cn, TracingData.newTracingDataColumnIdFromColumn(regexAbbreviation));
 	}
     }
@@ -6,12 +6,20 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class AcknowledgementTable extends GenericTable {
-    
+    private final static int EXPECTED_ROWS = 7;
+    private final static int EXPECTED_COLUMNS = 7;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Acknowledgement when entering");
+
     @Override
     public String getName() {
 	return "AcknowledgementTable";
     }
 
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, EXPECTED_ROWS, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 2, HEADER);
+    }
+
     @Override
     @DomainSpecific
     protected void setTableData() {
@@ -25,9 +33,9 @@ class AcknowledgementTable extends GenericTable {
 	// Row 2: | Coming from... |   L 0  | YES / NO
 	//        --------------------------------------------------------------
 	
-	this.columns.setExpected(7);
-	this.rows.setExpected(7);
-	addData(0, 2, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Acknowledgement when entering"));
+	this.columns.setExpected(EXPECTED_COLUMNS);
+	this.rows.setExpected(EXPECTED_ROWS);
+	addData(0, 2, HEADER);
 	addData(2, 0, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Coming from.*"));
 	addData(1, 2, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "L 0"));
 	addData(1, 3, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "L 1"));
@@ -7,12 +7,19 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class ConditionTable extends GenericTable {
-    
+    private final static int EXPECTED_COLUMNS = 2;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "Condition Id");
+
     @Override
     public String getName() {
 	return "ConditionTable";
     }
 
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
+
     @Override
     @DomainSpecific
     protected void setTableData() {		
@@ -25,9 +32,9 @@ class ConditionTable extends GenericTable {
 	//        --------------------------------------------------
 	// Row n: |      [n]     | (some other text)               |
 	//        --------------------------------------------------
-	this.columns.setExpected(2);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "Condition Id"));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "Content of the conditions"));
 
 	// matches stuff like "[17]"
@@ -7,12 +7,19 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class ConditionTableWArrows extends GenericTable {
-    
+    private final static int EXPECTED_COLUMNS = 5;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFT, "Condition id");
+
     @Override
     public String getName() {
 	return "ConditionTable";
     }
 
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
+
     @Override
     @DomainSpecific
     protected void setTableData() {
@@ -26,9 +33,9 @@ class ConditionTableWArrows extends GenericTable {
 	// Row n: |      [n]     | (some other text)     |     |     |     |
 	//        ----------------------------------------------------------
 	// Note: there may be arrows in columns CSM, TSM and RSM
-	this.columns.setExpected(5);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFT, "Condition id"));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFT, "Transition condition"));
 	addData(0, 2, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "CSM"));
 	addData(0, 3, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "TSM"));
@@ -10,11 +10,18 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class DataListTable extends GenericTable {
-    
+    private final static int EXPECTED_COLUMNS = 3;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "^.*Data$");
+
     @Override
     public String getName() {
 	return "DataListTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
     
     @Override
     @DomainSpecific
@@ -27,9 +34,9 @@ class DataListTable extends GenericTable {
 	// Row 1: | TEXT *trace*  | TEXT *trace*    | NO_SPACES *trace*       |
 	// *Row 1 is repeated until the end*		
 
-	this.columns.setExpected(3);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "^.*Data$"));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "^.*Value$"));
 	addData(0, 2, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "^.*Name.*$"));
 
@@ -6,11 +6,18 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
  */
 class FieldListTable extends GenericTable {
+    private final static int EXPECTED_COLUMNS = 3;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Field\\sNo.");
 
     @Override
     public String getName() {
 	return "FieldListTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
     
     @Override
     @DomainSpecific
@@ -21,9 +28,9 @@ class FieldListTable extends GenericTable {
 	// Row 0: | Field No.          | VARIABLE       | Remarks              |
 	// Row 1: | NUMBER             | TEXT           |                      |
 	// *Row 1 is repeated until the end*
-	this.columns.setExpected(3);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 	
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Field\\sNo."));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "(VARIABLE|VARIABLE/\\s?PACKET)"));
 	addData(0, 2, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFTORJUSTIFY, "Remarks"));
 	// we have numbering inside a cell - the cell's text is empty or contains \ldots
@@ -6,12 +6,20 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
  */
 class FieldTable extends GenericTable {
-    
+    private final static int EXPECTED_ROWS = 4;
+    private final static int EXPECTED_COLUMNS = 4;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Name");
+
     @Override
     public String getName() {
 	return "FieldTable";
     }
 
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, EXPECTED_ROWS, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
+
     @Override
     @DomainSpecific
     protected void setTableData() {
@@ -26,10 +34,10 @@ class FieldTable extends GenericTable {
 	// Note:
 	// helper.subset26.tables.FieldTableWSpecialValues is equal to this except that it has more rows
 	// so we set the number of rows explicitly here
-	this.columns.setExpected(4);
-	this.rows.setExpected(4); 
+	this.columns.setExpected(EXPECTED_COLUMNS);
+	this.rows.setExpected(EXPECTED_ROWS); 
 	
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Name"));
+	addData(0, 0, HEADER);
 	addData(1, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Description"));
 	addData(2, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Length of variable"));
 	addData(2, 1, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Minimum Value"));
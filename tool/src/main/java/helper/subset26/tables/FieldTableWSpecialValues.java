@@ -6,11 +6,18 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class FieldTableWSpecialValues extends GenericTable {
-    
+    private final static int EXPECTED_COLUMNS = 4;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.INCONSISTENT, ContentAlignment.LEFTORJUSTIFY, "Name");
+
     @Override
     public String getName() {
 	return "FieldTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
     
     @Override
     @DomainSpecific
@@ -25,9 +32,9 @@ class FieldTableWSpecialValues extends GenericTable {
 	// Row 4: | Special/Reserved V | TEXT           | TEXT                                 |	
 	// *Row 4 is repeated until the end*
 
-	this.columns.setExpected(4);	
+	this.columns.setExpected(EXPECTED_COLUMNS);	
 	
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.INCONSISTENT, ContentAlignment.LEFTORJUSTIFY, "Name"));
+	addData(0, 0, HEADER);
 	addData(1, 0, MatchingData.newMatchingData(ContentFormatting.INCONSISTENT, ContentAlignment.LEFTORJUSTIFY, "Description"));
 	addData(2, 0, MatchingData.newMatchingData(ContentFormatting.INCONSISTENT, ContentAlignment.LEFTORJUSTIFY, "Length of variable"));
 	addData(2, 1, MatchingData.newMatchingData(ContentFormatting.INCONSISTENT, ContentAlignment.LEFTORJUSTIFY, "Minimum Value"));
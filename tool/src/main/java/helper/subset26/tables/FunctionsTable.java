@@ -11,12 +11,20 @@ import helper.word.DataConverter;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
  */
 class FunctionsTable extends GenericTable {
+    private final static int EXPECTED_COLUMNS = 19;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "ONBOARD[- ]FUNCTIONS");
     
     @Override
     public String getName() {
 	return "FunctionsTable";
     }
 
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	// setting up the tracing data walks the entire table; hence rule out foreign tables early
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
+
     @Override
     @DomainSpecific
     protected void setTableData() {	
@@ -28,10 +36,9 @@ class FunctionsTable extends GenericTable {
 	// Row 1: | TEXT?
 	// *Row 1 is repeated until the end.*
 
-	final int expectedColumns = 19;
-	this.columns.setExpected(expectedColumns);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "ONBOARD[- ]FUNCTIONS"));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "RELATED SRS.*"));
 	addData(0, 2, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "NP"));
 	addData(0, 3, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "SB"));
@@ -57,7 +64,7 @@ class FunctionsTable extends GenericTable {
 	// tracing depends on two conditions here; we do this "manually"
 	for (int i = 1; i<this.concreteTable.numRows(); i++) {
 	    final int upperCellBound = this.concreteTable.getRow(i).numCells();
-	    if (upperCellBound != expectedColumns) break; // shortcut; we wont match anyways 
+	    if (upperCellBound != EXPECTED_COLUMNS) break; // shortcut; we wont match anyways 
 	    addData(i, 0, TracingData.newTracingDataFixedColumnId("Function", false));
 	    for (int j = 1; j<upperCellBound; j++) {
 		if (DataConverter.cleanupText(this.concreteTable.getRow(i).getCell(j).text()).matches("\\S.*")) {
@@ -6,11 +6,18 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class GeneralFormatTable extends GenericTable {
+    private final static int EXPECTED_COLUMNS = 4;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "General Format of.*");
 
     @Override
     public String getName() {
 	return "GeneralFormatTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
     
     @Override
     @DomainSpecific
@@ -24,9 +31,9 @@ class GeneralFormatTable extends GenericTable {
 	// Row 2: | NUMBER?   | TEXT     | TEXT           | Remarks            |
 	// *Row 2 is repeated until the end.*
 	
-	this.columns.setExpected(4);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "General Format of.*"));
+	addData(0, 0, HEADER);
 	
 	addData(1, 0, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Field No."));
 	addData(1, 1, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "VARIABLE"));
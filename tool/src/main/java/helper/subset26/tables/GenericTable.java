@@ -1,22 +1,20 @@
 package helper.subset26.tables;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
+import java.util.regex.Pattern;
 import java.util.logging.Logger;
 
-import helper.HashMap2D;
+import helper.Grid2D;
+import helper.ParallelExecutor;
 import helper.RegexHelper;
-import helper.TableHelper;
 import helper.TraceabilityManagerHumanReadable;
 import helper.word.DataConverter;
 
-import org.apache.poi.hwpf.usermodel.Paragraph;
 import org.apache.poi.hwpf.usermodel.Table;
-import org.apache.poi.hwpf.usermodel.TableCell;
-import org.apache.poi.hwpf.usermodel.TableRow;
 
 /**
  * Match known patterns of tables (i.e. abstract descriptions of how they look like) with those found in the subset-026
@@ -30,18 +28,21 @@ abstract class GenericTable {
     protected NumberPair columns = null;
     protected Table concreteTable = null;
     protected boolean forceFailingMatch = false;
+    private TableCellCache cells = null;
     private boolean rectangular = false;
     private final CellData cellData = new CellData();
     private static final Logger logger = Logger.getLogger(GenericTable.class.getName()); // NOPMD - Reference rather than a static field
 
     /**
      * @param concreteTable concrete table to match against
+     * @param signature signature of {@code concreteTable}
      */
-    public final void setContext(final Table concreteTable) {
-	assert concreteTable != null;
-	this.columns = new NumberPair(TableHelper.getMaxColumns(concreteTable));
-	this.rows = new NumberPair(concreteTable.numRows());
+    public final void setContext(final Table concreteTable, final TableSignature signature) {
+	assert concreteTable != null && signature != null;
+	this.columns = new NumberPair(signature.getNumColumns());
+	this.rows = new NumberPair(signature.getNumRows());
 	this.concreteTable = concreteTable;
+	this.cells = signature.getCells();
 	
 	// setup matching data
 	this.setTableData();
@@ -49,6 +50,67 @@ abstract class GenericTable {
 	this.cellData.fillUpUnspecifiedRows();
     }
 
+    /**
+     * Check if the given (concrete) table may possibly match this abstract table; this is a cheap subset of {@link #isTableMatch()} which only relies on the signature
+     * 
+     * @param signature signature of the concrete table which has been passed to {@link #setContext(Table, TableSignature)}
+     * @return {@code false} if {@link #isTableMatch()} would fail for sure; {@code true} otherwise
+     * @throws IllegalStateException If no context has been provided to this matcher
+     */
+    final boolean isCandidate(final TableSignature signature) {
+	assert signature != null;
+	if (!dimensionsMatch()) return false;
+	
+	// the first row, the first column and the main diagonal; see TableSignature
+	for (int cn = 0; cn < signature.getNumColumns(); cn++) {
+	    if (!probeCellMatches(signature, 0, cn)) return false;
+	}
+	for (int rn = 1; rn < signature.getNumRows(); rn++) {
+	    if (!probeCellMatches(signature, rn, 0) || !probeCellMatches(signature, rn, rn)) return false;
+	}
+	return true;
+    }
+    
+    /**
+     * Declare which concrete tables this abstract table may possibly match; this is evaluated <em>before</em> {@link #setContext(Table, TableSignature)}
+     * <p>Implementations should check the dimensions and the header cell which {@link #setTableData()} sets up (see {@link #signatureDimensionsMatch(TableSignature, int, int, boolean)}
+     * and {@link #signatureCellMatches(TableSignature, int, int, MatchingData)}). They must be conservative; i.e. only return {@code false} if {@link #isTableMatch()} would fail for sure.</p>
+     * 
+     * @param signature signature of the concrete table
+     * @return {@code false} if this abstract table cannot match the concrete table; {@code true} otherwise
+     */
+    protected abstract boolean acceptsSignature(final TableSignature signature);
+
+    /**
+     * Check the dimensions of a concrete table in the same way as {@link #dimensionsMatch()} but without a context
+     * 
+     * @param signature signature of the concrete table
+     * @param expectedRows number of rows this abstract table expects or {@link #UNCONSTRAINED}
+     * @param expectedColumns number of columns this abstract table expects or {@link #UNCONSTRAINED}
+     * @param rectangular {@code true} if this abstract table expects as many rows as columns; see {@link #setRectangular(boolean)}
+     * @return {@code false} if the dimensions do not match for sure; {@code true} otherwise
+     */
+    protected static boolean signatureDimensionsMatch(final TableSignature signature, final int expectedRows, final int expectedColumns, final boolean rectangular) {
+	assert signature != null;
+	if (expectedRows != UNCONSTRAINED && signature.getNumRows() != expectedRows) return false;
+	if (expectedColumns != UNCONSTRAINED && signature.getNumColumns() != expectedColumns) return false;
+	return !rectangular || signature.isRectangular();
+    }
+
+    /**
+     * Check a single cell of a concrete table against its matching data but without a context
+     * 
+     * @param signature signature of the concrete table
+     * @param row row number (0-based)
+     * @param column cell number within the row (0-based)
+     * @param matchingData matching data which {@link #setTableData()} adds for this cell
+     * @return {@code false} if the cell does not match for sure; {@code true} otherwise (this includes cells which are not part of the signature)
+     */
+    protected static boolean signatureCellMatches(final TableSignature signature, final int row, final int column, final MatchingData matchingData) {
+	assert signature != null && matchingData != null;
+	return signature.cellMatches(row, column, matchingData);
+    }
+
     /**
      * Check if a given (concrete) table matches the pattern of this abstract table 
      * 
@@ -64,20 +126,15 @@ abstract class GenericTable {
 	boolean output = false;	
 	matchDeterminer: {
 
-	    // Step 1 - check if this match is doomed to fail
-	    if (this.forceFailingMatch) break matchDeterminer;
-	    
-	    // Step 2 - check if dimensions match
-	    if (!this.rows.valuesMatch() || !this.columns.valuesMatch()) break matchDeterminer;
-	    if (this.rectangular && this.rows.getActual() != this.columns.getActual()) break matchDeterminer;	
+	    // Step 1 and 2 - check if this match is doomed to fail or if dimensions do not match
+	    if (!dimensionsMatch()) break matchDeterminer;
 
 	    // Step 3 - check if actual data matches
 	    MatchingData currentMatchingData = null;
-	    for(int rn=0; rn<this.concreteTable.numRows(); rn++) {
-		final TableRow row = this.concreteTable.getRow(rn);
-		for(int cn=0; cn<row.numCells(); cn++) {
-		    final TableCell cell = row.getCell(cn);
-		    if (TableHelper.isMerged(cell)) {
+	    for(int rn=0; rn<this.cells.numRows(); rn++) {
+		ParallelExecutor.checkCancellation(); // some other definition may already have matched
+		for(int cn=0; cn<this.cells.numCells(rn); cn++) {
+		    if (this.cells.isMerged(rn, cn)) {
 			continue; // do not process non-first merged cells as they are empty by definition            	  
 		    }
 
@@ -86,52 +143,7 @@ abstract class GenericTable {
 			continue; // no comparison data available
 		    }
 
-		    if (!DataConverter.cleanupText(cell.text()).matches(currentMatchingData.cellContentRegex)) {
-			// cell contents do not match
-			if (currentMatchingData.conditional) {
-			    continue;
-			}
-			break matchDeterminer;
-		    }
-
-		    // we only take the very first paragraph of a table cell into consideration here
-		    final Paragraph cellParagraph = cell.getParagraph(0);
-
-		    if (currentMatchingData.contentFormatting != ContentFormatting.INCONSISTENT) {
-			if (cellParagraph.getCharacterRun(0).isBold()) {
-			    if (currentMatchingData.contentFormatting != ContentFormatting.BOLD) {
-				break matchDeterminer;
-			    }
-			}
-			else {
-			    if (currentMatchingData.contentFormatting != ContentFormatting.NORMAL) {
-				break matchDeterminer;
-			    }
-			}
-		    }
-
-		    if (currentMatchingData.contentAlignment != ContentAlignment.INCONSISTENT) {
-			switch (cellParagraph.getJustification()) {
-			case 0x00: // left
-			    if (currentMatchingData.contentAlignment != ContentAlignment.LEFT && currentMatchingData.contentAlignment != ContentAlignment.LEFTORJUSTIFY) {
-				break matchDeterminer;
-			    } break;
-			case 0x01: // center
-			    if (currentMatchingData.contentAlignment != ContentAlignment.CENTER) {
-				break matchDeterminer;
-			    } break;
-			case 0x02: // right
-			    if (currentMatchingData.contentAlignment != ContentAlignment.RIGHT) {
-				break matchDeterminer;
-			    } break;
-			case 0x03: case 0x04: case 0x05: // justify
-			    if (currentMatchingData.contentAlignment != ContentAlignment.JUSTIFY && currentMatchingData.contentAlignment != ContentAlignment.LEFTORJUSTIFY) {
-				break matchDeterminer;
-			    } break;
-			default: // something which we do not know how to handle
-			    break matchDeterminer;
-			}		
-		    }
+		    if (!cellMatches(currentMatchingData, this.cells, rn, cn)) break matchDeterminer;
 		}
 	    }
 	    // yepee, we are still alive; i.e. the given table matches with the abstract one
@@ -140,6 +152,39 @@ abstract class GenericTable {
 	return output;
     }
 
+    /**
+     * Check the parts of {@link #isTableMatch()} which do not depend on the contents of individual cells
+     * 
+     * @return {@code true} if the dimensions of the concrete table match this abstract table; {@code false} otherwise
+     * @throws IllegalStateException If no context has been provided to this matcher
+     */
+    final boolean dimensionsMatch() {
+	if (this.concreteTable == null) throw new IllegalStateException("No context has been provided, yet.");
+	if (this.forceFailingMatch) return false;
+	if (!this.rows.valuesMatch() || !this.columns.valuesMatch()) return false;
+	return !this.rectangular || this.rows.getActual() == this.columns.getActual();
+    }
+
+    /**
+     * Check a single (non-merged) cell of a concrete table against its matching data; this is the per-cell part of {@link #isTableMatch()}
+     * 
+     * @param matchingData expected properties of the cell
+     * @param cells cell properties of the concrete table
+     * @param row row number (0-based)
+     * @param column cell number within the row (0-based)
+     * @return {@code true} if the cell does not contradict {@code matchingData}; {@code false} otherwise
+     */
+    static boolean cellMatches(final MatchingData matchingData, final TableCellCache cells, final int row, final int column) {
+	assert matchingData != null && cells != null;
+	if (!contentMatches(matchingData, cells.getText(row, column))) {
+	    // cell contents do not match
+	    return matchingData.conditional;
+	}
+
+	// we only take the very first paragraph of a table cell into consideration here; see TableCellCache
+	return formattingMatches(matchingData, cells.isBold(row, column)) && alignmentMatches(matchingData, cells.getJustification(row, column));
+    }
+
     /**
      * Obtain the traceability manager for a given table cell in a given table
      * 
@@ -270,9 +315,45 @@ abstract class GenericTable {
     }
     
     
-    private final MatchingData getMatchingData(final int row, final int column) {
+    /**
+     * @param row row number (0-based)
+     * @param column cell number within the row (0-based)
+     * @return expected properties of the given cell or {@code null} if this cell is not constrained
+     */
+    final MatchingData getMatchingData(final int row, final int column) {
 	return this.cellData.matchingData.data.get(row, column);
     }
+    
+    private boolean probeCellMatches(final TableSignature signature, final int row, final int column) {
+	if (!signature.isProbeCell(row, column)) return true;
+	final MatchingData currentMatchingData = this.getMatchingData(row, column);
+	if (currentMatchingData == null) return true;
+	return cellMatches(currentMatchingData, signature.getCells(), row, column);
+    }
+    
+    private static boolean contentMatches(final MatchingData matchingData, final String cleanedCellContent) {
+	return matchingData.cellContentPattern.matcher(cleanedCellContent).matches();
+    }
+    
+    private static boolean formattingMatches(final MatchingData matchingData, final boolean bold) {
+	if (matchingData.contentFormatting == ContentFormatting.INCONSISTENT) return true;
+	return matchingData.contentFormatting == (bold ? ContentFormatting.BOLD : ContentFormatting.NORMAL);
+    }
+    
+    private static boolean alignmentMatches(final MatchingData matchingData, final int justification) {
+	switch (justification) {
+	case 0x00: // left
+	    return matchingData.contentAlignment == ContentAlignment.LEFT || matchingData.contentAlignment == ContentAlignment.LEFTORJUSTIFY || matchingData.contentAlignment == ContentAlignment.INCONSISTENT;
+	case 0x01: // center
+	    return matchingData.contentAlignment == ContentAlignment.CENTER || matchingData.contentAlignment == ContentAlignment.INCONSISTENT;
+	case 0x02: // right
+	    return matchingData.contentAlignment == ContentAlignment.RIGHT || matchingData.contentAlignment == ContentAlignment.INCONSISTENT;
+	case 0x03: case 0x04: case 0x05: // justify
+	    return matchingData.contentAlignment == ContentAlignment.JUSTIFY || matchingData.contentAlignment == ContentAlignment.LEFTORJUSTIFY || matchingData.contentAlignment == ContentAlignment.INCONSISTENT;
+	default: // something which we do not know how to handle
+	    return matchingData.contentAlignment == ContentAlignment.INCONSISTENT;
+	}
+    }
 
 
     private final class CellData {
@@ -288,8 +369,8 @@ abstract class GenericTable {
 	}
 
 	private final class DataStore<DataType extends GenericData> {
-	    private Integer rowSimilarToAllSubsequentRows = UNCONSTRAINED;
-	    private final HashMap2D<Integer, Integer, DataType> data = new HashMap2D<>();
+	    private int rowSimilarToAllSubsequentRows = UNCONSTRAINED;
+	    private final Grid2D<DataType> data = new Grid2D<>();
 
 	    public DataStore() {
 		// make ourself known
@@ -331,10 +412,9 @@ abstract class GenericTable {
 		    return;
 		}
 
-		if (this.data.getRow(this.rowSimilarToAllSubsequentRows) == null) throw new IllegalArgumentException("Attempting to copy from a row which does not contain data. Please review your abstract table defintion.");
-		final Map<Integer, DataType> rowToCopy = new HashMap<>(this.data.getRow(this.rowSimilarToAllSubsequentRows));				
+		if (!this.data.hasRow(this.rowSimilarToAllSubsequentRows)) throw new IllegalArgumentException("Attempting to copy from a row which does not contain data. Please review your abstract table defintion.");
 		for (int rn = this.rowSimilarToAllSubsequentRows+1; rn<GenericTable.this.rows.getActual(); rn++) {
-		    this.data.putRow(rn, rowToCopy);
+		    this.data.copyRow(this.rowSimilarToAllSubsequentRows, rn);
 		}
 	    }
 	}
@@ -458,7 +538,12 @@ abstract class GenericTable {
      * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
      */
     protected final static class MatchingData implements GenericData {
+	/**
+	 * compiled patterns shared by all instances; most definitions are set up over and over again (once per concrete table) but only use a handful of distinct regexes
+	 */
+	private final static ConcurrentMap<String, Pattern> compiledPatterns = new ConcurrentHashMap<>();
 	public final String cellContentRegex;
+	public final Pattern cellContentPattern;
 	public final ContentFormatting contentFormatting;
 	public final ContentAlignment contentAlignment;
 	public final boolean conditional;
@@ -472,6 +557,7 @@ abstract class GenericTable {
 	    if (cellContentRegex == null) throw new IllegalArgumentException("cellContentRegex cannot be null.");
 	    
 	    this.cellContentRegex = cellContentRegex;
+	    this.cellContentPattern = compile(cellContentRegex);
 	    this.contentFormatting = contentFormatting;
 	    this.contentAlignment = contentAlignment;
 	    this.conditional = conditional;
@@ -506,6 +592,27 @@ abstract class GenericTable {
 	    return new MatchingData(contentFormatting, contentAlignment, cellContentRegex, conditional); 
 	}
 	
+	@Override
+	public int hashCode() {
+	    return ((this.cellContentRegex.hashCode() * 31 + this.contentFormatting.hashCode()) * 31 + this.contentAlignment.hashCode()) * 31 + (this.conditional ? 1 : 0);
+	}
+	
+	@Override
+	public boolean equals(final Object obj) {
+	    if (this == obj) return true;
+	    if (!(obj instanceof MatchingData)) return false;
+	    final MatchingData other = (MatchingData) obj;
+	    return this.cellContentRegex.equals(other.cellContentRegex) && this.contentFormatting == other.contentFormatting && this.contentAlignment == other.contentAlignment && this.conditional == other.conditional;
+	}
+	
+	private static Pattern compile(final String regex) {
+	    final Pattern knownPattern = compiledPatterns.get(regex);
+	    if (knownPattern != null) return knownPattern;
+	    final Pattern newPattern = Pattern.compile(regex);
+	    final Pattern concurrentPattern = compiledPatterns.putIfAbsent(regex, newPattern);
+	    return concurrentPattern != null ? concurrentPattern : newPattern;
+	}
+	
     }
 
     /**
@@ -7,11 +7,18 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class LevelInformationTable extends GenericTable {
+    private final static int EXPECTED_COLUMNS = 7;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Information");
 
     @Override
     public String getName() {
 	return "LevelInformationTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
     
     @Override
     @DomainSpecific
@@ -26,9 +33,9 @@ class LevelInformationTable extends GenericTable {
 	// Row 3: |    TEXT?    | Yes/No | TEXT| TEXT    |  TEXT | TEXT  | TEXT|
 	// *Row 3 is repeated until the end.*
 	
-	this.columns.setExpected(7);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 	
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Information"));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "From RBC"));
 	addData(0, 2, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Onboard operating level"));
 	addData(1, 2, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "0"));
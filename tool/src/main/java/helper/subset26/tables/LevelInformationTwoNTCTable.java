@@ -6,11 +6,18 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
  */
 class LevelInformationTwoNTCTable extends GenericTable {
+    private final static int EXPECTED_COLUMNS = 7;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Information.+");
 
     @Override
     public String getName() {
 	return "LevelInformationTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
     
     @Override
     @DomainSpecific
@@ -25,9 +32,9 @@ class LevelInformationTwoNTCTable extends GenericTable {
 	// Row 3: |    TEXT?     | TEXT  |   TEXT   | TEXT  | TEXT  |  TEXT | TEXT|
 	// *Row 3 is repeated until the end.*
 	
-	this.columns.setExpected(7);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 	
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Information.+"));	
+	addData(0, 0, HEADER);	
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Onboard operating level"));
 	addData(1, 1, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "0"));
 	addData(1, 2, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "NTC X"));
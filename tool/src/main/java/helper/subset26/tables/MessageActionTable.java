@@ -6,11 +6,18 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
  */
 class MessageActionTable extends GenericTable {
-    
+    private final static int EXPECTED_COLUMNS = 3;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.INCONSISTENT, ContentAlignment.CENTER, "Message\\s?Number");
+
     @Override
     public String getName() {
 	return "MessageActionTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
     
     @Override
     @DomainSpecific
@@ -23,9 +30,9 @@ class MessageActionTable extends GenericTable {
 	// Row 2: | NUMBER             | TEXT           | TEXT                 |	
 	// *Row 2 is repeated until the end*
 
-	this.columns.setExpected(3);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 	
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.INCONSISTENT, ContentAlignment.CENTER, "Message\\s?Number"));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.INCONSISTENT, ContentAlignment.CENTER, "Message Name"));
 	addData(0, 2, MatchingData.newMatchingData(ContentFormatting.INCONSISTENT, ContentAlignment.CENTER, "Action"));	
 	addData(2, 0, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFTORJUSTIFY, "[0-9]+"));
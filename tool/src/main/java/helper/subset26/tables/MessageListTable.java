@@ -6,11 +6,18 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class MessageListTable extends GenericTable {
+    private final static int EXPECTED_COLUMNS = 5;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Mes.\\s?Id.");
 
     @Override
     public String getName() {
 	return "MessageListTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
     
     @Override
     @DomainSpecific
@@ -22,9 +29,9 @@ class MessageListTable extends GenericTable {
 	//        ---------------------------------------------------------------
 	// Row 1: | NUMBER   | TEXT         | [A-Z]| TEXT      | TEXT           |
 	// *Row 1 is repeated until the end.*
-	this.columns.setExpected(5);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 	
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Mes.\\s?Id."));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Message Name"));
 	addData(0, 2, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Type"));
 	addData(0, 3, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Invariant"));
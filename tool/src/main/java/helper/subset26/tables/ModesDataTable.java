@@ -6,12 +6,19 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class ModesDataTable extends GenericTable {
-    
+    private final static int EXPECTED_COLUMNS = 18;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "Data Stored on[- ]board");
+
     @Override
     public String getName() {
 	return "ModesDataTable";
     }
 
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
+
     @Override
     @DomainSpecific
     protected void setTableData() {
@@ -25,9 +32,9 @@ class ModesDataTable extends GenericTable {
 	// Row 3: | TEXT | TEXT x17
 	// *Row 3 is repeated until the end.*
 
-	this.columns.setExpected(18);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "Data Stored on[- ]board"));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "Entered Mode"));
 	
 	addData(1, 1, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "NP"));
@@ -6,12 +6,19 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class ModesTable2 extends GenericTable {
-    
+    private final static int EXPECTED_COLUMNS = 18;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Information");
+
     @Override
     public String getName() {
 	return "ModesTable";
     }
 
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
+
     @Override
     @DomainSpecific
     protected void setTableData() {
@@ -24,9 +31,9 @@ class ModesTable2 extends GenericTable {
 	// *Row 2 is a placeholder*
 	// Row 3: | TEXT x18
 	// *Row 3 is repeated until the end.*
-	this.columns.setExpected(18);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Information"));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Modes"));
 	
 	addData(1, 0, MatchingData.newMatchingData(ContentFormatting.INCONSISTENT, ContentAlignment.INCONSISTENT, "\\s*"));
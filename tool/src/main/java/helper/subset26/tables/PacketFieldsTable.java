@@ -6,11 +6,18 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
  */
 class PacketFieldsTable extends GenericTable {
+    private final static int EXPECTED_COLUMNS = 4;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Description");
 
     @Override
     public String getName() {
 	return "PacketFieldsTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
     
     @Override
     @DomainSpecific
@@ -23,9 +30,9 @@ class PacketFieldsTable extends GenericTable {
 	// Row 2: | Content         | Variable  | Length   |     Comment      |
 	// Row 3: |                 | TEXT      | NUMBER   | Comment          |	
 	// *Row 3 is repeated until the end*
-	this.columns.setExpected(4);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 	
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Description"));	
+	addData(0, 0, HEADER);	
 	addData(1, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Transmitted.*"));
 	addData(2, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Content"));	
 	addData(2, 1, MatchingData.newMatchingData(ContentFormatting.INCONSISTENT, ContentAlignment.INCONSISTENT, "Variable"));
@@ -4,11 +4,18 @@ import helper.TraceabilityManagerHumanReadable.RowLevelPrefix;
 import helper.annotations.DomainSpecific;
 
 class Procedures2ColumnTable extends GenericTable {
+    private final static int EXPECTED_COLUMNS = 2;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "ID #");
 
     @Override
     public String getName() {
 	return "ProceduresTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
     
     @Override
     @DomainSpecific
@@ -21,10 +28,10 @@ class Procedures2ColumnTable extends GenericTable {
 	// Row 1: | <LETTER><NUM> | TEXT with Lists                       
 	// *Row 1 repeats until the end*
 
-	this.columns.setExpected(2);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 	final String idRegex = "[A-Z][0-9]+";
 	
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "ID #"));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "Requirements"));	
 	addData(1, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, idRegex));
 	addData(1, 1, MatchingData.newMatchingData(ContentFormatting.INCONSISTENT, ContentAlignment.LEFTORJUSTIFY, "\\S.+"));	
@@ -4,11 +4,18 @@ import helper.TraceabilityManagerHumanReadable.RowLevelPrefix;
 import helper.annotations.DomainSpecific;
 
 class Procedures3ColumnTable extends GenericTable {
+    private final static int EXPECTED_COLUMNS = 3;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "ID #");
 
     @Override
     public String getName() {
 	return "ProceduresTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
     
     @Override
     @DomainSpecific
@@ -21,10 +28,10 @@ class Procedures3ColumnTable extends GenericTable {
 	// Row 1: | <LETTER><NUM> | TEXT with Lists                      | TEXT?
 	// *Row 1 repeats until the end*
 
-	this.columns.setExpected(3);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 	final String idRegex = "[A-Z][0-9]+";
 	
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "ID #"));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Requirements"));
 	addData(0, 2, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.LEFTORJUSTIFY, "Level"));
 	addData(1, 0, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFTORJUSTIFY, idRegex));
@@ -0,0 +1,104 @@
+package helper.subset26.tables;
+
+import helper.TableHelper;
+import helper.word.DataConverter;
+
+import org.apache.poi.hwpf.usermodel.Paragraph;
+import org.apache.poi.hwpf.usermodel.Table;
+import org.apache.poi.hwpf.usermodel.TableCell;
+import org.apache.poi.hwpf.usermodel.TableRow;
+
+/**
+ * Snapshot of the cell properties of a concrete table which are relevant for matching
+ * <p>All properties are read from POI exactly once (in a single pass over the table) and are then shared by the structure key,
+ * the signature and all abstract table definitions; i.e. the cost of matching scales with the number of cells rather than with
+ * cells &times; definitions.</p>
+ * <p>Cells are addressed by row number and cell number within that row (same as {@link GenericTable}). Instances are immutable.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+final class TableCellCache {
+    private final CellProperties[][] cells;
+
+    private static final class CellProperties {
+	private final boolean merged;
+	private final String cleanedText;
+	private final boolean bold;
+	private final int justification;
+
+	CellProperties(final TableCell cell) {
+	    this.merged = TableHelper.isMerged(cell);
+	    this.cleanedText = DataConverter.cleanupText(cell.text());
+	    // we only take the very first paragraph of a table cell into consideration here
+	    final Paragraph cellParagraph = cell.getParagraph(0);
+	    this.bold = cellParagraph.getCharacterRun(0).isBold();
+	    this.justification = cellParagraph.getJustification();
+	}
+    }
+
+    /**
+     * @param concreteTable table to read
+     */
+    TableCellCache(final Table concreteTable) {
+	assert concreteTable != null;
+	this.cells = new CellProperties[concreteTable.numRows()][];
+	for (int rn = 0; rn < this.cells.length; rn++) {
+	    final TableRow row = concreteTable.getRow(rn);
+	    this.cells[rn] = new CellProperties[row.numCells()];
+	    for (int cn = 0; cn < this.cells[rn].length; cn++) this.cells[rn][cn] = new CellProperties(row.getCell(cn));
+	}
+    }
+
+    /**
+     * @return number of rows of the table
+     */
+    int numRows() {
+	return this.cells.length;
+    }
+
+    /**
+     * @param row row number (0-based)
+     * @return number of cells in the given row
+     */
+    int numCells(final int row) {
+	return this.cells[row].length;
+    }
+
+    /**
+     * @param row row number (0-based)
+     * @param column cell number within the row (0-based)
+     * @return {@code true} if the given cell is a non-first merged cell (i.e. empty by definition); {@code false} otherwise
+     * @see TableHelper#isMerged(TableCell)
+     */
+    boolean isMerged(final int row, final int column) {
+	return this.cells[row][column].merged;
+    }
+
+    /**
+     * @param row row number (0-based)
+     * @param column cell number within the row (0-based)
+     * @return text of the given cell as cleaned by {@link DataConverter#cleanupText(CharSequence)}
+     */
+    String getText(final int row, final int column) {
+	return this.cells[row][column].cleanedText;
+    }
+
+    /**
+     * @param row row number (0-based)
+     * @param column cell number within the row (0-based)
+     * @return {@code true} if the first character run of the given cell is bold; {@code false} otherwise
+     */
+    boolean isBold(final int row, final int column) {
+	return this.cells[row][column].bold;
+    }
+
+    /**
+     * @param row row number (0-based)
+     * @param column cell number within the row (0-based)
+     * @return justification of the first paragraph of the given cell
+     * @see Paragraph#getJustification()
+     */
+    int getJustification(final int row, final int column) {
+	return this.cells[row][column].justification;
+    }
+}
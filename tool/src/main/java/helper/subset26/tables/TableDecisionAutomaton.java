@@ -0,0 +1,116 @@
+package helper.subset26.tables;
+
+import helper.ParallelExecutor;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import helper.subset26.tables.GenericTable.MatchingData;
+
+/**
+ * Decision procedure which matches a concrete table against several abstract table definitions in one traversal
+ * <p>The matching data of all definitions is merged into one list of decision nodes; one node per constrained cell.
+ * Each node holds the distinct predicates (i.e. {@link MatchingData}) the definitions expect at that cell together with the definitions which expect them.
+ * Identical predicates of different definitions are hence evaluated only once. Nodes are ordered by their discriminating power
+ * (the number of distinct predicates first, the number of constrained definitions second); i.e. cells where the definitions disagree the most are visited first.</p>
+ * <p>Evaluating a predicate eliminates all definitions which expect it if the cell does not satisfy it. The traversal ends as soon as no definition is left.
+ * Definitions which survive all nodes satisfy all their constraints; hence the outcome is the same as calling {@link GenericTable#isTableMatch()} on each definition.</p>
+ * <p>Abstract table definitions are set up for the dimensions of a particular concrete table (see {@link GenericTable#setContext(org.apache.poi.hwpf.usermodel.Table, TableSignature)});
+ * hence an automaton is compiled for each concrete table from the definitions which survived the signature check.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+final class TableDecisionAutomaton {
+    private final List<GenericTable> definitions = new ArrayList<>();
+    private final List<DecisionNode> nodes = new ArrayList<>();
+    private final TableCellCache cells;
+
+    /**
+     * Compile the given definitions into an automaton
+     *
+     * @param candidates abstract table definitions with their context already set up; in order of preference
+     * @param cells cell properties of the concrete table the definitions have been set up for
+     */
+    TableDecisionAutomaton(final Collection<GenericTable> candidates, final TableCellCache cells) {
+	assert candidates != null && cells != null;
+	this.cells = cells;
+	for (final GenericTable candidate : candidates) {
+	    if (candidate.dimensionsMatch()) this.definitions.add(candidate);
+	}
+
+	for (int rn = 0; rn < cells.numRows(); rn++) {
+	    for (int cn = 0; cn < cells.numCells(rn); cn++) {
+		if (cells.isMerged(rn, cn)) continue; // do not process non-first merged cells as they are empty by definition
+		final DecisionNode node = new DecisionNode(rn, cn);
+		for (int i = 0; i < this.definitions.size(); i++) {
+		    final MatchingData matchingData = this.definitions.get(i).getMatchingData(rn, cn);
+		    if (matchingData != null) node.addPredicate(matchingData, i);
+		}
+		if (!node.predicates.isEmpty()) this.nodes.add(node);
+	    }
+	}
+	// stable; hence nodes of equal power remain in reading order
+	Collections.sort(this.nodes, new Comparator<DecisionNode>() {
+	    @Override
+	    public int compare(final DecisionNode o1, final DecisionNode o2) {
+		if (o1.predicates.size() != o2.predicates.size()) return o2.predicates.size() - o1.predicates.size();
+		return o2.numConstrainedDefinitions - o1.numConstrainedDefinitions;
+	    }
+	});
+    }
+
+    /**
+     * Run the automaton on the concrete table
+     *
+     * @return the first (in order of preference) definition which matches the concrete table or {@code null} if none does
+     */
+    GenericTable findMatch() {
+	final BitSet alive = new BitSet(this.definitions.size());
+	alive.set(0, this.definitions.size());
+
+	for (final DecisionNode node : this.nodes) {
+	    if (alive.isEmpty()) return null;
+	    ParallelExecutor.checkCancellation();
+	    for (final Map.Entry<MatchingData, BitSet> predicate : node.predicates.entrySet()) {
+		// no need to evaluate predicates which only concern definitions that have already been eliminated
+		if (!predicate.getValue().intersects(alive)) continue;
+		if (!GenericTable.cellMatches(predicate.getKey(), this.cells, node.row, node.column)) alive.andNot(predicate.getValue());
+	    }
+	}
+	return alive.isEmpty() ? null : this.definitions.get(alive.nextSetBit(0));
+    }
+
+    /**
+     * All predicates on a single cell
+     */
+    private final static class DecisionNode {
+	private final int row;
+	private final int column;
+	/**
+	 * distinct predicates on this cell and the (indices of the) definitions which expect them
+	 */
+	private final Map<MatchingData, BitSet> predicates = new LinkedHashMap<>();
+	private int numConstrainedDefinitions = 0;
+
+	private DecisionNode(final int row, final int column) {
+	    this.row = row;
+	    this.column = column;
+	}
+
+	private void addPredicate(final MatchingData matchingData, final int definition) {
+	    BitSet expectingDefinitions = this.predicates.get(matchingData);
+	    if (expectingDefinitions == null) {
+		expectingDefinitions = new BitSet();
+		this.predicates.put(matchingData, expectingDefinitions);
+	    }
+	    expectingDefinitions.set(definition);
+	    this.numConstrainedDefinitions++;
+	}
+    }
+}
@@ -3,22 +3,15 @@
  */
 package helper.subset26.tables;
 
-import java.util.ArrayList;
+import static helper.Constants.Generic.TABLE_MATCH_CACHE_SIZE;
+
 import java.util.Collection;
-import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.CompletionService;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorCompletionService;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.poi.hwpf.usermodel.Table;
 
 import helper.CSSManager;
-import helper.ParallelExecutor;
 import helper.TraceabilityManagerHumanReadable;
 
 
@@ -29,7 +22,10 @@ import helper.TraceabilityManagerHumanReadable;
  */
 public final class TableMatcher {		
     private final GenericTable matchingTable;    
-    private static final Logger logger = Logger.getLogger(TableMatcher.class.getName()); // NOPMD - Reference rather than a static field
+    /**
+     * results of all tables matched so far; shared by all documents of this process
+     */
+    private static final ConcurrentMap<TableStructureKey, MatchResult> matchResults = new ConcurrentHashMap<>();
 
     /**
      * Create a new matcher for a given table
@@ -40,8 +36,22 @@ public final class TableMatcher {
     public TableMatcher(final Table table) {
 	if (table == null) throw new IllegalArgumentException("Table cannot be null.");	
 	
-	final Collection<GenericTable> handlers = (new TableServiceLocator(table)).getHandlers();		
-	this.matchingTable = findMatchingTable(handlers);	
+	// all properties of the cells are read only once and shared by everything below
+	final TableCellCache cells = new TableCellCache(table);
+	final TableSignature signature = new TableSignature(table, cells);
+	final TableServiceLocator serviceLocator = new TableServiceLocator(table, signature);
+	final TableStructureKey structureKey = new TableStructureKey(cells, signature, serviceLocator.getDefinitions());
+	final MatchResult knownResult = matchResults.get(structureKey);
+	if (knownResult != null) {
+	    // a table with the very same structure has been matched before; the definition which matched back then has been set up again (as the key covers the signature checks)
+	    this.matchingTable = knownResult.matchingType != null ? serviceLocator.getDefinition(knownResult.matchingType) : null;
+	    assert knownResult.matchingType == null || this.matchingTable != null;
+	    return;
+	}
+	
+	final Collection<GenericTable> handlers = serviceLocator.getHandlers();		
+	this.matchingTable = findMatchingTable(handlers, cells);	
+	if (matchResults.size() < TABLE_MATCH_CACHE_SIZE) matchResults.putIfAbsent(structureKey, this.matchingTable != null ? new MatchResult(this.matchingTable.getClass()) : MatchResult.NO_MATCH);
     }
 
     /**
@@ -97,61 +107,35 @@ public final class TableMatcher {
     /**
      * Match the given table against a collection of predefined abstract table definitions
      * 
-     * @param matchers collection of abstract table defintions
+     * @param matchers collection of abstract table defintions which may possibly match
+     * @param cells cell properties of the concrete table
      * @return the matching abstract table definition or {@code null} if no definition matches
      */
-    private static GenericTable findMatchingTable(final Collection<GenericTable> matchers) {
-	assert matchers != null;
-	// execute this in parallel; one thread for each abstract table definition
-	// inspired by http://docs.oracle.com/javase/8/docs/api/java/util/concurrent/ExecutorCompletionService.html
-	final int n = matchers.size();
-	final ExecutorService pool = ParallelExecutor.createThreadPool("TableMatcher", n).getExecutorService();
-	final CompletionService<GenericTable> ecs = new ExecutorCompletionService<>(pool);
-	final List<Future<GenericTable>> futures = new ArrayList<>(n);
-
-	GenericTable output = null;
-	try {
-	    // Step 1: populate the futures
-	    for (final GenericTable currentMatcher : matchers) {
-		final CallableTableMatcher currentMatcherCallable = new CallableTableMatcher(currentMatcher);
-		futures.add(ecs.submit(currentMatcherCallable));
-	    }
-	    pool.shutdown();
-
-	    // Step 2: Query all our threads if one has a non-null result (i.e. did match the concrete table)
-	    for (int i = 0; i < n; i++) {
-		try {
-		    final GenericTable matcherCandidate = ecs.take().get();
-		    if (matcherCandidate != null) {
-			output = matcherCandidate;
-			break;
-		    }
-		} catch (InterruptedException | ExecutionException e) {
-		    logger.log(Level.SEVERE, "Error while comparing concrete table against abstract table definitions.", e);		    
-		}
-	    }
-	}
-	finally {
-	    for (final Future<GenericTable> currentFuture : futures) currentFuture.cancel(true);
+    private static GenericTable findMatchingTable(final Collection<GenericTable> matchers, final TableCellCache cells) {
+	assert matchers != null && cells != null;
+	// the signature check usually leaves zero or one candidate; no need to compile anything then
+	if (matchers.isEmpty()) return null;
+	if (matchers.size() == 1) {
+	    final GenericTable onlyMatcher = matchers.iterator().next();
+	    return onlyMatcher.isTableMatch() ? onlyMatcher : null;
 	}
 	
-	// may be null if no matching table was found
-	return output;
+	// a single traversal of the concrete table for all remaining definitions
+	return new TableDecisionAutomaton(matchers, cells).findMatch();
     }
 
     /**
-     * Wrapper class which defines when an abstract table definition matches
+     * Remembered outcome of a match
      */
-    private final static class CallableTableMatcher implements Callable<GenericTable> {	
-	private final GenericTable matcher;
-
-	public CallableTableMatcher(final GenericTable matcher) {	    
-	    this.matcher = matcher;
+    private final static class MatchResult {
+	private final static MatchResult NO_MATCH = new MatchResult(null);
+	/**
+	 * type of the matching definition; {@code null} if no definition matched
+	 */
+	private final Class<? extends GenericTable> matchingType;
+
+	private MatchResult(final Class<? extends GenericTable> matchingType) {
+	    this.matchingType = matchingType;
 	}
-
-	@Override
-	public GenericTable call() throws Exception {
-	    return this.matcher.isTableMatch() ? this.matcher : null;
-	}	
     }
 }
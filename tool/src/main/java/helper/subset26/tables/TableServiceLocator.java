@@ -1,7 +1,9 @@
 package helper.subset26.tables;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.poi.hwpf.usermodel.Table;
@@ -12,15 +14,18 @@ import org.apache.poi.hwpf.usermodel.Table;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
  */
 final class TableServiceLocator {
-    private final transient Set<GenericTable> handlers = new LinkedHashSet<>();    
+    private final transient Set<GenericTable> definitions = new LinkedHashSet<>();    
     private final transient Table concreteTable;
+    private final transient TableSignature signature;
 
     /**
      * @param concreteTable concrete table to match against
+     * @param signature signature of {@code concreteTable}
      */
-    public TableServiceLocator(final Table concreteTable) {
-	assert concreteTable != null;	
+    public TableServiceLocator(final Table concreteTable, final TableSignature signature) {
+	assert concreteTable != null && signature != null;	
 	this.concreteTable = concreteTable;
+	this.signature = signature;
 
 	// Note: constructors are intentionally empty to allow short (user-modifiable) classes
 	// actual data will be added via setContext() below
@@ -60,17 +65,40 @@ final class TableServiceLocator {
     }
 
     /**
-     * @return a Collection of all known handlers
+     * @return a Collection of all known definitions which have been set up for the concrete table (i.e. which survived {@link GenericTable#acceptsSignature(TableSignature)})
+     */
+    public Collection<GenericTable> getDefinitions() {
+	return this.definitions;
+    }
+
+    /**
+     * @return a Collection of all known handlers which may possibly match the concrete table (i.e. which survived the signature check)
      */
     public Collection<GenericTable> getHandlers() {
-	return this.handlers;
+	final List<GenericTable> output = new ArrayList<>(this.definitions.size());
+	for (final GenericTable definition : this.definitions) {
+	    if (definition.isCandidate(this.signature)) output.add(definition);
+	}
+	return output;
+    }
+
+    /**
+     * @param type type of the definition of interest
+     * @return the definition of the given type if it has been set up for the concrete table; {@code null} otherwise
+     */
+    public GenericTable getDefinition(final Class<? extends GenericTable> type) {
+	for (final GenericTable definition : this.definitions) {
+	    if (definition.getClass() == type) return definition;
+	}
+	return null;
     }
-    
 
     private void addTableDescriptions(final GenericTable[] tables) {
 	for (final GenericTable table : tables) {
-	    table.setContext(this.concreteTable);
-	    this.handlers.add(table);
+	    // most definitions can be ruled out by the signature alone; do not even set them up in this case
+	    if (!table.acceptsSignature(this.signature)) continue;
+	    table.setContext(this.concreteTable, this.signature);
+	    this.definitions.add(table);
 	}		
     }
 }
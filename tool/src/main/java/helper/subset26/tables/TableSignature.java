@@ -0,0 +1,121 @@
+package helper.subset26.tables;
+
+import helper.Grid2D;
+import helper.TableHelper;
+import helper.subset26.tables.GenericTable.MatchingData;
+
+import org.apache.poi.hwpf.usermodel.Paragraph;
+import org.apache.poi.hwpf.usermodel.Table;
+
+/**
+ * Cheap structural fingerprint of a concrete table
+ * <p>Exposes the dimensions of the table and the (cleaned) text, boldness and justification of a few probe cells:
+ * the first row, the first column and the main diagonal. These are the cells most abstract table definitions put their
+ * distinguishing headers in; hence most definitions can be ruled out from the signature alone.
+ * The signature is computed once per concrete table and shared by all definitions (see {@link TableServiceLocator}).</p>
+ * <p>The signature remembers which probe cells have been compared against matching data; only their texts influenced the outcome of the signature checks (see {@link TableStructureKey}).</p>
+ * <p>Cells are addressed in the same way as in {@link GenericTable}; i.e. by row number and cell number within that row.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+final class TableSignature {
+    private final TableCellCache cells;
+    private final int numColumns;
+    private final Grid2D<Boolean> consultedCells = new Grid2D<>();
+
+    /**
+     * @param concreteTable table to compute the signature of
+     * @param cells cell properties of {@code concreteTable}
+     */
+    TableSignature(final Table concreteTable, final TableCellCache cells) {
+	assert concreteTable != null && cells != null;
+	this.cells = cells;
+	this.numColumns = TableHelper.getMaxColumns(concreteTable);
+    }
+
+    /**
+     * @return the cell properties this signature is based on; never {@code null}
+     */
+    TableCellCache getCells() {
+	return this.cells;
+    }
+
+    /**
+     * @return number of rows of the table
+     */
+    int getNumRows() {
+	return this.cells.numRows();
+    }
+
+    /**
+     * @return number of cells in the widest row of the table; see {@link TableHelper#getMaxColumns(Table)}
+     */
+    int getNumColumns() {
+	return this.numColumns;
+    }
+
+    /**
+     * @return {@code true} if the table has as many rows as columns; {@code false} otherwise
+     */
+    boolean isRectangular() {
+	return getNumRows() == this.numColumns;
+    }
+
+    /**
+     * @param row row number (0-based)
+     * @param column cell number within the row (0-based)
+     * @return {@code true} if the given cell is part of this signature and not merged (i.e. its properties are available); {@code false} otherwise
+     */
+    boolean isProbeCell(final int row, final int column) {
+	if (row < 0 || row >= getNumRows() || column < 0 || column >= this.cells.numCells(row)) return false;
+	return (row == 0 || column == 0 || column == row) && !this.cells.isMerged(row, column);
+    }
+
+    /**
+     * Check a cell against matching data if it is part of this signature
+     * 
+     * @param row row number (0-based)
+     * @param column cell number within the row (0-based)
+     * @param matchingData expected properties of the cell
+     * @return {@code false} if the given cell is a probe cell and does not match; {@code true} otherwise
+     * @see GenericTable#cellMatches(MatchingData, TableCellCache, int, int)
+     */
+    boolean cellMatches(final int row, final int column, final MatchingData matchingData) {
+	assert matchingData != null;
+	if (!isProbeCell(row, column)) return true;
+	this.consultedCells.put(row, column, Boolean.TRUE);
+	return GenericTable.cellMatches(matchingData, this.cells, row, column);
+    }
+
+    /**
+     * @param row row number (0-based)
+     * @param column cell number within the row (0-based)
+     * @return {@code true} if the given cell has been compared against matching data by {@link #cellMatches(int, int, MatchingData)}; {@code false} otherwise
+     */
+    boolean isConsulted(final int row, final int column) {
+	return this.consultedCells.get(row, column) != null;
+    }
+
+    /**
+     * @param row row number (0-based)
+     * @param column cell number within the row (0-based)
+     * @return {@code true} if the first character run of the given probe cell is bold; {@code false} otherwise
+     * @see #isProbeCell(int, int)
+     */
+    boolean isBold(final int row, final int column) {
+	assert isProbeCell(row, column);
+	return this.cells.isBold(row, column);
+    }
+
+    /**
+     * @param row row number (0-based)
+     * @param column cell number within the row (0-based)
+     * @return justification of the first paragraph of the given probe cell
+     * @see #isProbeCell(int, int)
+     * @see Paragraph#getJustification()
+     */
+    int getJustification(final int row, final int column) {
+	assert isProbeCell(row, column);
+	return this.cells.getJustification(row, column);
+    }
+}
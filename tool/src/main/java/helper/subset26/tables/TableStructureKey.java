@@ -0,0 +1,71 @@
+package helper.subset26.tables;
+
+import helper.CheckpointHelper;
+import helper.DigestHelper;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Canonical hash of everything the abstract table definitions inspect in a concrete table
+ * <p>This comprises the dimensions, the merged-cell map, the boldness and justification of the first paragraph of each cell
+ * and the cleaned texts of those cells which are constrained; i.e. which have been consulted by the signature checks (see {@link TableSignature})
+ * or which carry matching data in one of the definitions that passed them. Two tables with equal keys hence pass the signature checks
+ * of the same definitions and are matched by the same definition; the texts of all other cells are irrelevant for matching.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+final class TableStructureKey {
+    private final byte[] digest;
+    private final int hashCode;
+
+    /**
+     * @param cells cell properties of the table to compute the key of
+     * @param signature signature of the table after all definitions have been checked against it
+     * @param definitions definitions which passed the signature checks and have been set up for the table
+     */
+    TableStructureKey(final TableCellCache cells, final TableSignature signature, final Collection<GenericTable> definitions) {
+	assert cells != null && signature != null && definitions != null;
+	final MessageDigest messageDigest = DigestHelper.newDigest();
+	try (final DataOutputStream output = DigestHelper.newDigestStream(messageDigest)) {
+	    output.writeInt(cells.numRows());
+	    for (int rn = 0; rn < cells.numRows(); rn++) {
+		output.writeInt(cells.numCells(rn));
+		for (int cn = 0; cn < cells.numCells(rn); cn++) {
+		    output.writeBoolean(cells.isMerged(rn, cn));
+		    output.writeBoolean(cells.isBold(rn, cn));
+		    output.writeInt(cells.getJustification(rn, cn));
+		    final boolean constrained = signature.isConsulted(rn, cn) || isConstrained(definitions, rn, cn);
+		    output.writeBoolean(constrained);
+		    if (constrained) CheckpointHelper.writeString(output, cells.getText(rn, cn));
+		}
+	    }
+	} catch (IOException e) {
+	    throw new IllegalStateException("Cannot compute table structure. This should not happen.", e);
+	}
+	this.digest = messageDigest.digest();
+	this.hashCode = Arrays.hashCode(this.digest);
+    }
+
+    private static boolean isConstrained(final Collection<GenericTable> definitions, final int row, final int column) {
+	for (final GenericTable definition : definitions) {
+	    if (definition.getMatchingData(row, column) != null) return true;
+	}
+	return false;
+    }
+
+    @Override
+    public int hashCode() {
+	return this.hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+	if (this == obj) return true;
+	if (!(obj instanceof TableStructureKey)) return false;
+	return Arrays.equals(this.digest, ((TableStructureKey) obj).digest);
+    }
+}
@@ -6,11 +6,19 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class TermTable extends GenericTable {
+    private final static int EXPECTED_COLUMNS = 2;
+    private final static String TERM_REGEX = "[A-Za-z].*[0-9]?";
+    private final static MatchingData TERM = MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFTORJUSTIFY, "^(" + TERM_REGEX + "|)$");
 
     @Override
     public String getName() {
 	return "TermTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, TERM);
+    }
     
     @Override
     @DomainSpecific
@@ -20,14 +28,13 @@ class TermTable extends GenericTable {
 	//        --------------------------------------------------
 	// Row n: | TEXT | TEXT                                    |
 	//	  --------------------------------------------------
-	this.columns.setExpected(2);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 	
-	final String termRegex = "[A-Za-z].*[0-9]?";
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFTORJUSTIFY, "^(" + termRegex + "|)$"));
+	addData(0, 0, TERM);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFTORJUSTIFY, ".*"));
 	setRepeatingRowMatchingData(0);
 	
-	addData(0, 0, TracingData.newTracingDataFixedColumnIdConditional("Term", termRegex));
+	addData(0, 0, TracingData.newTracingDataFixedColumnIdConditional("Term", TERM_REGEX));
 	addData(0, 1, TracingData.newTracingDataFixedColumnIdConditional("Definition", "[A-Za-z].*"));
 	setRepeatingRowTracingData(0);
     }
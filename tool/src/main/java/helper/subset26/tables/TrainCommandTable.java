@@ -7,11 +7,18 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class TrainCommandTable extends GenericTable {
-    
+    private final static int EXPECTED_COLUMNS = 5;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFTORJUSTIFY, "(Triggering|Revocation)\\s?condition\\s?#");
+
     @Override
     public String getName() {
 	return "TrainCommandTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
     
     @Override
     @DomainSpecific
@@ -24,12 +31,12 @@ class TrainCommandTable extends GenericTable {
 	// Row 1: | [tr][0-9]+   | Formula         | Formula                     | TEXT          | TEXT                   |
 	// * Row 1 repeats until the end *
 	// there may be vertically merged cells	
-	this.columns.setExpected(5);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 	
 	// matches stuff like "r1" and "t15"
 	final String regexConditionID = "^[rt]([0-9]+)";
 	
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFTORJUSTIFY, "(Triggering|Revocation)\\s?condition\\s?#"));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFTORJUSTIFY, "Estimated speed"));
 	addData(0, 2, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFTORJUSTIFY, "(Location|Train front end position \\(estimated and max safe\\))"));
 	addData(0, 3, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.LEFTORJUSTIFY, "TI Command (triggered|revoked)\\s?"));
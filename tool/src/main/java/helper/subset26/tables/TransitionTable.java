@@ -16,6 +16,14 @@ class TransitionTable extends GenericTable {
 	return "TransitionTable";
     }
     
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	// same as the quick checks in setTableData(); saves us from setting up the tracing data at all
+	if (!signatureDimensionsMatch(signature, UNCONSTRAINED, UNCONSTRAINED, true)) return false;
+	final int lastCell = signature.getNumRows() - 1;
+	return !signature.isProbeCell(lastCell, lastCell) || (signature.isBold(lastCell, lastCell) && signature.getJustification(lastCell, lastCell) == 0x01);
+    }
+    
     @Override
     @DomainSpecific
     protected void setTableData() {
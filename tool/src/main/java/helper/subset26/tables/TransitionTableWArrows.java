@@ -8,11 +8,18 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class TransitionTableWArrows extends GenericTable {
+    private final static int EXPECTED_COLUMNS = 19;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "State of On-board Variables");
 
     @Override
     public String getName() {
 	return "TransitionTable";
     }
+
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 1, HEADER);
+    }
     
     /* (non-Javadoc)
      * @see helper.subset26.tables.GenericTable#setTableData()
@@ -33,9 +40,9 @@ class TransitionTableWArrows extends GenericTable {
 	//        -----------------------------------------------------------------
 	// *Row 3 continues to the end*
 	
-	this.columns.setExpected(19);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 	
-	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "State of On-board Variables"));
+	addData(0, 1, HEADER);
 	
 	addData(1, 1, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "ERTMS[ ]?/[ ]?ETCS Level"));
 	addData(1, 2, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "RBC ID[ ]?/[ ]?Phone Number"));
@@ -6,12 +6,19 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class TransitionTableWArrowsNarrow extends GenericTable {
-    
+    private final static int EXPECTED_COLUMNS = 16;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "Status of On-board stored information");
+
     @Override
     public String getName() {
 	return "TransitionTable";
     }
 
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 1, HEADER);
+    }
+
     @Override
     @DomainSpecific
     protected void setTableData() {
@@ -28,9 +35,9 @@ class TransitionTableWArrowsNarrow extends GenericTable {
 	//        -----------------------------------------------------------------
 	// *Row 3 continues to the end*
 
-	this.columns.setExpected(16);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 
-	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.BOLD, ContentAlignment.CENTER, "Status of On-board stored information"));
+	addData(0, 1, HEADER);
 	
 	addData(1, 1, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "EOLM.?information.*"));
 	addData(1, 2, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Train Position.*"));
@@ -6,12 +6,19 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class VersionHistoryTableNarrow  extends GenericTable {
-    
+    private final static int EXPECTED_COLUMNS = 3;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Issue Number\\s?Date");
+
     @Override
     public String getName() {
 	return "VersionHistoryTable";
     }
 
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
+
     @Override
     @DomainSpecific
     protected void setTableData() {
@@ -21,9 +28,9 @@ class VersionHistoryTableNarrow  extends GenericTable {
 	// Row 0: | Issue Number Date | Modification / Description | Author |
 	//        -----------------------------------------------------------
 	// Row 1: *we dont match any of the subsequent rows; the header itself should be quite unique already*
-	this.columns.setExpected(3);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Issue Number\\s?Date"));	
+	addData(0, 0, HEADER);	
 
 	// sometimes we have spaces in the header text, sometimes we dont
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Modification\\s?/\\s?Description"));
@@ -6,12 +6,19 @@ import helper.annotations.DomainSpecific;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 class VersionHistoryTableWide extends GenericTable {
-    
+    private final static int EXPECTED_COLUMNS = 4;
+    private final static MatchingData HEADER = MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Issue Number\\s?Date");
+
     @Override
     public String getName() {
 	return "VersionHistoryTable";
     }
 
+    @Override
+    protected boolean acceptsSignature(final TableSignature signature) {
+	return signatureDimensionsMatch(signature, UNCONSTRAINED, EXPECTED_COLUMNS, false) && signatureCellMatches(signature, 0, 0, HEADER);
+    }
+
     @Override
     @DomainSpecific
     protected void setTableData() {
@@ -21,9 +28,9 @@ class VersionHistoryTableWide extends GenericTable {
 	// Row 0: | Issue Number Date | Section Number | Modification / Description | Author/Editor |
 	//        -----------------------------------------------------------------------------------
 	// Row 1: *we dont match any of the subsequent rows; the header itself should be quite unique already*
-	this.columns.setExpected(4);
+	this.columns.setExpected(EXPECTED_COLUMNS);
 
-	addData(0, 0, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Issue Number\\s?Date"));
+	addData(0, 0, HEADER);
 	addData(0, 1, MatchingData.newMatchingData(ContentFormatting.NORMAL, ContentAlignment.CENTER, "Section [Nn]umber"));
 
 	// sometimes we have spaces in the header text, sometimes we dont
@@ -120,8 +120,25 @@ public enum DataConverter {
      */
     public static boolean isEmptyParagraph(final Paragraph paragraph) {
 	if (paragraph == null) throw new IllegalArgumentException("Paragraph cannot be null.");
-	final String paragraphText = cleanupText(paragraph.text());
-	return ("\r").equals(paragraphText) || ("").equals(paragraphText) || paragraphText.matches("\\s+");
+	return isEmptyText(paragraph.text());
+    }
+    
+    /**
+     * Same as {@link #isEmptyParagraph(Paragraph)} but works on the raw text of a paragraph
+     * <p>equivalent to checking the result of {@link #cleanupText(CharSequence)} for whitespace but without creating any intermediate strings</p>
+     * 
+     * @param paragraphTextRaw text of the paragraph as returned by POI
+     * @return {@code true} if the given text contains no usable information; {@code false} otherwise
+     * @throws IllegalArgumentException if the given text is {@code null}
+     */
+    public static boolean isEmptyText(final CharSequence paragraphTextRaw) {
+	if (paragraphTextRaw == null) throw new IllegalArgumentException("paragraphTextRaw cannot be null.");
+	for (int i = 0; i < paragraphTextRaw.length(); i++) {
+	    final char currentChar = paragraphTextRaw.charAt(i);
+	    // whitespace which survives the cleanup is the plain space; everything else is either removed or content
+	    if (currentChar != ' ' && !isRemovedByCleanup(currentChar)) return false;
+	}
+	return true;
     }
 
     /**
@@ -133,40 +150,50 @@ public enum DataConverter {
      * @throws IllegalArgumentException If the given text is {@code null}
      */
     @DomainSpecific
-    public static String cleanupText(final String input) {	
+    public static String cleanupText(final CharSequence input) {	
 	if (input == null) throw new IllegalArgumentException("input cannot be null.");
 	final char UNICODECHAR_NONBREAKING_HYPHEN = '\u2011';
 	final char UNICODECHAR_ZERO_WIDTH_SPACE = '\u200b';	
 	final char UNICODECHAR_NBSP = '\u00A0';
-	final char TABLECELL_END_MARKER = '\u0007';
 
-	String output = input;
-	if (output.endsWith(Character.toString(TABLECELL_END_MARKER))) {
-	    // Strip the table cell end marker
-	    output = output.substring(0, output.length()-1);
+	// single pass; the table cell end marker (\u0007) is a control character and hence stripped along with the others
+	final StringBuilder output = new StringBuilder(input.length());
+	for (int i = 0; i < input.length(); i++) {
+	    final char currentChar = input.charAt(i);
+	    switch (currentChar) {
+	    case (char) 30:
+		// Non-breaking hyphens are returned as char 30
+		output.append(UNICODECHAR_NONBREAKING_HYPHEN);
+		break;
+	    case (char) 31:
+		// Non-required hyphens to zero-width space
+		output.append(UNICODECHAR_ZERO_WIDTH_SPACE);
+		break;
+	    case '\t':
+		// tabs as NBSP (anything else wont make sense since the real tab character would become collapsed in HTML)
+		// Note: regex "\s"-class only matches this with the "(?U)"-flag!
+		output.append(UNICODECHAR_NBSP);
+		break;
+	    default:
+		if (!isRemovedByCleanup(currentChar)) output.append(currentChar);
+		break;
+	    }
 	}
-
-	// Non-breaking hyphens are returned as char 30
-	output = output.replace((char) 30, UNICODECHAR_NONBREAKING_HYPHEN);
-
-	// Non-required hyphens to zero-width space
-	output = output.replace((char) 31, UNICODECHAR_ZERO_WIDTH_SPACE);
-
-	// tabs as NBSP (anything else wont make sense since the real tab character would become collapsed in HTML)
-	// Note: regex "\s"-class only matches this with the "(?U)"-flag! 
-	output = output.replace('\t', UNICODECHAR_NBSP);
-
-	// Control characters as nothing
-	// but leave the \u0001 (image placeholder) in there, [MS-DOC], v20140721, 1.3.5
-	// \u0002 (footnote placeholder) must stay as well 
-	output = output.replaceAll("[\u0000\u0003-\u001f]", "");
-
-	return output;
+	return output.toString();
+    }
+    
+    /**
+     * Control characters as nothing
+     * <p>but leave the \u0001 (image placeholder) in there, [MS-DOC], v20140721, 1.3.5;
+     * \u0002 (footnote placeholder) must stay as well. Tabs and chars 30 and 31 are replaced rather than removed; see {@link #cleanupText(CharSequence)}</p>
+     */
+    private static boolean isRemovedByCleanup(final char input) {
+	return input == '\u0000' || (input >= '\u0003' && input <= '\u001d' && input != '\t');
     }
 
     
     /**
-     * Same as {@link #cleanupText(String)} but takes special care of multiple whitespaces for proper XHTML output
+     * Same as {@link #cleanupText(CharSequence)} but takes special care of multiple whitespaces for proper XHTML output
      * 
      * @param input The string to be processed, may not be {@null}
      * @return A cleaned up, whitespace-enhanced version of the input, never {@code null}
@@ -0,0 +1,137 @@
+package helper.word;
+
+import static helper.Constants.Generic.MEDIA_WRITER_QUEUE_CAPACITY;
+import static helper.Constants.Generic.MEDIA_WRITER_THREADS;
+
+import helper.Destructible;
+import helper.DigestHelper;
+import helper.ParallelExecutor;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Asynchronous, content-addressed sink for the embedded media of a document
+ * <p>Media is written by a small pool of background threads; the caller immediately learns the filename which has to be referenced.
+ * Identical content (e.g. a logo which is embedded many times) is written only once; all later occurrences refer to the file of the first occurrence.
+ * Anyone who reads the media directory before {@link #close()} has to call {@link #flush()} first.</p>
+ * <p>Instances are safe for use by multiple threads.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public final class MediaWriter implements Destructible {
+    private final String mediaStoreDirAbsolute;
+    private final ExecutorService executorService;
+    /**
+     * content hash to the filename under which this content has been written
+     */
+    private final ConcurrentMap<String, String> filenamesByContent = new ConcurrentHashMap<>();
+    private final AtomicInteger numberOfDuplicates = new AtomicInteger(0);
+    /**
+     * one party per pending write plus one for {@link #flush()}
+     */
+    private final Phaser pendingWrites = new Phaser(1);
+    private static final Logger logger = Logger.getLogger(MediaWriter.class.getName()); // NOPMD - Reference rather than a static field
+
+    /**
+     * @param mediaStoreDirAbsolute existing directory where all media will be written
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public MediaWriter(final String mediaStoreDirAbsolute) {
+	if (mediaStoreDirAbsolute == null) throw new IllegalArgumentException("mediaStoreDirAbsolute cannot be null.");
+	this.mediaStoreDirAbsolute = mediaStoreDirAbsolute;
+	this.executorService = ParallelExecutor.createBoundedThreadPool("MediaWriter", MEDIA_WRITER_THREADS, MEDIA_WRITER_QUEUE_CAPACITY).getExecutorService();
+    }
+
+    /**
+     * Schedule some content for being written
+     *
+     * @param content data to write; must not be modified afterwards
+     * @param filename filename (without any directory) to use if this content has not been seen before
+     * @return filename under which the content will be available; either {@code filename} or the filename of an earlier occurrence of the same content
+     * @throws IllegalArgumentException if one of the arguments is {@code null}
+     */
+    public String write(final byte[] content, final String filename) {
+	if (content == null) throw new IllegalArgumentException("content cannot be null.");
+	if (filename == null) throw new IllegalArgumentException("filename cannot be null.");
+
+	final String existingFilename = this.filenamesByContent.putIfAbsent(DigestHelper.computeHash(content), filename);
+	if (existingFilename != null) {
+	    this.numberOfDuplicates.incrementAndGet();
+	    return existingFilename;
+	}
+
+	this.pendingWrites.register();
+	try {
+	    this.executorService.execute(new Runnable() {
+		@Override
+		public void run() {
+		    try (final FileOutputStream fos = new FileOutputStream(MediaWriter.this.mediaStoreDirAbsolute + File.separator + filename)) {
+			fos.write(content);
+		    } catch (FileNotFoundException e) {
+			logger.log(Level.WARNING, "Could not write data to disk because of issues in the underlying file-system", e);
+		    } catch (IOException e) {
+			logger.log(Level.WARNING, "Could not write " + filename + " to disk.", e);
+		    } finally {
+			MediaWriter.this.pendingWrites.arriveAndDeregister();
+		    }
+		}
+	    });
+	} catch (RejectedExecutionException e) {
+	    this.pendingWrites.arriveAndDeregister();
+	    throw e;
+	}
+	return filename;
+    }
+
+    /**
+     * @return number of occurrences which have been mapped to the file of an earlier occurrence so far
+     */
+    public int getNumberOfDuplicates() {
+	return this.numberOfDuplicates.get();
+    }
+
+    /**
+     * Wait until all media which has been scheduled so far has been written; further media may be scheduled afterwards
+     *
+     * @throws CancellationException if the calling thread has been interrupted while waiting
+     */
+    public synchronized void flush() {
+	try {
+	    this.pendingWrites.awaitAdvanceInterruptibly(this.pendingWrites.arrive());
+	} catch (InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	    throw new CancellationException("Interrupted while waiting for media to be written.");
+	}
+    }
+
+    /**
+     * Wait until all scheduled media has been written; no further media may be scheduled afterwards
+     *
+     * @throws CancellationException if the calling thread has been interrupted while waiting
+     */
+    @Override
+    public void close() {
+	this.executorService.shutdown();
+	try {
+	    while (!this.executorService.awaitTermination(1, TimeUnit.SECONDS)) {
+		// keep waiting; writing media is bounded by the disk
+	    }
+	} catch (InterruptedException e) {
+	    Thread.currentThread().interrupt();
+	    throw new CancellationException("Interrupted while waiting for media to be written.");
+	}
+    }
+}
@@ -4,6 +4,11 @@ import static helper.Constants.Generic.IMAGE_CONVERSION_TOOL_PATTERN;
 import static helper.Constants.Generic.IMAGE_REMOVAL_TOOL_PATTERN;
 import static helper.Constants.Generic.SHAPE_CONVERSION_TOOL_PATTERN;
 
+import helper.CheckpointHelper;
+import helper.ParallelExecutor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -13,22 +18,40 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.poi.hwpf.HWPFDocument;
+import org.apache.poi.hwpf.model.PicturesTable;
 import org.apache.poi.hwpf.usermodel.CharacterRun;
 import org.apache.poi.hwpf.usermodel.Picture;
+import org.apache.poi.hwpf.usermodel.Range;
 
 /**
  * Stores pictures of a word document
+ * <p>Pictures are decoded lazily: only their offsets are indexed up front; the actual picture data is decoded when it is requested
+ * (and not retained by the store afterwards).</p>
  * 
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
  */
 public class PictureStore {	
-    private final Map<Integer, Picture> pictures = new HashMap<>();    
+    // non-final; see releasePictures()
+    private HWPFDocument document = null;
+    /**
+     * offsets of all inline pictures which have not been requested so far
+     */
+    private final NavigableSet<Integer> pictureOffsets = new TreeSet<>();
+    private int numInlinePictures = 0;
     private final Collection<PictureToConvert> picturesToConvert = new HashSet<>();
     private final Collection<ShapeToConvert> shapesToConvert = new HashSet<>();
     private static final Logger logger = Logger.getLogger(PictureStore.class.getName()); // NOPMD - Reference rather than a static field
@@ -81,20 +104,36 @@ public class PictureStore {
      */
     public PictureStore(final HWPFDocument document) {
 	if (document == null) throw new IllegalArgumentException("document cannot be null.");
-	assert document.getPicturesTable() != null && document.getPicturesTable().getAllPictures() != null;
-	for (final Picture currentPicture : document.getPicturesTable().getAllPictures()) {
-	    this.pictures.put(currentPicture.getStartOffset(), currentPicture);	
+	assert document.getPicturesTable() != null;
+	this.document = document;
+	// same traversal as PicturesTable.getAllPictures() but without decoding anything
+	final PicturesTable picturesTable = document.getPicturesTable();
+	final Range overallRange = document.getOverallRange();
+	for (int i = 0; i < overallRange.numCharacterRuns(); i++) {
+	    final CharacterRun characterRun = overallRange.getCharacterRun(i);
+	    if (picturesTable.hasPicture(characterRun)) {
+		this.pictureOffsets.add(characterRun.getPicOffset());
+		this.numInlinePictures++;
+	    }
 	}
     }
 
+    /**
+     * Create an empty store for a document which is restored from a checkpoint; pictures to convert may be added by {@link #readFrom(DataInput)}
+     */
+    public PictureStore() {
+	// intentionally empty; there is no document to obtain pictures from
+    }
+
     /**
      * Get a picture at a certain offset and remove it from the store (so this method may only be called once for each picture)
      * 
      * @param pictureOffset an integer obtained from {@link CharacterRun#getPicOffset()}
      * @return The picture linked to the given CharacterRun or {@code null} if no such picture exists
      */
-    public Picture getPicture(final int pictureOffset) {	
-	return (pictureOffset != -1) ? this.pictures.remove(pictureOffset) : null; // NOPMD - intentional null assignment	
+    public synchronized Picture getPicture(final int pictureOffset) {	
+	if (pictureOffset == -1 || !this.pictureOffsets.remove(pictureOffset)) return null;
+	return new Picture(pictureOffset, this.document.getDataStream(), false);
     }
 
     /**
@@ -124,37 +163,159 @@ public class PictureStore {
 	this.shapesToConvert.add(new ShapeToConvert(rangeStartOffset, expectedFilename));
     }
 
+    /**
+     * Drop all pictures which have not been written so far; the lists of pictures and shapes to convert are retained
+     */
+    public synchronized void releasePictures() {
+	this.pictureOffsets.clear();
+	this.document = null; // NOPMD - intentional null assignment
+    }
+
+    /**
+     * Write the lists of pictures and shapes to convert into a checkpoint
+     * 
+     * @param output where to write
+     * @throws IOException if the underlying stream cannot be written
+     * @see #readFrom(DataInput)
+     */
+    public void writeTo(final DataOutput output) throws IOException {
+	if (output == null) throw new IllegalArgumentException("output cannot be null.");
+	output.writeInt(this.picturesToConvert.size());
+	for (final PictureToConvert currentPicture : this.picturesToConvert) {
+	    CheckpointHelper.writeString(output, currentPicture.inputFilename);
+	    CheckpointHelper.writeString(output, currentPicture.outputFilename);
+	    output.writeInt(currentPicture.outputWidth);
+	    output.writeInt(currentPicture.outputHeight);
+	}
+	output.writeInt(this.shapesToConvert.size());
+	for (final ShapeToConvert currentShape : this.shapesToConvert) {
+	    output.writeInt(currentShape.rangeStartOffset);
+	    CheckpointHelper.writeString(output, currentShape.outputFilename);
+	}
+    }
+    
+    /**
+     * Add the pictures and shapes to convert from a checkpoint
+     * 
+     * @param input where to read from
+     * @throws IOException if the underlying stream cannot be read or is malformed
+     * @see #writeTo(DataOutput)
+     */
+    public void readFrom(final DataInput input) throws IOException {
+	if (input == null) throw new IllegalArgumentException("input cannot be null.");
+	final int numberOfPictures = input.readInt();
+	for (int i = 0; i < numberOfPictures; i++) {
+	    final String inputFilename = CheckpointHelper.readString(input);
+	    final String outputFilename = CheckpointHelper.readString(input);
+	    if (inputFilename == null || outputFilename == null) throw new IOException("Malformed picture entry in checkpoint.");
+	    this.picturesToConvert.add(new PictureToConvert(inputFilename, outputFilename, input.readInt(), input.readInt()));
+	}
+	final int numberOfShapes = input.readInt();
+	for (int i = 0; i < numberOfShapes; i++) {
+	    final int rangeStartOffset = input.readInt();
+	    final String outputFilename = CheckpointHelper.readString(input);
+	    if (outputFilename == null) throw new IOException("Malformed shape entry in checkpoint.");
+	    this.shapesToConvert.add(new ShapeToConvert(rangeStartOffset, outputFilename));
+	}
+    }
+
     /**
      * Write all pictures which were not referenced in the main document into a file
+     * <p>pictures whose content has already been written for a reference are skipped</p>
      * 
-     * @param outputDir directory where the files shall be written
+     * @param mediaWriter writer for the media directory of the document
      * @return the number of files written
-     * @throws IllegalArgumentException if the argument is {@code null} or malformed
+     * @throws IllegalArgumentException if the argument is {@code null}
      */
-    public int writeUnwrittenPictures(final String outputDir) {
-	if (outputDir == null) throw new IllegalArgumentException("outputDir cannot be null.");
-	if (outputDir.length() == 0 || outputDir.charAt(outputDir.length()-1) != File.separatorChar) throw new IllegalArgumentException("outputDir must contain trailing separator.");
+    public int writeUnwrittenPictures(final MediaWriter mediaWriter) {
+	if (mediaWriter == null) throw new IllegalArgumentException("mediaWriter cannot be null.");
 
 	final String prepender = "UNREFERENCED-";
 	int i = 0;
-	final Iterator<Picture> iterator = this.pictures.values().iterator();
-	while (iterator.hasNext()) {	    
-	    final Picture currentPicture = iterator.next();
+	for (final Picture currentPicture : getUnwrittenPictures()) {
 	    if (currentPicture.getSize() == 0) continue; // do not process empty pictures
 
 	    // same as docreader.range.paragraph.characterRun.ImageReader.writeToFile()
-	    final String destination = outputDir + prepender + Integer.toString(++i) + '.' + currentPicture.suggestFileExtension();
-	    try (final FileOutputStream fos = new FileOutputStream(destination)) {
-		currentPicture.writeImageContent(fos);		
-	    } catch (FileNotFoundException e) {
-		logger.log(Level.WARNING, "Could not write data to disk because of issues in the underlying file-system", e);			
-	    } catch (IOException e) {
-		logger.log(Level.WARNING, "Could not write data to disk because of issues inside POI.", e);
-	    }
+	    final String filename = prepender + Integer.toString(i + 1) + '.' + currentPicture.suggestFileExtension();
+	    if (mediaWriter.write(currentPicture.getContent(), filename).equals(filename)) i++;
 	}
 	return i;
     }
 
+    /**
+     * Convert all raster pictures to PNG within this process; converted pictures are removed from the list written by {@link #writeImageConversionFile(String)}
+     * <p>The conversions run in parallel on the shared pool. Vector pictures and pictures which cannot be decoded remain in the list for the external tool.
+     * Successfully converted input files are deleted (same as {@link helper.Constants.Generic#IMAGE_REMOVAL_TOOL_PATTERN}).</p>
+     * 
+     * @param mediaStoreDirAbsolute directory which holds the pictures; all pending media must have been written
+     * @return the number of converted pictures
+     * @throws IllegalArgumentException if the argument is {@code null}
+     */
+    public int convertRasterPictures(final String mediaStoreDirAbsolute) {
+	if (mediaStoreDirAbsolute == null) throw new IllegalArgumentException("mediaStoreDirAbsolute cannot be null.");
+
+	final ExecutorService pool = ParallelExecutor.createTaskGroup("RasterImageConversion");
+	final Map<PictureToConvert, Future<Boolean>> conversions = new HashMap<>();
+	for (final PictureToConvert currentPicture : this.picturesToConvert) {
+	    if (!RasterImageConverter.isCandidate(currentPicture.inputFilename)) continue;
+	    conversions.put(currentPicture, pool.submit(new Callable<Boolean>() {
+		@Override
+		public Boolean call() {
+		    final File input = new File(mediaStoreDirAbsolute, currentPicture.inputFilename);
+		    final File output = new File(mediaStoreDirAbsolute, currentPicture.outputFilename);
+		    // when resuming, an earlier run may have converted this picture already
+		    if (!input.isFile()) return output.isFile();
+		    try {
+			if (!RasterImageConverter.convert(input, output, currentPicture.outputWidth, currentPicture.outputHeight)) return false;
+		    } catch (IOException e) {
+			logger.log(Level.WARNING, "Could not convert " + currentPicture.inputFilename + ". Leaving it to the external tool.", e);
+			return false;
+		    }
+		    if (!input.delete()) logger.log(Level.INFO, "Could not delete {0} after conversion.", currentPicture.inputFilename);
+		    return true;
+		}
+	    }));
+	}
+	pool.shutdown();
+
+	int convertedPictures = 0;
+	for (final Map.Entry<PictureToConvert, Future<Boolean>> entry : conversions.entrySet()) {
+	    try {
+		if (entry.getValue().get()) {
+		    this.picturesToConvert.remove(entry.getKey());
+		    convertedPictures++;
+		}
+	    } catch (ExecutionException e) {
+		logger.log(Level.WARNING, "Could not convert " + entry.getKey().inputFilename + ". Leaving it to the external tool.", e.getCause());
+	    } catch (InterruptedException e) {
+		pool.shutdownNow();
+		Thread.currentThread().interrupt();
+		throw new CancellationException("Interrupted while converting pictures.");
+	    }
+	}
+	return convertedPictures;
+    }
+
+    /**
+     * Decode all pictures which have not been requested so far; i.e. all remaining inline pictures and the floating pictures
+     * <p>Same semantics as the original eager store: all pictures are keyed by their start offset. Floating pictures do not have a meaningful
+     * offset; hence only the last of them survives. The store is empty afterwards.</p>
+     * 
+     * @return the unwritten pictures
+     */
+    private synchronized Iterable<Picture> getUnwrittenPictures() {
+	final Map<Integer, Picture> output = new HashMap<>();
+	if (this.document == null) return output.values();
+	
+	for (final Integer currentOffset : this.pictureOffsets) output.put(currentOffset, new Picture(currentOffset, this.document.getDataStream(), false));
+	this.pictureOffsets.clear();
+	
+	// floating pictures are not referenced by any character run; POI appends them to the inline pictures
+	final List<Picture> allPictures = this.document.getPicturesTable().getAllPictures();
+	for (final Picture currentPicture : allPictures.subList(this.numInlinePictures, allPictures.size())) output.put(currentPicture.getStartOffset(), currentPicture);
+	return output.values();
+    }
+
     /**
      * Create a CRLF-terminated file (batch-script, csv, ...) which can be used to convert all the image data
      * 
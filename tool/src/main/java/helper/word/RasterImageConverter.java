@@ -0,0 +1,122 @@
+package helper.word;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Converts raster images to PNG files of a given size by means of {@link ImageIO}
+ * <p>This class is stateless and hence safe for use by multiple threads.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+final class RasterImageConverter {
+    /**
+     * extensions (as suggested by POI) of vector formats; these cannot be rasterized by ImageIO
+     */
+    private static final Set<String> VECTOR_EXTENSIONS = new HashSet<>(Arrays.asList("wmf", "emf", "pict"));
+    private static final int BITMAP_FILE_HEADER_SIZE = 14;
+    private static final int BITMAP_INFO_HEADER_SIZE = 40;
+    private static final int BITMAP_CORE_HEADER_SIZE = 12;
+    private static final int BI_BITFIELDS = 3;
+
+    private RasterImageConverter() {
+	// utility class; avoid instantiation
+    }
+
+    /**
+     * @param filename name of the file to check
+     * @return {@code true} if the file may be a raster image which can be handled by {@link #convert(File, File, int, int)}; {@code false} otherwise
+     */
+    static boolean isCandidate(final String filename) {
+	assert filename != null;
+	return !VECTOR_EXTENSIONS.contains(getExtension(filename));
+    }
+
+    /**
+     * Convert a raster image to a PNG file
+     *
+     * @param input existing image file
+     * @param output PNG file to write
+     * @param width width of the resulting image; the width of the input is retained if this is not positive
+     * @param height height of the resulting image; the height of the input is retained if this is not positive
+     * @return {@code true} if the output has been written; {@code false} if the input cannot be decoded
+     * @throws IOException if one of the files cannot be accessed
+     */
+    static boolean convert(final File input, final File output, final int width, final int height) throws IOException {
+	assert input != null && output != null;
+	byte[] content = Files.readAllBytes(input.toPath());
+	if ("dib".equals(getExtension(input.getName()))) content = toBitmapFile(content);
+
+	final BufferedImage source = ImageIO.read(new ByteArrayInputStream(content));
+	if (source == null) return false; // no suitable reader
+
+	final int outputWidth = width > 0 ? width : source.getWidth();
+	final int outputHeight = height > 0 ? height : source.getHeight();
+	final BufferedImage target;
+	if (outputWidth == source.getWidth() && outputHeight == source.getHeight()) {
+	    target = source;
+	}
+	else {
+	    target = new BufferedImage(outputWidth, outputHeight, BufferedImage.TYPE_INT_ARGB);
+	    final Graphics2D graphics = target.createGraphics();
+	    try {
+		graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+		graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		graphics.drawImage(source, 0, 0, outputWidth, outputHeight, null);
+	    } finally {
+		graphics.dispose();
+	    }
+	}
+	return ImageIO.write(target, "png", output);
+    }
+
+    /**
+     * Word stores device independent bitmaps without the file header which is mandatory for a standalone BMP file; prepend it
+     *
+     * @param dib the bitmap as stored by Word (starts with a BITMAPINFOHEADER or a BITMAPCOREHEADER)
+     * @return a complete BMP file; or the unmodified input if it cannot be interpreted
+     */
+    static byte[] toBitmapFile(final byte[] dib) {
+	if (dib.length < BITMAP_CORE_HEADER_SIZE || (dib[0] == 'B' && dib[1] == 'M')) return dib;
+	final ByteBuffer header = ByteBuffer.wrap(dib).order(ByteOrder.LITTLE_ENDIAN);
+	final int headerSize = header.getInt(0);
+	final int paletteSize;
+	if (headerSize == BITMAP_CORE_HEADER_SIZE) {
+	    final int bitCount = header.getShort(10) & 0xFFFF;
+	    paletteSize = bitCount <= 8 ? (1 << bitCount) * 3 : 0;
+	}
+	else if (headerSize >= BITMAP_INFO_HEADER_SIZE && dib.length >= BITMAP_INFO_HEADER_SIZE) {
+	    final int bitCount = header.getShort(14) & 0xFFFF;
+	    final int colorsUsed = header.getInt(32);
+	    final int numColors = colorsUsed == 0 && bitCount <= 8 ? 1 << bitCount : colorsUsed;
+	    final int masksSize = headerSize == BITMAP_INFO_HEADER_SIZE && header.getInt(16) == BI_BITFIELDS ? 12 : 0;
+	    paletteSize = numColors * 4 + masksSize;
+	}
+	else return dib;
+
+	final ByteBuffer output = ByteBuffer.allocate(BITMAP_FILE_HEADER_SIZE + dib.length).order(ByteOrder.LITTLE_ENDIAN);
+	output.put((byte) 'B').put((byte) 'M');
+	output.putInt(BITMAP_FILE_HEADER_SIZE + dib.length);
+	output.putInt(0); // reserved
+	output.putInt(BITMAP_FILE_HEADER_SIZE + headerSize + paletteSize);
+	output.put(dib);
+	return output.array();
+    }
+
+    private static String getExtension(final String filename) {
+	return filename.substring(filename.lastIndexOf('.') + 1).toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -94,31 +94,34 @@ public final class DocumentWriter {
 		    @Override
 		    public void run() {
 			// Step 2.1., Thread 1: Generate XML
-			{
-			    // Step 2.1.1: Write the preamble
-			    final XmlReqifWriter xmlwriter = new XmlReqifWriter();
-			    new PreambleWriter(readerData, xmlwriter).write();
-			    xmlwriter.writeToStream(outputStreamFromProducer);
-			}
-			{
-			    // Step 2.1.2: Write the main content
-			    final SpecHierarchyWriter specHierarchyWriter = new SpecHierarchyWriter(readerData, root, DocumentWriter.this.specObjectMapper);			    
-			    specHierarchyWriter.writeToStream(outputStreamFromProducer);			
-			}
-			{
-			    // Step 2.1.3: Write the epilogue
-			    final XmlReqifWriter xmlwriter = new XmlReqifWriter();
-			    new EpilogueWriter(xmlwriter).write();
-			    xmlwriter.writeToStream(outputStreamFromProducer);
-			}
-
-			// close the output stream; otherwise the consumer thread would block
 			try {
-			    outputStreamFromProducer.flush();
-			    outputStreamFromProducer.close();
-			} catch (IOException e) {
-			    logger.log(Level.SEVERE, "Error while closing output pipe for XML serialization.", e);
-			    throw new IllegalStateException(e);
+			    {
+				// Step 2.1.1: Write the preamble
+				final XmlReqifWriter xmlwriter = new XmlReqifWriter();
+				new PreambleWriter(readerData, xmlwriter).write();
+				xmlwriter.writeToStream(outputStreamFromProducer);
+			    }
+			    {
+				// Step 2.1.2: Write the main content
+				final SpecHierarchyWriter specHierarchyWriter = new SpecHierarchyWriter(readerData, root, DocumentWriter.this.specObjectMapper);			    
+				specHierarchyWriter.writeToStream(outputStreamFromProducer);			
+			    }
+			    {
+				// Step 2.1.3: Write the epilogue
+				final XmlReqifWriter xmlwriter = new XmlReqifWriter();
+				new EpilogueWriter(xmlwriter).write();
+				xmlwriter.writeToStream(outputStreamFromProducer);
+			    }
+			}
+			finally {
+			    // close the output stream (even on failure); otherwise the consumer thread would block
+			    try {
+				outputStreamFromProducer.flush();
+				outputStreamFromProducer.close();
+			    } catch (IOException e) {
+				logger.log(Level.SEVERE, "Error while closing output pipe for XML serialization.", e);
+				throw new IllegalStateException(e);
+			    }
 			}
 		    }
 		};
@@ -131,7 +134,7 @@ public final class DocumentWriter {
 		    }
 		};
 		
-		ParallelExecutor.execute("ReqIF_Serialization", producer, consumer);
+		ParallelExecutor.executeCoordination("ReqIF_Serialization", producer, consumer);
 	    }
 	} catch (IOException e) {
 	    logger.log(Level.SEVERE, "Error while creating input pipe for XML serialization.", e);
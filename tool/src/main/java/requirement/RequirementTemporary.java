@@ -17,7 +17,8 @@ import requirement.metadata.Kind;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
  */
 public class RequirementTemporary extends RequirementRoot {
-    protected final Range associatedRange;	
+    protected Range associatedRange; // NOPMD - intentionally non-final; see releaseAssociatedRange()
+    private final int associatedStartOffset;
     protected RequirementText text = null;
     protected MetadataReqif metadata = new MetadataReqif(); // NOPMD - intentionally non-transient, accessor below
     private final RequirementLinks links = new RequirementLinks(this); // NOPMD - intentionally non-transient, accessor below
@@ -44,18 +45,50 @@ public class RequirementTemporary extends RequirementRoot {
 	super();
 	if (associatedRange == null) throw new IllegalArgumentException("The associatedRange cannot be null for this constructor");		
 	this.associatedRange = associatedRange;
+	this.associatedStartOffset = associatedRange.getStartOffset();
 	this.forceRooted = forceRooted;
 	
 	// initialize the requirement type to PLACEHOLDER
 	this.metadata.setKind(Kind.PLACEHOLDER);
     }
 
+    /**
+     * Constructor for requirements which are restored from a checkpoint; there is no associated range
+     * 
+     * @param associatedStartOffset character start offset of the range in the source document
+     * @throws IllegalArgumentException if the given offset is negative
+     */
+    protected RequirementTemporary(final int associatedStartOffset) {
+	super();
+	if (associatedStartOffset < 0) throw new IllegalArgumentException("associatedStartOffset cannot be negative.");
+	this.associatedRange = null;
+	this.associatedStartOffset = associatedStartOffset;
+	this.forceRooted = false;
+	this.metadata.setKind(Kind.PLACEHOLDER);
+    }
+
     /**
      * @return range in the source document from where this requirement was extracted
+     * @throws IllegalStateException if the range has already been released
      */
     public final Range getAssociatedRange() {		
+	if (this.associatedRange == null) throw new IllegalStateException("The associated range has already been released.");
 	return this.associatedRange;
     }
+    
+    /**
+     * @return character start offset of the range in the source document; remains available after {@link #releaseAssociatedRange()}
+     */
+    public final int getAssociatedStartOffset() {
+	return this.associatedStartOffset;
+    }
+    
+    /**
+     * Drop the reference to the source document; afterwards only {@link #getAssociatedStartOffset()} is available
+     */
+    public final void releaseAssociatedRange() {
+	this.associatedRange = null; // NOPMD - intentional null assignment
+    }
 
     /**
      * @return a handle to the ordinary link manager of this requirement, never {@code null}
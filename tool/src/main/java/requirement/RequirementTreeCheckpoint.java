@@ -0,0 +1,116 @@
+package requirement;
+
+import helper.TraceabilityManagerHumanReadable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import requirement.data.RequirementText;
+import docreader.ReaderData;
+
+/**
+ * Compact binary snapshot of a fully read requirement tree
+ * <p>The snapshot holds everything which is needed by the second pass and the serialization (texts, metadata, annotations, unresolved links, traceTags and the traceability links).
+ * It does not contain any reference to the source document; restored requirements have no associated range.</p>
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public final class RequirementTreeCheckpoint {
+
+    private RequirementTreeCheckpoint() {
+	// helper class, not instantiable
+    }
+
+    /**
+     * Write a requirement tree
+     *
+     * @param output where to write
+     * @param root root of the tree to write
+     * @param traceabilityLinker linker which holds the traceability links of the given tree
+     * @throws IOException if the underlying stream cannot be written
+     * @throws IllegalArgumentException if one of the arguments is {@code null}
+     */
+    public static void write(final DataOutput output, final RequirementRoot root, final TraceabilityLinker traceabilityLinker) throws IOException {
+	if (output == null) throw new IllegalArgumentException("output cannot be null.");
+	if (root == null) throw new IllegalArgumentException("root cannot be null.");
+	if (traceabilityLinker == null) throw new IllegalArgumentException("traceabilityLinker cannot be null.");
+
+	final Map<RequirementWParent, Integer> requirementIndices = new IdentityHashMap<>();
+	writeChildren(output, root, requirementIndices);
+	traceabilityLinker.writeTo(output, requirementIndices);
+    }
+
+    /**
+     * Restore a requirement tree; the traceability links are restored into the linker of the given readerData
+     *
+     * @param input where to read from
+     * @param readerData global readerData of the restored tree
+     * @return root of the restored tree; never {@code null}
+     * @throws IOException if the underlying stream cannot be read or is malformed
+     * @throws IllegalArgumentException if one of the arguments is {@code null}
+     */
+    public static RequirementRoot read(final DataInput input, final ReaderData readerData) throws IOException {
+	if (input == null) throw new IllegalArgumentException("input cannot be null.");
+	if (readerData == null) throw new IllegalArgumentException("readerData cannot be null.");
+
+	final RequirementRoot root = new RequirementRoot();
+	final List<RequirementWParent> requirements = new ArrayList<>();
+	readChildren(input, readerData, root, requirements);
+	readerData.getTraceabilityLinker().readFrom(input, requirements);
+	return root;
+    }
+
+    /**
+     * Write all children of a requirement in preorder
+     */
+    private static void writeChildren(final DataOutput output, final RequirementRoot parent, final Map<RequirementWParent, Integer> requirementIndices) throws IOException {
+	int numberOfChildren = 0;
+	for (final Iterator<RequirementWParent> iterator = parent.getChildIterator(); iterator.hasNext(); iterator.next()) numberOfChildren++;
+	output.writeInt(numberOfChildren);
+
+	final Iterator<RequirementWParent> iterator = parent.getChildIterator();
+	while (iterator.hasNext()) {
+	    final RequirementWParent requirement = iterator.next();
+	    requirementIndices.put(requirement, requirementIndices.size());
+
+	    output.writeInt(requirement.getTraceId());
+	    final TraceabilityManagerHumanReadable hrManager = requirement.getHumanReadableManager();
+	    output.writeBoolean(hrManager != null);
+	    if (hrManager != null) hrManager.writeTo(output);
+	    output.writeBoolean(requirement.getText() != null);
+	    if (requirement.getText() != null) requirement.getText().writeTo(output);
+	    requirement.getMetadata().writeTo(output);
+	    requirement.getRequirementLinks().writeTo(output);
+	    requirement.getRequirementKnownTermLinks().writeTo(output);
+
+	    writeChildren(output, requirement, requirementIndices);
+	}
+    }
+
+    /**
+     * Read all children of a requirement in preorder
+     */
+    private static void readChildren(final DataInput input, final ReaderData readerData, final RequirementRoot parent, final List<RequirementWParent> requirements) throws IOException {
+	final int numberOfChildren = input.readInt();
+	if (numberOfChildren < 0) throw new IOException("Malformed number of children in checkpoint.");
+
+	for (int i = 0; i < numberOfChildren; i++) {
+	    final RequirementWParent requirement = new RequirementWParent(readerData, input.readInt(), parent);
+	    requirements.add(requirement);
+
+	    if (input.readBoolean()) requirement.restoreHumanReadableManager(TraceabilityManagerHumanReadable.readFrom(input, requirement));
+	    if (input.readBoolean()) requirement.text = RequirementText.readFrom(input);
+	    requirement.getMetadata().readFrom(input);
+	    requirement.getRequirementLinks().readFrom(input);
+	    requirement.getRequirementKnownTermLinks().readFrom(input);
+
+	    readChildren(input, readerData, requirement, requirements);
+	}
+    }
+}
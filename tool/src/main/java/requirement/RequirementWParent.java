@@ -60,7 +60,7 @@ public class RequirementWParent extends RequirementTemporary implements Traceabl
      */
     public RequirementWParent(final ReaderData readerData, final Range associatedRange, final RequirementRoot parent) {
 	super(associatedRange);
-	this.traceId = this.associatedRange.getStartOffset();		
+	this.traceId = getAssociatedStartOffset();		
 
 	if (parent == null) throw new IllegalArgumentException("Parent cannot be null for this constructor");
 	this.parent = parent;
@@ -70,6 +70,27 @@ public class RequirementWParent extends RequirementTemporary implements Traceabl
 	this.readerData = readerData;		
     }
 
+    /**
+     * Constructor for requirements which are restored from a checkpoint
+     * 
+     * @param readerData global readerData
+     * @param associatedStartOffset character start offset of the range in the source document
+     * @param parent treeParent of this requirement
+     * @throws IllegalArgumentException if one of the given parameters is {@code null}
+     * @see RequirementTreeCheckpoint
+     */
+    RequirementWParent(final ReaderData readerData, final int associatedStartOffset, final RequirementRoot parent) {
+	super(associatedStartOffset);
+	this.traceId = associatedStartOffset;
+
+	if (parent == null) throw new IllegalArgumentException("Parent cannot be null for this constructor");
+	this.parent = parent;
+	parent.addChild(this);
+
+	if(readerData == null) throw new IllegalArgumentException("readerData cannot be null.");
+	this.readerData = readerData;
+    }
+
     /**
      * return the hierarchical parent of this requirement, never {@code null}
      * 
@@ -122,6 +143,17 @@ public class RequirementWParent extends RequirementTemporary implements Traceabl
 	combine(hrManager, this.parent);	
     }
 
+    /**
+     * Set the hrManager of a requirement which is restored from a checkpoint; does not register the requirement anywhere
+     * 
+     * @param hrManager fully combined hrManager of this requirement
+     * @see RequirementTreeCheckpoint
+     */
+    final void restoreHumanReadableManager(final TraceabilityManagerHumanReadable hrManager) {
+	assert hrManager != null && this.hrManager == null;
+	this.hrManager = hrManager;
+    }
+
     /**
      * @return character offset in the word document from where this requirement originates (i.e. backward tracing information)
      */
@@ -1,6 +1,12 @@
 package requirement;
 
+import helper.CheckpointHelper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
@@ -182,4 +188,94 @@ public final class TraceabilityLinker {
     public int getNumberOfRequirements() {
 	return this.requirementIdToWordLinker.size();
     }    
-}
+
+    
+    /**
+     * Write all links which are needed after the first pass into a checkpoint
+     * <p>the manager for non-qualified references is only used during the first pass and hence not written</p>
+     * 
+     * @param output where to write
+     * @param requirementIndices position of each requirement in the checkpoint
+     * @throws IOException if the underlying stream cannot be written
+     * @see #readFrom(DataInput, List)
+     */
+    void writeTo(final DataOutput output, final Map<RequirementWParent, Integer> requirementIndices) throws IOException {
+	assert output != null && requirementIndices != null;
+	output.writeInt(this.wordToRequirementLinker.size());
+	for (final Map.Entry<Integer, RequirementWParent> entry : this.wordToRequirementLinker.entrySet()) {
+	    output.writeInt(entry.getKey());
+	    output.writeInt(getIndex(requirementIndices, entry.getValue()));
+	}
+	output.writeInt(this.requirementIdToWordLinker.size());
+	for (final Map.Entry<String, Integer> entry : this.requirementIdToWordLinker.entrySet()) {
+	    CheckpointHelper.writeString(output, entry.getKey());
+	    output.writeInt(entry.getValue());
+	}
+	writeResolver(output, this.figureResolver, requirementIndices);
+	writeResolver(output, this.tableResolver, requirementIndices);
+	output.writeInt(this.requirementNumberTextResolver.size());
+	for (final Map.Entry<String, String> entry : this.requirementNumberTextResolver.entrySet()) {
+	    CheckpointHelper.writeString(output, entry.getKey());
+	    CheckpointHelper.writeString(output, entry.getValue());
+	}
+    }
+    
+    /**
+     * Restore all links from a checkpoint
+     * 
+     * @param input where to read from
+     * @param requirements all requirements of the checkpoint in the order of their indices
+     * @throws IOException if the underlying stream cannot be read or is malformed
+     * @see #writeTo(DataOutput, Map)
+     */
+    void readFrom(final DataInput input, final List<RequirementWParent> requirements) throws IOException {
+	assert input != null && requirements != null;
+	final int numberOfRequirementLinks = input.readInt();
+	for (int i = 0; i < numberOfRequirementLinks; i++) {
+	    final int wordId = input.readInt();
+	    this.wordToRequirementLinker.put(wordId, getRequirement(requirements, input.readInt()));
+	}
+	final int numberOfIds = input.readInt();
+	for (int i = 0; i < numberOfIds; i++) {
+	    final String humanReadableId = CheckpointHelper.readString(input);
+	    this.requirementIdToWordLinker.put(humanReadableId, input.readInt());
+	}
+	readResolver(input, this.figureResolver, requirements);
+	readResolver(input, this.tableResolver, requirements);
+	final int numberOfNumberTexts = input.readInt();
+	for (int i = 0; i < numberOfNumberTexts; i++) {
+	    final String numberText = CheckpointHelper.readString(input);
+	    this.requirementNumberTextResolver.put(numberText, CheckpointHelper.readString(input));
+	}
+    }
+    
+    private static void writeResolver(final DataOutput output, final Map<String, RequirementWParent> resolver, final Map<RequirementWParent, Integer> requirementIndices) throws IOException {
+	output.writeInt(resolver.size());
+	for (final Map.Entry<String, RequirementWParent> entry : resolver.entrySet()) {
+	    CheckpointHelper.writeString(output, entry.getKey());
+	    // captions which are not part of the tree cannot be the target of a link in the output anyways
+	    final Integer index = requirementIndices.get(entry.getValue());
+	    output.writeInt(index != null ? index : -1);
+	}
+    }
+    
+    private static void readResolver(final DataInput input, final Map<String, RequirementWParent> resolver, final List<RequirementWParent> requirements) throws IOException {
+	final int numberOfEntries = input.readInt();
+	for (int i = 0; i < numberOfEntries; i++) {
+	    final String key = CheckpointHelper.readString(input);
+	    final int index = input.readInt();
+	    resolver.put(key, index != -1 ? getRequirement(requirements, index) : null);
+	}
+    }
+    
+    private static int getIndex(final Map<RequirementWParent, Integer> requirementIndices, final RequirementWParent requirement) {
+	final Integer output = requirementIndices.get(requirement);
+	if (output == null) throw new IllegalStateException("Linked requirement is not part of the requirement tree. Cannot write checkpoint.");
+	return output;
+    }
+    
+    private static RequirementWParent getRequirement(final List<RequirementWParent> requirements, final int index) throws IOException {
+	if (index < 0 || index >= requirements.size()) throw new IOException("Malformed requirement index in checkpoint.");
+	return requirements.get(index);
+    }
+}
\ No newline at end of file
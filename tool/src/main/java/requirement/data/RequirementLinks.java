@@ -1,5 +1,8 @@
 package requirement.data;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -7,6 +10,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static helper.Constants.Links.EXTRACT_EXTERNAL_LINKS;
+import helper.CheckpointHelper;
 import docreader.ReaderData;
 import requirement.RequirementProxy;
 import requirement.RequirementTemporary;
@@ -23,12 +27,18 @@ public class RequirementLinks {
     private final transient RequirementTemporary sourceRequirement;
     private final Set<Link> rawLinks = new LinkedHashSet<>();     
     private static final Logger logger = Logger.getLogger(RequirementLinks.class.getName()); // NOPMD - Reference rather than a static field
+    private final static byte TYPE_REAL = 0;
+    private final static byte TYPE_FAKE = 1;
+    private final static byte TYPE_FAKETABLE = 2;
+    private final static byte TYPE_FAKEFIGURE = 3;
 
     /**
      * Interface for a link; all implementing classes should override equals() and hashCode() so the set rawLinks wont contain duplicates 
      */
     private interface Link {	
 	void process(final ReaderData readerData, final Set<TraceableArtifact> outputList);
+	
+	void writeTo(final DataOutput output) throws IOException;
     }
     
     private static abstract class AbstractLink<T> implements Link {
@@ -93,6 +103,12 @@ public class RequirementLinks {
 	    if (targetRequirement != null) outputList.add(targetRequirement);	    
 	    else logger.log(Level.INFO, "Could not find the target requirement for a link. Either the document is malformed or you did not process it in its entirety. Will skip this link.");
 	}
+
+	@Override
+	public void writeTo(final DataOutput output) throws IOException {
+	    output.writeByte(TYPE_REAL);
+	    output.writeInt(this.reference);
+	}
     }
     
     private static class FakeLink extends AbstractLink<String> {	
@@ -111,6 +127,12 @@ public class RequirementLinks {
 		outputList.add(proxyRequirement);	
 	    }	    
 	}
+
+	@Override
+	public void writeTo(final DataOutput output) throws IOException {
+	    output.writeByte(TYPE_FAKE);
+	    CheckpointHelper.writeString(output, this.reference);
+	}
     }
     
     private static class FakeTableLink extends AbstractLink<String> {	
@@ -125,6 +147,12 @@ public class RequirementLinks {
 	    if (targetRequirement != null) outputList.add(targetRequirement);	    
 	    else logger.log(Level.FINE, "Could not find the target requirement for a fake table link. Target ID is \"{0}\". Will skip this link.", this.reference);
 	}
+
+	@Override
+	public void writeTo(final DataOutput output) throws IOException {
+	    output.writeByte(TYPE_FAKETABLE);
+	    CheckpointHelper.writeString(output, this.reference);
+	}
     }
     
     private static class FakeFigureLink extends AbstractLink<String> {	
@@ -139,6 +167,12 @@ public class RequirementLinks {
 	    if (targetRequirement != null) outputList.add(targetRequirement);	    
 	    else logger.log(Level.FINE, "Could not find the target requirement for a fake figure link. Target ID is \"{0}\". Will skip this link.", this.reference);
 	}
+
+	@Override
+	public void writeTo(final DataOutput output) throws IOException {
+	    output.writeByte(TYPE_FAKEFIGURE);
+	    CheckpointHelper.writeString(output, this.reference);
+	}
     }
     
     /**
@@ -222,4 +256,54 @@ public class RequirementLinks {
 	
 	return outputList;
     }
-}
+    
+    /**
+     * Write all unresolved links into a checkpoint
+     * 
+     * @param output where to write
+     * @throws IOException if the underlying stream cannot be written
+     * @see #readFrom(DataInput)
+     */
+    public void writeTo(final DataOutput output) throws IOException {
+	if (output == null) throw new IllegalArgumentException("output cannot be null.");
+	output.writeInt(this.rawLinks.size());
+	for (final Link link : this.rawLinks) link.writeTo(output);
+    }
+    
+    /**
+     * Add all links from a checkpoint
+     * 
+     * @param input where to read from
+     * @throws IOException if the underlying stream cannot be read or is malformed
+     * @see #writeTo(DataOutput)
+     */
+    public void readFrom(final DataInput input) throws IOException {
+	if (input == null) throw new IllegalArgumentException("input cannot be null.");
+	final int numberOfLinks = input.readInt();
+	for (int i = 0; i < numberOfLinks; i++) {
+	    final byte type = input.readByte();
+	    switch (type) {
+	    case TYPE_REAL:
+		this.rawLinks.add(new RealLink(input.readInt()));
+		break;
+	    case TYPE_FAKE:
+		this.rawLinks.add(new FakeLink(readReference(input)));
+		break;
+	    case TYPE_FAKETABLE:
+		this.rawLinks.add(new FakeTableLink(readReference(input)));
+		break;
+	    case TYPE_FAKEFIGURE:
+		this.rawLinks.add(new FakeFigureLink(readReference(input)));
+		break;
+	    default:
+		throw new IOException("Malformed link type in checkpoint.");
+	    }
+	}
+    }
+    
+    private static String readReference(final DataInput input) throws IOException {
+	final String output = CheckpointHelper.readString(input);
+	if (output == null) throw new IOException("Malformed link reference in checkpoint.");
+	return output;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,11 @@
 package requirement.data;
 
+import helper.CheckpointHelper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Structure to hold the text of a single requirement
  * 
@@ -81,6 +87,36 @@ public class RequirementText {
 	return this.richWithTraceTags;
     }
 
+    /**
+     * Write this text into a checkpoint
+     * 
+     * @param output where to write
+     * @throws IOException if the underlying stream cannot be written
+     * @see #readFrom(DataInput)
+     */
+    public void writeTo(final DataOutput output) throws IOException {
+	if (output == null) throw new IllegalArgumentException("output cannot be null.");
+	CheckpointHelper.writeString(output, this.raw);
+	CheckpointHelper.writeString(output, this.rich);
+	CheckpointHelper.writeString(output, this.richWithTraceTags);
+	CheckpointHelper.writeString(output, this.implementerEnhanced);
+    }
+    
+    /**
+     * Restore a text from a checkpoint
+     * 
+     * @param input where to read from
+     * @return the restored text; never {@code null}
+     * @throws IOException if the underlying stream cannot be read
+     * @see #writeTo(DataOutput)
+     */
+    public static RequirementText readFrom(final DataInput input) throws IOException {
+	if (input == null) throw new IllegalArgumentException("input cannot be null.");
+	final RequirementText output = new RequirementText(CheckpointHelper.readString(input), CheckpointHelper.readString(input), CheckpointHelper.readString(input));
+	output.implementerEnhanced = CheckpointHelper.readString(input);
+	return output;
+    }
+
     /**
      * Textual representation of this object; for debugging purporses only
      * 
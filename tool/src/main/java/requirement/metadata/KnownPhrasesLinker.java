@@ -119,13 +119,14 @@ public class KnownPhrasesLinker {
 
 	    // Step 2: match all previously stored phrases against this requirement
 	    final RangeChecker rangeChecker = new RangeChecker();
+	    final String textToProcessLowerCase = textToProcess.toLowerCase(Locale.ENGLISH); // same for all phrases
 	    for(final Entry<String, RequirementTemporary> currentPhrase : this.phraseToRequirementMapper.entrySet()) {
 		final Pattern searchPattern = Pattern.compile(RegexHelper.quoteRegex(currentPhrase.getKey())); // we do not precompile these because patterns cant be easly compared by length for equality		
-		final Matcher matcherStep2 = searchPattern.matcher(textToProcess.toLowerCase(Locale.ENGLISH));
+		final Matcher matcherStep2 = searchPattern.matcher(textToProcessLowerCase);
 		while (matcherStep2.find()) {
 		    if (!rangeChecker.isChildRange(matcherStep2.start(), matcherStep2.end())) {
 			// it is ok to link the same targetOffset several times (which may happen if a phrase occurs more than once per requirement
-			final int targetOffset = currentPhrase.getValue().getAssociatedRange().getStartOffset();
+			final int targetOffset = currentPhrase.getValue().getAssociatedStartOffset();
 			requirement.getRequirementKnownTermLinks().addLinkToExternalStartOffset(targetOffset);
 			// mark the phrase in the implementerEnhanced field
 			requirement.getMetadata().getTextAnnotator().addAnnotation(matcherStep2.start(), matcherStep2.end(), AnnotationBuilder.LINKED_PHRASE.getAnnotator());
@@ -1,5 +1,11 @@
 package requirement.metadata;
 
+import helper.CheckpointHelper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * This holds all metadata required by reqif
  * 
@@ -114,4 +120,41 @@ public final class MetadataReqif {
     public void setAtomic(final boolean input) {
 	this.atomic = input;
     }    
+
+    /**
+     * Write all metadata into a checkpoint
+     * 
+     * @param output where to write
+     * @throws IOException if the underlying stream cannot be written
+     * @see #readFrom(DataInput)
+     */
+    public void writeTo(final DataOutput output) throws IOException {
+	if (output == null) throw new IllegalArgumentException("output cannot be null.");
+	CheckpointHelper.writeString(output, this.numberText);
+	CheckpointHelper.writeEnum(output, this.kind);
+	CheckpointHelper.writeEnum(output, this.legalObligation);
+	output.writeBoolean(this.atomic);
+	output.writeByte(this.implement == null ? -1 : this.implement ? 1 : 0);
+	output.writeBoolean(this.textAnnotator != null);
+	if (this.textAnnotator != null) this.textAnnotator.writeTo(output);
+    }
+    
+    /**
+     * Overwrite all metadata with the data from a checkpoint
+     * 
+     * @param input where to read from
+     * @throws IOException if the underlying stream cannot be read or is malformed
+     * @see #writeTo(DataOutput)
+     */
+    public void readFrom(final DataInput input) throws IOException {
+	if (input == null) throw new IllegalArgumentException("input cannot be null.");
+	this.numberText = CheckpointHelper.readString(input);
+	this.kind = CheckpointHelper.readEnum(input, Kind.values());
+	this.legalObligation = CheckpointHelper.readEnum(input, LegalObligation.values());
+	if (this.legalObligation == null) throw new IOException("Malformed legal obligation in checkpoint.");
+	this.atomic = input.readBoolean();
+	final byte implementationFlag = input.readByte();
+	this.implement = implementationFlag < 0 ? null : Boolean.valueOf(implementationFlag == 1);
+	this.textAnnotator = input.readBoolean() ? TextAnnotator.readFrom(input) : null;
+    }
 }
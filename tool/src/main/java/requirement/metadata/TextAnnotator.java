@@ -1,11 +1,16 @@
 package requirement.metadata;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import helper.CheckpointHelper;
 import helper.XmlStringWriter;
+import helper.formatting.textannotation.AnnotationBuilder;
 import helper.formatting.textannotation.Annotator;
 
 /**
@@ -106,6 +111,52 @@ public class TextAnnotator {
 	return output;
     }    
 
+    /**
+     * Write the text and all annotations into a checkpoint
+     * 
+     * @param output where to write
+     * @throws IOException if the underlying stream cannot be written
+     * @throws IllegalStateException if an annotation has not been created by {@link AnnotationBuilder} and hence cannot be persisted
+     * @see #readFrom(DataInput)
+     */
+    public synchronized void writeTo(final DataOutput output) throws IOException {
+	if (output == null) throw new IllegalArgumentException("output cannot be null.");
+	CheckpointHelper.writeString(output, this.textToAnnotate);
+	output.writeInt(this.annotations.size());
+	for (final AnnotationRun annotation : this.annotations) {
+	    final AnnotationBuilder origin = AnnotationBuilder.getOriginOf(annotation.annotator);
+	    if (origin == null) throw new IllegalStateException("Annotation of unknown origin cannot be written to a checkpoint.");
+	    output.writeInt(annotation.startOffset);
+	    output.writeInt(annotation.endOffset);
+	    CheckpointHelper.writeEnum(output, origin);
+	    CheckpointHelper.writeString(output, AnnotationBuilder.getNameOf(annotation.annotator));
+	}
+    }
+    
+    /**
+     * Restore a text annotator from a checkpoint
+     * 
+     * @param input where to read from
+     * @return the restored annotator; never {@code null}
+     * @throws IOException if the underlying stream cannot be read or is malformed
+     * @see #writeTo(DataOutput)
+     */
+    static TextAnnotator readFrom(final DataInput input) throws IOException {
+	assert input != null;
+	final String textToAnnotate = CheckpointHelper.readString(input);
+	if (textToAnnotate == null) throw new IOException("Malformed text annotation in checkpoint.");
+	final TextAnnotator output = new TextAnnotator(textToAnnotate);
+	final int numberOfAnnotations = input.readInt();
+	for (int i = 0; i < numberOfAnnotations; i++) {
+	    final int startOffset = input.readInt();
+	    final int endOffset = input.readInt();
+	    final AnnotationBuilder origin = CheckpointHelper.readEnum(input, AnnotationBuilder.values());
+	    if (origin == null) throw new IOException("Malformed text annotation in checkpoint.");
+	    output.addAnnotation(startOffset, endOffset, origin.getAnnotator(CheckpointHelper.readString(input)));
+	}
+	return output;
+    }
+
     /**
      * Finds groups of overlapping annotations and processes each group individually
      * 
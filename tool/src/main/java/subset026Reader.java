@@ -1,7 +1,11 @@
 import java.io.PrintWriter;
 import java.util.concurrent.TimeUnit;
 
+import docreader.BatchReader;
+import docreader.Checkpoint;
+import docreader.DocumentPreflight;
 import docreader.DocumentReader;
+import docreader.GenericReader;
 import static helper.Constants.Internal.VERSION;
 
 /**
@@ -10,6 +14,11 @@ import static helper.Constants.Internal.VERSION;
  * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de> 
  */
 public class subset026Reader {
+    private final static String SWITCH_BATCH = "--batch";
+    private final static String SWITCH_CHECKPOINT = "--checkpoint";
+    private final static String SWITCH_RESUME = "--resume";
+    private final static String SWITCH_INCREMENTAL = "--incremental";
+    private final static String SWITCH_PREFLIGHT = "--preflight";
 
     /**
      * Main method
@@ -17,51 +26,123 @@ public class subset026Reader {
      * @param args command line arguments
      */
     public static void main(final String[] args) {
-	int returnValue;		
+	final int returnValue;
 
-	if (args.length != 3) {
+	if (args.length >= 2 && args.length <= 3 && SWITCH_BATCH.equals(args[0])) {
+	    returnValue = runTimed(new GenericReader<Integer>() {
+		@Override
+		public Integer read() {
+		    final int maxParallelDocuments = args.length == 3 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		    return new BatchReader(BatchReader.readManifest(args[1]), maxParallelDocuments).read() == 0 ? 0 : 1;
+		}
+	    });
+	}
+	else if (args.length == 6 && SWITCH_CHECKPOINT.equals(args[0])) {
+	    returnValue = runTimed(new GenericReader<Integer>() {
+		@Override
+		public Integer read() {
+		    final Checkpoint.Phase phase = Checkpoint.Phase.valueOf(args[1]);
+		    return new DocumentReader(args[3], args[4], args[5]).setCheckpoint(phase, args[2]).read();
+		}
+	    });
+	}
+	else if (args.length == 4 && SWITCH_RESUME.equals(args[0])) {
+	    returnValue = runTimed(new GenericReader<Integer>() {
+		@Override
+		public Integer read() {
+		    return DocumentReader.resume(args[2], args[1], args[3]).read();
+		}
+	    });
+	}
+	else if (args.length == 5 && SWITCH_INCREMENTAL.equals(args[0])) {
+	    returnValue = runTimed(new GenericReader<Integer>() {
+		@Override
+		public Integer read() {
+		    return new DocumentReader(args[2], args[3], args[4]).setSecondPassCache(args[1]).read();
+		}
+	    });
+	}
+	else if (args.length == 2 && SWITCH_PREFLIGHT.equals(args[0])) {
+	    returnValue = runTimed(new GenericReader<Integer>() {
+		@Override
+		public Integer read() {
+		    return new DocumentPreflight(args[1]).read();
+		}
+	    });
+	}
+	else if (args.length != 3) {
 	    printUsage();
 	    returnValue = 1;
 	}
 	else {
-	    final long startTime = System.currentTimeMillis();
-
 	    final String prefix = args[0];
 	    final String input = args[1];
 	    final String output = args[2];
 
-	    try {
-		returnValue = new DocumentReader(prefix, input, output).read();
-	    }
-	    catch (RuntimeException e) {
-		e.printStackTrace();
-		System.err.println("FAIL: " + e.getMessage());
-		returnValue = 1;
-	    }
-
-	    System.out.println();
-	    final long endTime = System.currentTimeMillis();
-	    final long runningTime = endTime - startTime;	    
-	    final String runningTimeHumanReadable = String.format("%d min, %02d sec", 
-		    TimeUnit.MILLISECONDS.toMinutes(runningTime),
-		    TimeUnit.MILLISECONDS.toSeconds(runningTime) - TimeUnit.MINUTES.toSeconds(TimeUnit.MILLISECONDS.toMinutes(runningTime))
-		    );
-	    System.out.println("Running time: " + runningTimeHumanReadable);
+	    returnValue = runTimed(new GenericReader<Integer>() {
+		@Override
+		public Integer read() {
+		    return new DocumentReader(prefix, input, output).read();
+		}
+	    });
 	}
 
 	System.exit(returnValue);
     }
 
+    /**
+     * Run a reader, report any failure and print the running time
+     * <p>The readers are set up inside {@link GenericReader#read()}; hence failures during setup are reported as well.</p>
+     * 
+     * @param reader reader to run
+     * @return return value of the reader; {@code 1} if it failed
+     */
+    private static int runTimed(final GenericReader<Integer> reader) {
+	final long startTime = System.currentTimeMillis();
+	int returnValue;
+	try {
+	    returnValue = reader.read();
+	}
+	catch (Exception e) { // NOPMD - GenericReader#read() may throw anything; all failures are reported alike
+	    e.printStackTrace();
+	    System.err.println("FAIL: " + e.getMessage());
+	    returnValue = 1;
+	}
+	printRunningTime(startTime);
+	return returnValue;
+    }
+
+    private static void printRunningTime(final long startTime) {
+	System.out.println();
+	final long endTime = System.currentTimeMillis();
+	final long runningTime = endTime - startTime;
+	final String runningTimeHumanReadable = String.format("%d min, %02d sec",
+		TimeUnit.MILLISECONDS.toMinutes(runningTime),
+		TimeUnit.MILLISECONDS.toSeconds(runningTime) - TimeUnit.MINUTES.toSeconds(TimeUnit.MILLISECONDS.toMinutes(runningTime))
+		);
+	System.out.println("Running time: " + runningTimeHumanReadable);
+    }
+
     private static void printUsage() {
 	final PrintWriter printWriter = new PrintWriter(System.out);
 	printWriter.println("subset026 writer - Version " + VERSION);
 	printWriter.println();
 	printWriter.println("USAGE:");
 	printWriter.println("subset026writer PREFIX INPUT OUTPUT");
+	printWriter.println("subset026writer " + SWITCH_BATCH + " MANIFEST [MAXDOCUMENTS]");
+	printWriter.println("subset026writer " + SWITCH_CHECKPOINT + " PHASE CHECKPOINT PREFIX INPUT OUTPUT");
+	printWriter.println("subset026writer " + SWITCH_RESUME + " CHECKPOINT PREFIX OUTPUT");
+	printWriter.println("subset026writer " + SWITCH_INCREMENTAL + " CACHE PREFIX INPUT OUTPUT");
+	printWriter.println("subset026writer " + SWITCH_PREFLIGHT + " INPUT");
 	printWriter.println();
-	printWriter.println("PREFIX - Prefix for media files");
-	printWriter.println("INPUT  - input *.doc");
-	printWriter.println("OUTPUT - output *.reqif");
+	printWriter.println("PREFIX       - Prefix for media files");
+	printWriter.println("INPUT        - input *.doc");
+	printWriter.println("OUTPUT       - output *.reqif");
+	printWriter.println("MANIFEST     - file with one PREFIX;INPUT;OUTPUT entry per line");
+	printWriter.println("MAXDOCUMENTS - maximum number of documents to process at the same time");
+	printWriter.println("PHASE        - FIRST_PASS or SECOND_PASS; phase after which the checkpoint is written");
+	printWriter.println("CHECKPOINT   - binary snapshot of the read document; resume into the directory of the original OUTPUT");
+	printWriter.println("CACHE        - second pass results of earlier runs; reused for unchanged sections and updated afterwards");
 	printWriter.flush();	
     }
 }
\ No newline at end of file
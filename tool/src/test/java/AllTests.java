@@ -1,15 +1,25 @@
 import helper.CSSManagerTest;
+import helper.Grid2DTest;
 import helper.nlp.NLPJobTest;
 import helper.subset26.MetadataDeterminerSecondPassTest;
 import helper.subset26.MetadataDeterminerTest;
+import helper.subset26.tables.TableDecisionAutomatonTest;
+import helper.subset26.tables.TableStructureKeyTest;
 import helper.word.DataConverterTest;
+import helper.word.MediaWriterTest;
+import helper.word.RasterImageConverterTest;
 
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 import requirement.metadata.TextAnnotatorTest;
+import docreader.CheckpointTest;
+import docreader.SecondPassCacheTest;
+import docreader.SecondPassReaderTest;
+import docreader.range.paragraph.ParagraphIndexTest;
 import docreader.range.paragraph.characterRun.FakeFieldHandlerTest;
+import docreader.range.table.TableDimensionsManagerTest;
 
 
 /**
@@ -26,6 +36,16 @@ import docreader.range.paragraph.characterRun.FakeFieldHandlerTest;
     CSSManagerTest.class,
     TextAnnotatorTest.class,
     DataConverterTest.class,
+    CheckpointTest.class,
+    RasterImageConverterTest.class,
+    TableDecisionAutomatonTest.class,
+    TableDimensionsManagerTest.class,
+    Grid2DTest.class,
+    SecondPassReaderTest.class,
+    SecondPassCacheTest.class,
+    TableStructureKeyTest.class,
+    ParagraphIndexTest.class,
+    MediaWriterTest.class,
     // NLPJobTest.class, // call this separately; for some reason it gets stuck when executing through this suite
 })
 public class AllTests {
@@ -0,0 +1,188 @@
+package docreader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+import helper.TraceabilityManagerHumanReadable;
+import helper.word.PictureStore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.poi.hwpf.usermodel.Range;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import requirement.RequirementRoot;
+import requirement.RequirementWParent;
+import requirement.TraceabilityLinker;
+import requirement.TraceableArtifact;
+import requirement.data.RequirementText;
+import requirement.metadata.Kind;
+import requirement.metadata.KnownPhrasesLinker;
+
+/**
+ * Tests for the binary snapshot of a read document
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public class CheckpointTest {
+    private final ReaderData readerData = mock(ReaderData.class);
+    private final ReaderData restoredReaderData = mock(ReaderData.class);
+    private final PictureStore pictureStore = new PictureStore();
+    private final PictureStore restoredPictureStore = new PictureStore();
+    private String checkpointFilename;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+	for (final ReaderData currentReaderData : new ReaderData[] {this.readerData, this.restoredReaderData}) {
+	    when(currentReaderData.getKnownPhrasesLinker()).thenReturn(new KnownPhrasesLinker());
+	    when(currentReaderData.getTraceabilityLinker()).thenReturn(new TraceabilityLinker());
+	}
+	when(this.readerData.getPictureStore()).thenReturn(this.pictureStore);
+	when(this.restoredReaderData.getPictureStore()).thenReturn(this.restoredPictureStore);
+	this.checkpointFilename = new File(this.folder.getRoot(), "document.checkpoint").getAbsolutePath();
+    }
+
+    /**
+     * A restored document equals the original one in its tree, its traceability information and its media to convert
+     *
+     * @throws IOException on errors while serializing the picture stores for comparison
+     */
+    @Test
+    public void roundTrip() throws IOException {
+	final RequirementRoot root = new RequirementRoot();
+	final RequirementWParent heading = addRequirement(root, 10, 1, "Introduction", Kind.HEADING);
+	final RequirementWParent ordinary = addRequirement(heading, 20, 1, "The onboard shall report its position (see Figure 1).", Kind.ORDINARY);
+	final RequirementWParent caption = addRequirement(heading, 30, 2, "Figure 1: Position report", Kind.FIGURE);
+	addRequirement(root, 40, 2, "Note: the trackside may ignore the report.", Kind.NOTE);
+	this.readerData.getTraceabilityLinker().addFigureLink("1", caption);
+	ordinary.getRequirementLinks().addLinkToGivenFigure("1");
+	ordinary.getRequirementLinks().addLinkToExternalStartOffset(45); // inside of the note
+	this.pictureStore.putPictureToConvert("media/image1.emf", "media/image1.png", 320, 200);
+	this.pictureStore.putShapeToConvert(30, "media/shape1.png");
+
+	Checkpoint.write(this.checkpointFilename, Checkpoint.Phase.FIRST_PASS, this.readerData, root);
+	final Checkpoint checkpoint = Checkpoint.read(this.checkpointFilename, this.restoredReaderData);
+	assertEquals(Checkpoint.Phase.FIRST_PASS, checkpoint.getPhase());
+
+	// tree
+	final List<RequirementWParent> originalRequirements = collectRequirements(root);
+	final List<RequirementWParent> restoredRequirements = collectRequirements(checkpoint.getRoot());
+	assertEquals(originalRequirements.size(), restoredRequirements.size());
+	for (int i = 0; i < originalRequirements.size(); i++) {
+	    final RequirementWParent original = originalRequirements.get(i);
+	    final RequirementWParent restored = restoredRequirements.get(i);
+	    assertEquals(original.getTraceId(), restored.getTraceId());
+	    assertEquals(original.getHumanReadableManager().getTag(), restored.getHumanReadableManager().getTag());
+	    assertEquals(original.getContent(), restored.getContent());
+	    assertEquals(original.getMetadata().getKind(), restored.getMetadata().getKind());
+	    assertEquals(originalRequirements.indexOf(original.getParent()), restoredRequirements.indexOf(restored.getParent()));
+	}
+	assertSame(checkpoint.getRoot(), restoredRequirements.get(0).getParent());
+
+	// traceability
+	final TraceabilityLinker restoredLinker = this.restoredReaderData.getTraceabilityLinker();
+	for (final RequirementWParent restored : restoredRequirements) {
+	    assertSame(restored, restoredLinker.getRequirement(restored.getTraceId()));
+	    assertSame(restored, restoredLinker.getRequirement(restored.getHumanReadableManager().getTag()));
+	}
+	final RequirementWParent restoredCaption = restoredRequirements.get(2);
+	final RequirementWParent restoredNote = restoredRequirements.get(3);
+	assertSame(restoredCaption, restoredLinker.getFullyQualifiedIdForFigure("1"));
+	final Set<TraceableArtifact> linkedRequirements = restoredRequirements.get(1).getRequirementLinks().getLinkedRequirements(this.restoredReaderData);
+	assertEquals(2, linkedRequirements.size());
+	final Iterator<TraceableArtifact> iterator = linkedRequirements.iterator();
+	assertSame(restoredCaption, iterator.next());
+	assertSame(restoredNote, iterator.next());
+
+	// media
+	assertArrayEquals(serialize(this.pictureStore), serialize(this.restoredPictureStore));
+    }
+
+    /**
+     * The phase after which the checkpoint has been written is restored
+     */
+    @Test
+    public void secondPassPhase() {
+	final RequirementRoot root = new RequirementRoot();
+	addRequirement(root, 10, 1, "Introduction", Kind.HEADING);
+	Checkpoint.write(this.checkpointFilename, Checkpoint.Phase.SECOND_PASS, this.readerData, root);
+	final Checkpoint checkpoint = Checkpoint.read(this.checkpointFilename, this.restoredReaderData);
+	assertEquals(Checkpoint.Phase.SECOND_PASS, checkpoint.getPhase());
+	final Iterator<RequirementWParent> iterator = checkpoint.getRoot().getChildIterator();
+	assertTrue(iterator.hasNext());
+	assertEquals(Kind.HEADING, iterator.next().getMetadata().getKind());
+	assertFalse(iterator.hasNext());
+    }
+
+    /**
+     * Files which are not a checkpoint are rejected
+     *
+     * @throws IOException on errors while writing the malformed file
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void malformedCheckpointIsRejected() throws IOException {
+	Files.write(new File(this.checkpointFilename).toPath(), "no checkpoint".getBytes(StandardCharsets.US_ASCII));
+	Checkpoint.read(this.checkpointFilename, this.restoredReaderData);
+    }
+
+    /**
+     * @param parent parent of the new requirement
+     * @param startOffset start offset of the range of the new requirement; i.e. its traceId
+     * @param number list number of the new requirement within its parent
+     * @param text textual contents of the new requirement
+     * @param kind kind of the new requirement
+     * @return the new requirement, never {@code null}
+     */
+    private RequirementWParent addRequirement(final RequirementRoot parent, final int startOffset, final int number, final String text, final Kind kind) {
+	final Range associatedRange = mock(Range.class);
+	when(associatedRange.getStartOffset()).thenReturn(startOffset);
+	final RequirementWParent requirement = new RequirementWParent(this.readerData, associatedRange, parent);
+	requirement.setText(new RequirementText(text, null));
+	requirement.getMetadata().setKind(kind);
+	final TraceabilityManagerHumanReadable hrManager = new TraceabilityManagerHumanReadable();
+	hrManager.addList(Integer.toString(number));
+	requirement.setHumanReadableManager(hrManager);
+	return requirement;
+    }
+
+    /**
+     * @return all requirements of the given tree in preorder
+     */
+    private static List<RequirementWParent> collectRequirements(final RequirementRoot root) {
+	final List<RequirementWParent> output = new ArrayList<>();
+	final Iterator<RequirementWParent> iterator = root.getChildIterator();
+	while (iterator.hasNext()) {
+	    final RequirementWParent requirement = iterator.next();
+	    output.add(requirement);
+	    output.addAll(collectRequirements(requirement));
+	}
+	return output;
+    }
+
+    private static byte[] serialize(final PictureStore pictureStore) throws IOException {
+	final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+	try (final DataOutputStream output = new DataOutputStream(buffer)) {
+	    pictureStore.writeTo(output);
+	}
+	return buffer.toByteArray();
+    }
+}
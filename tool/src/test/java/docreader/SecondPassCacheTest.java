@@ -0,0 +1,183 @@
+package docreader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+import helper.TraceabilityManagerHumanReadable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.poi.hwpf.usermodel.Range;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import requirement.RequirementRoot;
+import requirement.RequirementWParent;
+import requirement.TraceabilityLinker;
+import requirement.data.RequirementText;
+import requirement.metadata.Kind;
+import requirement.metadata.KnownPhrasesLinker;
+
+/**
+ * Tests for the persistent cache of second pass results
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public class SecondPassCacheTest {
+    private final static String TEXT = "The onboard shall report its position to the trackside.";
+    private final ReaderData readerData = mock(ReaderData.class);
+    private final Range associatedRange = mock(Range.class);
+    private String cacheFilename;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+	when(this.readerData.getKnownPhrasesLinker()).thenReturn(new KnownPhrasesLinker());
+	// do not create the file; an empty file is not a valid cache
+	this.cacheFilename = new File(this.folder.getRoot(), "secondpass.cache").getAbsolutePath();
+    }
+
+    /**
+     * The stored results are applied to an unchanged subtree
+     */
+    @Test
+    public void unchangedSubtreeIsReused() {
+	final RequirementRoot firstRoot = newDocument();
+	final RequirementWParent firstSection = addSection(firstRoot, TEXT);
+	final SecondPassCache firstCache = new SecondPassCache(this.cacheFilename);
+	assertFalse(firstCache.applyCachedResult(firstSection, new HashSet<RequirementWParent>()));
+	simulateSecondPass(firstSection);
+	assertEquals(0, firstCache.write(firstRoot));
+
+	final RequirementRoot secondRoot = newDocument();
+	final RequirementWParent secondSection = addSection(secondRoot, TEXT);
+	final SecondPassCache secondCache = new SecondPassCache(this.cacheFilename);
+	final Set<RequirementWParent> processedRequirements = new HashSet<>();
+	assertTrue(secondCache.applyCachedResult(secondSection, processedRequirements));
+	final RequirementWParent child = secondSection.getChildIterator().next();
+	assertEquals(Kind.NOTE, child.getMetadata().getKind());
+	assertEquals(Kind.HEADING, secondSection.getMetadata().getKind());
+	assertEquals(2, processedRequirements.size());
+	assertTrue(processedRequirements.contains(secondSection));
+	assertTrue(processedRequirements.contains(child));
+	assertEquals(1, secondCache.write(secondRoot));
+
+	// reused results are retained for the next run
+	final RequirementWParent thirdSection = addSection(newDocument(), TEXT);
+	assertTrue(new SecondPassCache(this.cacheFilename).applyCachedResult(thirdSection, new HashSet<RequirementWParent>()));
+    }
+
+    /**
+     * A subtree whose text has changed undergoes the second pass again
+     */
+    @Test
+    public void changedSubtreeIsNotReused() {
+	final RequirementRoot firstRoot = newDocument();
+	final RequirementWParent firstSection = addSection(firstRoot, TEXT);
+	final SecondPassCache firstCache = new SecondPassCache(this.cacheFilename);
+	firstCache.applyCachedResult(firstSection, new HashSet<RequirementWParent>());
+	simulateSecondPass(firstSection);
+	firstCache.write(firstRoot);
+
+	final RequirementWParent secondSection = addSection(newDocument(), "The onboard may report its position to the trackside.");
+	final Set<RequirementWParent> processedRequirements = new HashSet<>();
+	assertFalse(new SecondPassCache(this.cacheFilename).applyCachedResult(secondSection, processedRequirements));
+	assertTrue(processedRequirements.isEmpty());
+	assertEquals(Kind.ORDINARY, secondSection.getChildIterator().next().getMetadata().getKind());
+    }
+
+    /**
+     * Results of a subtree which received further requirements after its fingerprint was taken are not stored
+     */
+    @Test
+    public void lateChildIsNotStored() {
+	final RequirementRoot firstRoot = newDocument();
+	final RequirementWParent firstSection = addRequirement(firstRoot, 1, "Section", Kind.HEADING);
+	final SecondPassCache firstCache = new SecondPassCache(this.cacheFilename);
+	firstCache.applyCachedResult(firstSection, new HashSet<RequirementWParent>());
+	addRequirement(firstSection, 1, TEXT, Kind.ORDINARY);
+	assertEquals(0, firstCache.write(firstRoot));
+
+	final RequirementWParent secondSection = addRequirement(newDocument(), 1, "Section", Kind.HEADING);
+	assertFalse(new SecondPassCache(this.cacheFilename).applyCachedResult(secondSection, new HashSet<RequirementWParent>()));
+    }
+
+    /**
+     * Subtrees which have not been seen in this run are not stored
+     */
+    @Test
+    public void unseenSubtreeIsNotStored() {
+	final RequirementRoot root = newDocument();
+	addSection(root, TEXT);
+	assertEquals(0, new SecondPassCache(this.cacheFilename).write(root));
+
+	final RequirementWParent section = addSection(newDocument(), TEXT);
+	assertFalse(new SecondPassCache(this.cacheFilename).applyCachedResult(section, new HashSet<RequirementWParent>()));
+    }
+
+    /**
+     * A malformed cache file is treated like a missing one
+     *
+     * @throws IOException on errors while writing the malformed file
+     */
+    @Test
+    public void malformedCacheIsIgnored() throws IOException {
+	Files.write(new File(this.cacheFilename).toPath(), "no cache".getBytes(StandardCharsets.US_ASCII));
+	final RequirementWParent section = addSection(newDocument(), TEXT);
+	assertFalse(new SecondPassCache(this.cacheFilename).applyCachedResult(section, new HashSet<RequirementWParent>()));
+    }
+
+    /**
+     * @return root of a new document; i.e. a run of its own
+     */
+    private RequirementRoot newDocument() {
+	when(this.readerData.getTraceabilityLinker()).thenReturn(new TraceabilityLinker());
+	return new RequirementRoot();
+    }
+
+    /**
+     * Stand in for the second pass; alters the metadata of the first child
+     */
+    private static void simulateSecondPass(final RequirementWParent section) {
+	section.getChildIterator().next().getMetadata().setKind(Kind.NOTE);
+    }
+
+    /**
+     * @param parent parent of the new section
+     * @param text text of the single child of the new section
+     * @return a new top-level section with a single child in the state after the first pass
+     */
+    private RequirementWParent addSection(final RequirementRoot parent, final String text) {
+	final RequirementWParent section = addRequirement(parent, 1, "Section", Kind.HEADING);
+	addRequirement(section, 1, text, Kind.ORDINARY);
+	return section;
+    }
+
+    /**
+     * @param parent parent of the new requirement
+     * @param number list number of the new requirement within its parent
+     * @param text textual contents of the new requirement
+     * @param kind kind of the new requirement
+     * @return the new requirement, never {@code null}
+     */
+    private RequirementWParent addRequirement(final RequirementRoot parent, final int number, final String text, final Kind kind) {
+	final RequirementWParent requirement = new RequirementWParent(this.readerData, this.associatedRange, parent);
+	requirement.setText(new RequirementText(text, null));
+	requirement.getMetadata().setKind(kind);
+	final TraceabilityManagerHumanReadable hrManager = new TraceabilityManagerHumanReadable();
+	hrManager.addList(Integer.toString(number));
+	requirement.setHumanReadableManager(hrManager);
+	return requirement;
+    }
+}
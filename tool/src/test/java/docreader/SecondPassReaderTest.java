@@ -0,0 +1,147 @@
+package docreader;
+
+import static org.junit.Assert.assertEquals;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+import helper.ConsoleOutputFilter;
+import helper.TraceabilityManagerHumanReadable;
+
+import java.io.File;
+import java.io.PrintStream;
+
+import org.apache.poi.hwpf.usermodel.Range;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import requirement.RequirementRoot;
+import requirement.RequirementWParent;
+import requirement.TraceabilityLinker;
+import requirement.data.RequirementText;
+import requirement.metadata.Kind;
+import requirement.metadata.KnownPhrasesLinker;
+
+/**
+ * Tests for the overlapped and incremental second pass
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public class SecondPassReaderTest {
+    private final static String[] SECTIONS = {
+	"The onboard shall report its position to the trackside.",
+	"The driver shall acknowledge the level transition.",
+	"The trackside shall send a movement authority.",
+    };
+    private final ReaderData readerData = mock(ReaderData.class);
+    private final Range associatedRange = mock(Range.class);
+    private final ConsoleOutputFilter consoleFilter = new ConsoleOutputFilter();
+    private PrintStream originalErr;
+    private PrintStream originalOut;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+	when(this.readerData.getKnownPhrasesLinker()).thenReturn(new KnownPhrasesLinker());
+	when(this.readerData.getTraceabilityLinker()).thenReturn(new TraceabilityLinker());
+	// the background thread installs the console router; do not let it swallow the output of other tests
+	this.originalErr = System.err;
+	this.originalOut = System.out;
+    }
+
+    @After
+    public void tearDown() {
+	this.consoleFilter.close();
+	System.setErr(this.originalErr);
+	System.setOut(this.originalOut);
+    }
+
+    /**
+     * Reading the same document twice must reuse the results of all its top-level sections
+     */
+    @Test
+    public void unchangedDocumentIsReused() {
+	final String cacheFilename = new File(this.folder.getRoot(), "secondpass.cache").getAbsolutePath();
+	assertEquals(0, runSecondPass(cacheFilename, SECTIONS));
+	assertEquals(SECTIONS.length, runSecondPass(cacheFilename, SECTIONS));
+    }
+
+    /**
+     * Only unchanged sections are reused
+     */
+    @Test
+    public void changedSectionIsNotReused() {
+	final String cacheFilename = new File(this.folder.getRoot(), "secondpass.cache").getAbsolutePath();
+	assertEquals(0, runSecondPass(cacheFilename, SECTIONS));
+	final String[] revisedSections = SECTIONS.clone();
+	revisedSections[1] = "The driver may acknowledge the level transition.";
+	assertEquals(SECTIONS.length - 1, runSecondPass(cacheFilename, revisedSections));
+    }
+
+    /**
+     * A section which receives a child after it has been processed in the background must end up as in the sequential second pass
+     */
+    @Test
+    public void lateChildIsRespected() {
+	// sequential
+	final RequirementRoot sequentialRoot = new RequirementRoot();
+	final RequirementWParent sequentialHeading = addRequirement(sequentialRoot, 1, "Level transitions", Kind.HEADING);
+	addRequirement(sequentialRoot, 2, SECTIONS[0], Kind.ORDINARY);
+	addRequirement(sequentialHeading, 1, SECTIONS[1], Kind.ORDINARY);
+	new SecondPassReader(sequentialRoot, this.consoleFilter, null).read();
+	when(this.readerData.getTraceabilityLinker()).thenReturn(new TraceabilityLinker());
+
+	// overlapped; the heading has no children when it is processed in the background
+	final RequirementRoot root = new RequirementRoot();
+	final SecondPassReader reader = new SecondPassReader(root, this.consoleFilter, null);
+	final RequirementWParent heading = addRequirement(root, 1, "Level transitions", Kind.HEADING);
+	reader.notifyReadPosition(heading);
+	reader.notifyReadPosition(addRequirement(root, 2, SECTIONS[0], Kind.ORDINARY));
+	reader.beforeModification(heading);
+	addRequirement(heading, 1, SECTIONS[1], Kind.ORDINARY);
+	reader.read();
+
+	assertEquals(sequentialHeading.getMetadata().getKind(), heading.getMetadata().getKind());
+	assertEquals(Kind.HEADING, heading.getMetadata().getKind());
+    }
+
+    /**
+     * Run the overlapped second pass on a document with one top-level section (with a single child) per given text
+     *
+     * @param cacheFilename second pass cache to use
+     * @param sections texts of the top-level sections
+     * @return number of reused top-level sections
+     */
+    private int runSecondPass(final String cacheFilename, final String[] sections) {
+	when(this.readerData.getTraceabilityLinker()).thenReturn(new TraceabilityLinker());
+	final RequirementRoot root = new RequirementRoot();
+	final SecondPassReader reader = new SecondPassReader(root, this.consoleFilter, new SecondPassCache(cacheFilename));
+	for (int i = 0; i < sections.length; i++) {
+	    final RequirementWParent topLevelRequirement = addRequirement(root, i + 1, "Section", Kind.HEADING);
+	    reader.notifyReadPosition(topLevelRequirement);
+	    reader.notifyReadPosition(addRequirement(topLevelRequirement, 1, sections[i], Kind.ORDINARY));
+	}
+	reader.read();
+	return reader.getNumberOfReusedSubtrees();
+    }
+
+    /**
+     * @param parent parent of the new requirement
+     * @param number list number of the new requirement within its parent
+     * @param text textual contents of the new requirement
+     * @param kind kind of the new requirement
+     * @return the new requirement, never {@code null}
+     */
+    private RequirementWParent addRequirement(final RequirementRoot parent, final int number, final String text, final Kind kind) {
+	final RequirementWParent requirement = new RequirementWParent(this.readerData, this.associatedRange, parent);
+	requirement.setText(new RequirementText(text, null));
+	requirement.getMetadata().setKind(kind);
+	final TraceabilityManagerHumanReadable hrManager = new TraceabilityManagerHumanReadable();
+	hrManager.addList(Integer.toString(number));
+	requirement.setHumanReadableManager(hrManager);
+	return requirement;
+    }
+}
@@ -0,0 +1,174 @@
+package docreader.range.paragraph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import org.apache.poi.hwpf.usermodel.CharacterRun;
+import org.apache.poi.hwpf.usermodel.Paragraph;
+import org.apache.poi.hwpf.usermodel.Range;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+/**
+ * Tests for the per document paragraph index
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({CharacterRun.class})
+public class ParagraphIndexTest {
+    private final static int DOCUMENT_START = 100;
+    /**
+     * texts of the character runs of each paragraph
+     */
+    private final static String[][] RUNS = {
+	{"Title\r"},
+	{"\u0007\r"},
+	{"\u0013", "TOC", "\u0014", "1 Scope\t3", "\u0015", "\r"},
+    };
+    private final Range documentRange = mock(Range.class);
+    private final Paragraph[] paragraphs = new Paragraph[RUNS.length];
+
+    @Before
+    public void setUp() {
+	final StringBuilder text = new StringBuilder();
+	for (int i = 0; i < RUNS.length; i++) {
+	    final Paragraph paragraph = mock(Paragraph.class);
+	    when(paragraph.getStartOffset()).thenReturn(DOCUMENT_START + text.length());
+	    when(paragraph.numCharacterRuns()).thenReturn(RUNS[i].length);
+	    for (int j = 0; j < RUNS[i].length; j++) {
+		final CharacterRun characterRun = mock(CharacterRun.class);
+		when(characterRun.getStartOffset()).thenReturn(DOCUMENT_START + text.length());
+		text.append(RUNS[i][j]);
+		when(characterRun.getEndOffset()).thenReturn(DOCUMENT_START + text.length());
+		when(characterRun.isSpecialCharacter()).thenReturn(RUNS[i][j].length() == 1 && RUNS[i][j].charAt(0) >= '\u0013' && RUNS[i][j].charAt(0) <= '\u0015');
+		when(paragraph.getCharacterRun(j)).thenReturn(characterRun);
+	    }
+	    when(paragraph.getEndOffset()).thenReturn(DOCUMENT_START + text.length());
+	    when(paragraph.isInTable()).thenReturn(i == 1);
+	    when(paragraph.getTableLevel()).thenReturn(i == 1 ? 1 : 0);
+	    when(paragraph.isInList()).thenReturn(i == 2);
+	    when(paragraph.getStyleIndex()).thenReturn((short) (10 + i));
+	    when(this.documentRange.getParagraph(i)).thenReturn(paragraph);
+	    this.paragraphs[i] = paragraph;
+	}
+	when(this.documentRange.numParagraphs()).thenReturn(RUNS.length);
+	when(this.documentRange.getStartOffset()).thenReturn(DOCUMENT_START);
+	when(this.documentRange.text()).thenReturn(text.toString());
+    }
+
+    /**
+     * The index yields the same paragraph properties as POI
+     */
+    @Test
+    public void paragraphProperties() {
+	final ParagraphIndex index = new ParagraphIndex(this.documentRange);
+	assertEquals(RUNS.length, index.numParagraphs());
+	for (int i = 0; i < RUNS.length; i++) {
+	    assertEquals(this.paragraphs[i].getStartOffset(), index.getStartOffset(i));
+	    assertEquals(this.paragraphs[i].getEndOffset(), index.getEndOffset(i));
+	    assertEquals(join(RUNS[i]), index.getText(i).toString());
+	    assertEquals(this.paragraphs[i].isInTable(), index.isInTable(i));
+	    assertEquals(this.paragraphs[i].getTableLevel(), index.getTableLevel(i));
+	    assertEquals(this.paragraphs[i].isInList(), index.isInList(i));
+	    assertEquals(this.paragraphs[i].getStyleIndex(), index.getStyleIndex(i));
+	}
+	assertFalse(index.isEmpty(0));
+	assertTrue(index.isEmpty(1));
+	assertFalse(index.isEmpty(2));
+    }
+
+    /**
+     * Paragraphs of nested ranges are mapped onto their running number within the document
+     */
+    @Test
+    public void nestedRanges() {
+	final ParagraphIndex index = new ParagraphIndex(this.documentRange);
+	assertEquals(0, index.getParagraphIndex(this.documentRange, 0));
+	assertEquals(2, index.getParagraphIndex(this.documentRange, 2));
+
+	final int startOffsetParagraph1 = this.paragraphs[1].getStartOffset();
+	final int startOffsetParagraph2 = this.paragraphs[2].getStartOffset();
+	final Range nestedRange = mock(Range.class);
+	when(nestedRange.getStartOffset()).thenReturn(startOffsetParagraph1 + 1);
+	assertEquals(1, index.getParagraphIndex(nestedRange, 0));
+	assertEquals(2, index.getParagraphIndex(nestedRange, 1));
+
+	when(nestedRange.getStartOffset()).thenReturn(startOffsetParagraph2);
+	assertEquals(2, index.getParagraphIndex(nestedRange, 0));
+    }
+
+    /**
+     * Ranges of the main document are indexed; subdocuments behind it (footnotes, ...) are not
+     */
+    @Test
+    public void containedRanges() {
+	final ParagraphIndex index = new ParagraphIndex(this.documentRange);
+	final int endOffset = this.paragraphs[RUNS.length - 1].getEndOffset();
+	when(this.documentRange.getEndOffset()).thenReturn(endOffset);
+	assertTrue(index.contains(this.documentRange));
+
+	final int startOffsetParagraph1 = this.paragraphs[1].getStartOffset();
+	final int endOffsetParagraph1 = this.paragraphs[1].getEndOffset();
+	final Range nestedRange = mock(Range.class);
+	when(nestedRange.getStartOffset()).thenReturn(startOffsetParagraph1);
+	when(nestedRange.getEndOffset()).thenReturn(endOffsetParagraph1);
+	assertTrue(index.contains(nestedRange));
+
+	final Range noteRange = mock(Range.class);
+	when(noteRange.getStartOffset()).thenReturn(endOffset);
+	when(noteRange.getEndOffset()).thenReturn(endOffset + 20);
+	assertFalse(index.contains(noteRange));
+    }
+
+    /**
+     * Character runs are only read from POI when they are queried for the first time
+     */
+    @Test
+    public void characterRunsAreRecordedLazily() {
+	final ParagraphIndex index = new ParagraphIndex(this.documentRange);
+	for (final Paragraph paragraph : this.paragraphs) verify(paragraph, never()).numCharacterRuns();
+
+	for (int k = 0; k < 2; k++) {
+	    assertEquals(RUNS[2].length, index.numCharacterRuns(2));
+	    for (int j = 0; j < RUNS[2].length; j++) {
+		assertEquals(RUNS[2][j], index.getCharacterRunText(2, j).toString());
+		assertEquals(j == 0 || j == 2 || j == 4, index.isSpecialCharacterRun(2, j));
+	    }
+	}
+	verify(this.paragraphs[2], times(1)).numCharacterRuns();
+	verify(this.paragraphs[0], never()).numCharacterRuns();
+	verify(this.paragraphs[1], never()).numCharacterRuns();
+    }
+
+    /**
+     * Queries for paragraphs outside of the document are rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void missingParagraph() {
+	new ParagraphIndex(this.documentRange).getText(RUNS.length);
+    }
+
+    /**
+     * Queries for character runs outside of the paragraph are rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void missingCharacterRun() {
+	new ParagraphIndex(this.documentRange).getCharacterRunText(0, 1);
+    }
+
+    private static String join(final String[] input) {
+	final StringBuilder output = new StringBuilder();
+	for (final String currentString : input) output.append(currentString);
+	return output.toString();
+    }
+}
@@ -0,0 +1,183 @@
+package docreader.range.table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import org.apache.poi.hwpf.usermodel.Table;
+import org.apache.poi.hwpf.usermodel.TableCell;
+import org.apache.poi.hwpf.usermodel.TableRow;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import docreader.range.table.TableDimensionsManager.CellData;
+
+/**
+ * Tests for the dimensions of table cells
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Table.class, TableRow.class, TableCell.class})
+public class TableDimensionsManagerTest {
+    /**
+     * absolute row heights in twips
+     */
+    private final static int[] ROW_HEIGHTS = {300, 200, 100, 100, 100};
+    private TableDimensionsManager manager;
+
+    /**
+     * Set up the following table (column widths 1000 twips each):
+     * <pre>
+     * +---+---+
+     * | a | b |
+     * +---+---+
+     * |   c   |  (one cell spanning both edges)
+     * +---+---+
+     * | d | e |
+     * +   +---+  (d is vertically merged)
+     * |   | f |
+     * +---+---+
+     * |   g   |  (g is horizontally merged)
+     * +---+---+
+     * </pre>
+     */
+    @Before
+    public void setUp() {
+	final Table table = mock(Table.class);
+	when(table.numRows()).thenReturn(ROW_HEIGHTS.length);
+	final TableCell a = mockCell(0, 1000);
+	final TableCell b = mockCell(1000, 1000);
+	mockRow(table, 0, a, b);
+	final TableCell c = mockCell(0, 2000);
+	mockRow(table, 1, c);
+	final TableCell d = mockCell(0, 1000);
+	when(d.isVerticallyMerged()).thenReturn(true);
+	when(d.isFirstVerticallyMerged()).thenReturn(true);
+	final TableCell e = mockCell(1000, 1000);
+	mockRow(table, 2, d, e);
+	final TableCell dMerged = mockCell(0, 1000);
+	when(dMerged.isVerticallyMerged()).thenReturn(true);
+	final TableCell f = mockCell(1000, 1000);
+	mockRow(table, 3, dMerged, f);
+	final TableCell g = mockCell(0, 1000);
+	when(g.isMerged()).thenReturn(true);
+	when(g.isFirstMerged()).thenReturn(true);
+	final TableCell gMerged = mockCell(1000, 1000);
+	when(gMerged.isMerged()).thenReturn(true);
+	mockRow(table, 4, g, gMerged);
+
+	this.manager = new TableDimensionsManager(table);
+    }
+
+    /**
+     * Cells stack on top of each other according to the absolute row heights
+     */
+    @Test
+    public void positions() {
+	int top = 0;
+	for (int rn = 0; rn < ROW_HEIGHTS.length; rn++) {
+	    final int cn = rn == 3 ? 1 : 0; // the first cell of row 3 is merged
+	    assertEquals(top, this.manager.getTop(rn, cn));
+	    assertEquals(top + ROW_HEIGHTS[rn], this.manager.getBottom(rn, cn));
+	    top += ROW_HEIGHTS[rn];
+	}
+	assertEquals(0, this.manager.getLeft(0, 0));
+	assertEquals(1000, this.manager.getRight(0, 0));
+	assertEquals(1000, this.manager.getLeft(3, 1));
+	assertEquals(2000, this.manager.getRight(3, 1));
+	assertEquals(2000, this.manager.getRight(1, 0));
+    }
+
+    /**
+     * Spans are derived from the merge flags as well as from the cell edges
+     */
+    @Test
+    public void spans() {
+	assertCellData(this.manager.getCellData(0, 1), 1000, 2000, 0, 300, 1, 1);
+	// spans both cell edges without any merge flag
+	assertCellData(this.manager.getCellData(1, 0), 0, 2000, 300, 500, 1, 2);
+	assertCellData(this.manager.getCellData(2, 0), 0, 1000, 500, 600, 2, 1);
+	assertCellData(this.manager.getCellData(4, 0), 0, 1000, 700, 800, 1, 2);
+    }
+
+    /**
+     * Merged cells and cells outside of the table have no data
+     */
+    @Test
+    public void holes() {
+	assertTrue(this.manager.hasCellData(0, 0));
+	assertFalse(this.manager.hasCellData(1, 1));
+	assertFalse(this.manager.hasCellData(3, 0));
+	assertFalse(this.manager.hasCellData(4, 1));
+	assertFalse(this.manager.hasCellData(-1, 0));
+	assertFalse(this.manager.hasCellData(0, -1));
+	assertFalse(this.manager.hasCellData(0, 2));
+	assertFalse(this.manager.hasCellData(ROW_HEIGHTS.length, 0));
+	assertNull(this.manager.getCellData(3, 0));
+	assertNull(this.manager.getCellData(ROW_HEIGHTS.length, 0));
+    }
+
+    /**
+     * The row bounds reflect the number of cells in each row
+     */
+    @Test
+    public void rowBounds() {
+	assertEquals(2, this.manager.getLastColumnIndexForRow(0));
+	assertEquals(1, this.manager.getLastColumnIndexForRow(1));
+	assertEquals(2, this.manager.getLastColumnIndexForRow(3));
+	assertEquals(ROW_HEIGHTS.length, this.manager.getIndexOfLastRow());
+    }
+
+    /**
+     * Merged cells cannot be queried for their dimensions
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void mergedCellIsRejected() {
+	this.manager.getLeft(3, 0);
+    }
+
+    /**
+     * Rows outside of the table are rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void missingRowIsRejected() {
+	this.manager.getLastColumnIndexForRow(ROW_HEIGHTS.length);
+    }
+
+    private static void assertCellData(final CellData cellData, final int left, final int right, final int top, final int bottom, final int rowspan, final int colspan) {
+	assertEquals(left, cellData.getLeft());
+	assertEquals(right, cellData.getRight());
+	assertEquals(top, cellData.getTop());
+	assertEquals(bottom, cellData.getBottom());
+	assertEquals(rowspan, cellData.getRowspan());
+	assertEquals(colspan, cellData.getColspan());
+    }
+
+    private static TableCell mockCell(final int leftEdge, final int width) {
+	final TableCell cell = mock(TableCell.class);
+	when(cell.getLeftEdge()).thenReturn(leftEdge);
+	when(cell.getWidth()).thenReturn(width);
+	return cell;
+    }
+
+    /**
+     * @param table table which receives the row
+     * @param rowNum 0-based number of the row
+     * @param cells cells of the row
+     */
+    private static void mockRow(final Table table, final int rowNum, final TableCell... cells) {
+	final TableRow row = mock(TableRow.class);
+	// negative values denote absolute heights; no estimation on the basis of the cell contents takes place
+	when(row.getRowHeight()).thenReturn(-ROW_HEIGHTS[rowNum]);
+	when(row.numCells()).thenReturn(cells.length);
+	for (int cn = 0; cn < cells.length; cn++) when(row.getCell(cn)).thenReturn(cells[cn]);
+	when(table.getRow(rowNum)).thenReturn(row);
+    }
+}
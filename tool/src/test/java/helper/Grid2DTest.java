@@ -0,0 +1,98 @@
+package helper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests for the dense grid store
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public class Grid2DTest {
+
+    /**
+     * Positions which have never been written (including out of range ones) yield {@code null}
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void missingValuesAreNull() {
+	final Grid2D<String> grid = new Grid2D<>();
+	assertNull(grid.get(0, 0));
+	assertNull(grid.get(-1, 0));
+	assertNull(grid.get(0, -1));
+	assertFalse(grid.hasRow(0));
+	assertFalse(grid.hasRow(-1));
+
+	grid.put(2, 3, "x");
+	assertNull(grid.get(2, 2));
+	assertNull(grid.get(2, 4));
+	assertNull(grid.get(1, 3));
+	assertNull(grid.get(3, 3));
+	assertFalse(grid.hasRow(1));
+	assertTrue(grid.hasRow(2));
+    }
+
+    /**
+     * Rows grow independently of each other; earlier values survive growing
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void raggedRowsGrowOnDemand() {
+	final Grid2D<Integer> grid = new Grid2D<>();
+	grid.put(0, 0, Integer.valueOf(0));
+	grid.put(0, 17, Integer.valueOf(17));
+	grid.put(5, 1, Integer.valueOf(51));
+	grid.put(0, 1, Integer.valueOf(1));
+	grid.put(0, 1, null);
+
+	assertEquals(Integer.valueOf(0), grid.get(0, 0));
+	assertNull(grid.get(0, 1));
+	assertEquals(Integer.valueOf(17), grid.get(0, 17));
+	assertEquals(Integer.valueOf(51), grid.get(5, 1));
+	assertNull(grid.get(5, 17));
+    }
+
+    /**
+     * Copied rows are independent of their source
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void copyRowCopies() {
+	final Grid2D<String> grid = new Grid2D<>();
+	grid.put(1, 0, "a");
+	grid.put(1, 2, "c");
+	grid.copyRow(1, 4);
+	grid.put(1, 0, "changed");
+	grid.put(4, 2, "changed too");
+
+	assertEquals("a", grid.get(4, 0));
+	assertNull(grid.get(4, 1));
+	assertEquals("changed too", grid.get(4, 2));
+	assertEquals("changed", grid.get(1, 0));
+	assertEquals("c", grid.get(1, 2));
+    }
+
+    /**
+     * Invalid positions are rejected
+     */
+    @SuppressWarnings("static-method")
+    @Test(expected = IllegalArgumentException.class)
+    public void negativePositionIsRejected() {
+	new Grid2D<String>().put(0, -1, "x");
+    }
+
+    /**
+     * Only existing rows can be copied
+     */
+    @SuppressWarnings("static-method")
+    @Test(expected = IllegalArgumentException.class)
+    public void missingRowCannotBeCopied() {
+	final Grid2D<String> grid = new Grid2D<>();
+	grid.put(0, 0, "x");
+	grid.copyRow(1, 2);
+    }
+}
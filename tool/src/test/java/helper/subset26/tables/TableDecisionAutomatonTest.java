@@ -0,0 +1,139 @@
+package helper.subset26.tables;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.poi.hwpf.usermodel.CharacterRun;
+import org.apache.poi.hwpf.usermodel.Paragraph;
+import org.apache.poi.hwpf.usermodel.Table;
+import org.apache.poi.hwpf.usermodel.TableCell;
+import org.apache.poi.hwpf.usermodel.TableRow;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+/**
+ * Tests for the combined matching of several table definitions
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Table.class, TableRow.class, TableCell.class, CharacterRun.class})
+public class TableDecisionAutomatonTest {
+    /**
+     * prefix of cell texts which denotes bold writing; not part of the actual text
+     */
+    private final static String BOLD = "**";
+    private final static String[][] PROCEDURES = {
+	{BOLD + "ID #", BOLD + "Requirements", BOLD + "Level"},
+	{"A1", "The train shall stop.", "1"},
+	{"A2", "The driver shall be informed.", ""},
+    };
+    private final static String[][] PROCEDURES_BLANK = {
+	{BOLD + "ID #", BOLD + "Requirements", ""},
+	{"A1", "The train shall stop.", ""},
+    };
+    private final static String[][] VERSION_HISTORY = {
+	{"Issue Number Date", "Section Number", "Modification / Description", "Author/Editor"},
+	{"1.0.0 01.01.2014", "all", "First issue", "Editor A"},
+    };
+    private final static String[][] FOREIGN = {
+	{BOLD + "ID #", "Something", "else"},
+	{"1", "2", "3"},
+    };
+
+    /**
+     * The automaton selects the same definition as evaluating {@link GenericTable#isTableMatch()} one by one; regardless of the order of the definitions
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void equivalentToSequentialMatching() {
+	for (final String[][] texts : new String[][][] {PROCEDURES, PROCEDURES_BLANK, VERSION_HISTORY, FOREIGN}) {
+	    final Table table = mockTable(texts);
+	    final TableCellCache cells = new TableCellCache(table);
+	    final List<GenericTable> definitions = new ArrayList<>(new TableServiceLocator(table, new TableSignature(table, cells)).getDefinitions());
+	    assertSame(findMatchSequentially(definitions), new TableDecisionAutomaton(definitions, cells).findMatch());
+
+	    Collections.reverse(definitions);
+	    assertSame(findMatchSequentially(definitions), new TableDecisionAutomaton(definitions, cells).findMatch());
+	}
+    }
+
+    /**
+     * Definitions which only differ in few cells are told apart
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void similarDefinitions() {
+	assertEquals(Procedures3ColumnTable.class, findMatch(PROCEDURES).getClass());
+	assertEquals(Procedures3Column1BlankTable.class, findMatch(PROCEDURES_BLANK).getClass());
+	assertNull(findMatch(FOREIGN));
+    }
+
+    /**
+     * Definitions whose dimensions do not fit the concrete table never match
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void dimensionsMismatch() {
+	final Table table = mockTable(PROCEDURES);
+	final TableCellCache cells = new TableCellCache(table);
+	final TableSignature signature = new TableSignature(table, cells);
+	final List<GenericTable> definitions = new ArrayList<>();
+	for (final GenericTable definition : new GenericTable[] {new Procedures2ColumnTable(), new Procedures3ColumnTable()}) {
+	    definition.setContext(table, signature);
+	    definitions.add(definition);
+	}
+	assertSame(definitions.get(1), new TableDecisionAutomaton(definitions, cells).findMatch());
+	assertNull(new TableDecisionAutomaton(definitions.subList(0, 1), cells).findMatch());
+    }
+
+    private static GenericTable findMatch(final String[][] texts) {
+	final Table table = mockTable(texts);
+	final TableCellCache cells = new TableCellCache(table);
+	return new TableDecisionAutomaton(new TableServiceLocator(table, new TableSignature(table, cells)).getDefinitions(), cells).findMatch();
+    }
+
+    private static GenericTable findMatchSequentially(final List<GenericTable> definitions) {
+	for (final GenericTable definition : definitions) {
+	    if (definition.isTableMatch()) return definition;
+	}
+	return null;
+    }
+
+    /**
+     * @param texts texts of the cells; one array per row; texts starting with {@link #BOLD} are written in bold
+     * @return a table whose cells contain the given texts in left aligned writing
+     */
+    private static Table mockTable(final String[][] texts) {
+	final Table table = mock(Table.class);
+	when(table.numRows()).thenReturn(texts.length);
+	for (int rn = 0; rn < texts.length; rn++) {
+	    final TableRow row = mock(TableRow.class);
+	    when(table.getRow(rn)).thenReturn(row);
+	    when(row.numCells()).thenReturn(texts[rn].length);
+	    for (int cn = 0; cn < texts[rn].length; cn++) {
+		final boolean bold = texts[rn][cn].startsWith(BOLD);
+		final String text = bold ? texts[rn][cn].substring(BOLD.length()) : texts[rn][cn];
+		final CharacterRun characterRun = mock(CharacterRun.class);
+		when(characterRun.isBold()).thenReturn(bold);
+		final Paragraph paragraph = mock(Paragraph.class);
+		when(paragraph.getCharacterRun(0)).thenReturn(characterRun);
+		when(paragraph.getJustification()).thenReturn(0x00);
+		final TableCell cell = mock(TableCell.class);
+		when(cell.text()).thenReturn(text + '\u0007');
+		when(cell.getParagraph(0)).thenReturn(paragraph);
+		when(row.getCell(cn)).thenReturn(cell);
+	    }
+	}
+	return table;
+    }
+}
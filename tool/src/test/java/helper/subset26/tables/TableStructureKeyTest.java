@@ -0,0 +1,98 @@
+package helper.subset26.tables;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.hwpf.usermodel.CharacterRun;
+import org.apache.poi.hwpf.usermodel.Paragraph;
+import org.apache.poi.hwpf.usermodel.Table;
+import org.apache.poi.hwpf.usermodel.TableCell;
+import org.apache.poi.hwpf.usermodel.TableRow;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+/**
+ * Tests for the key of the table match cache
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Table.class, TableRow.class, TableCell.class, CharacterRun.class})
+public class TableStructureKeyTest {
+    private final static String[] VERSION_HISTORY_HEADER = {"Issue Number Date", "Section Number", "Modification / Description", "Author/Editor"};
+
+    /**
+     * Two tables which only differ in cells no definition constrains must hit the same cache entry
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void unconstrainedCellsDoNotMatter() {
+	final Map<TableStructureKey, String> matchResults = new HashMap<>();
+	matchResults.put(computeKey(new String[][] {VERSION_HISTORY_HEADER, {"1.0.0 01.01.2014", "all", "First issue", "Editor A"}}), "VersionHistoryTable");
+
+	final TableStructureKey revisedKey = computeKey(new String[][] {VERSION_HISTORY_HEADER, {"2.0.0 01.02.2015", "3.5.1", "Typos corrected", "Editor B"}});
+	assertTrue(matchResults.containsKey(revisedKey));
+	assertEquals("VersionHistoryTable", matchResults.get(revisedKey));
+    }
+
+    /**
+     * Tables which differ in a cell that some definition constrains must not share a cache entry
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void constrainedCellsMatter() {
+	final String[] changedHeader = VERSION_HISTORY_HEADER.clone();
+	changedHeader[1] = "Chapter";
+	final String[] data = {"1.0.0 01.01.2014", "all", "First issue", "Editor A"};
+	assertNotEquals(computeKey(new String[][] {VERSION_HISTORY_HEADER, data}), computeKey(new String[][] {changedHeader, data}));
+	assertNotEquals(computeKey(new String[][] {VERSION_HISTORY_HEADER, data}), computeKey(new String[][] {VERSION_HISTORY_HEADER, data, data}));
+    }
+
+    /**
+     * Set up a table in the same way as {@link TableMatcher} does and compute its key
+     *
+     * @param texts texts of the cells; one array per row
+     * @return key of the table
+     */
+    private static TableStructureKey computeKey(final String[][] texts) {
+	final Table table = mockTable(texts);
+	final TableCellCache cells = new TableCellCache(table);
+	final TableSignature signature = new TableSignature(table, cells);
+	final TableServiceLocator serviceLocator = new TableServiceLocator(table, signature);
+	return new TableStructureKey(cells, signature, serviceLocator.getDefinitions());
+    }
+
+    /**
+     * @param texts texts of the cells; one array per row
+     * @return a table whose cells contain the given texts in non-bold, centered writing
+     */
+    private static Table mockTable(final String[][] texts) {
+	final Table table = mock(Table.class);
+	when(table.numRows()).thenReturn(texts.length);
+	for (int rn = 0; rn < texts.length; rn++) {
+	    final TableRow row = mock(TableRow.class);
+	    when(table.getRow(rn)).thenReturn(row);
+	    when(row.numCells()).thenReturn(texts[rn].length);
+	    for (int cn = 0; cn < texts[rn].length; cn++) {
+		final CharacterRun characterRun = mock(CharacterRun.class);
+		when(characterRun.isBold()).thenReturn(false);
+		final Paragraph paragraph = mock(Paragraph.class);
+		when(paragraph.getCharacterRun(0)).thenReturn(characterRun);
+		when(paragraph.getJustification()).thenReturn(0x01);
+		final TableCell cell = mock(TableCell.class);
+		when(cell.text()).thenReturn(texts[rn][cn] + '\u0007');
+		when(cell.getParagraph(0)).thenReturn(paragraph);
+		when(row.getCell(cn)).thenReturn(cell);
+	    }
+	}
+	return table;
+    }
+}
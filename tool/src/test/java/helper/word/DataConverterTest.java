@@ -1,9 +1,13 @@
 package helper.word;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.powermock.api.mockito.PowerMockito.mock;
 import static org.powermock.api.mockito.PowerMockito.when;
 
+import java.nio.CharBuffer;
+
 import org.apache.poi.hwpf.usermodel.Paragraph;
 import org.junit.Test;
 
@@ -65,4 +69,67 @@ public class DataConverterTest {
 	}
     }
 
+    /**
+     * The single pass cleanup must yield the same output as the chain of replacements it is based on
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testCleanupText() {
+	// every single character of the control range and its neighbors
+	for (char currentChar = 0; currentChar < 0x80; currentChar++) {
+	    final String input = "a" + currentChar + "b";
+	    assertEquals("char " + (int) currentChar, cleanupTextReference(input), DataConverter.cleanupText(input));
+	}
+
+	assertEquals("", DataConverter.cleanupText("\u0007"));
+	assertEquals("", DataConverter.cleanupText("\r"));
+	assertEquals("A\u00A0B", DataConverter.cleanupText("A\tB\u0007"));
+	assertEquals("non\u2011breaking soft\u200bhyphen", DataConverter.cleanupText("non\u001ebreaking soft\u001fhyphen\r"));
+	// only the field delimiters are removed; the field code remains
+	assertEquals(" INCLUDEPICTURE \u0001 picture \u0002 footnote", DataConverter.cleanupText("\u0013 INCLUDEPICTURE \u0014\u0001 picture \u0015\u0002 footnote"));
+	// views into a larger buffer (see ParagraphIndex) are processed just like strings
+	assertEquals("Text", DataConverter.cleanupText(CharBuffer.wrap("xxText\ryy".toCharArray(), 2, 5)));
+    }
+
+    /**
+     * Emptiness is decided on the raw text in the same way as on the cleaned up text
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void testIsEmptyText() {
+	for (char currentChar = 0; currentChar < 0x80; currentChar++) {
+	    final String input = " " + currentChar + "\r";
+	    assertEquals("char " + (int) currentChar, isEmptyTextReference(input), DataConverter.isEmptyText(input));
+	}
+
+	assertTrue(DataConverter.isEmptyText(""));
+	assertTrue(DataConverter.isEmptyText("\r"));
+	assertTrue(DataConverter.isEmptyText("   \u0007"));
+	assertTrue(DataConverter.isEmptyText("\u0013\u0014 \u0015\r"));
+	assertFalse(DataConverter.isEmptyText("\t\r")); // tabs become NBSPs
+	assertFalse(DataConverter.isEmptyText("\u0001\r")); // image placeholder
+	assertFalse(DataConverter.isEmptyText("\u0002\r")); // footnote placeholder
+	assertFalse(DataConverter.isEmptyText("\u001e\r")); // non-breaking hyphen
+	assertFalse(DataConverter.isEmptyText(" x "));
+    }
+
+    /**
+     * Former implementation of {@link DataConverter#cleanupText(CharSequence)}
+     */
+    private static String cleanupTextReference(final String input) {
+	String output = input;
+	if (output.endsWith("\u0007")) output = output.substring(0, output.length()-1);
+	output = output.replace((char) 30, '\u2011');
+	output = output.replace((char) 31, '\u200b');
+	output = output.replace('\t', '\u00A0');
+	return output.replaceAll("[\u0000\u0003-\u001f]", "");
+    }
+
+    /**
+     * Former implementation of {@link DataConverter#isEmptyParagraph(Paragraph)} on the raw text
+     */
+    private static boolean isEmptyTextReference(final String paragraphTextRaw) {
+	final String paragraphText = cleanupTextReference(paragraphTextRaw);
+	return ("\r").equals(paragraphText) || ("").equals(paragraphText) || paragraphText.matches("\\s+");
+    }
 }
@@ -0,0 +1,76 @@
+package helper.word;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the asynchronous media writer
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public class MediaWriterTest {
+    private static final int NUM_FILES = 100;
+    @Rule
+    public final TemporaryFolder mediaStoreDir = new TemporaryFolder();
+    private MediaWriter mediaWriter;
+
+    @Before
+    public void setUp() {
+	this.mediaWriter = new MediaWriter(this.mediaStoreDir.getRoot().getAbsolutePath());
+    }
+
+    @After
+    public void tearDown() {
+	this.mediaWriter.close();
+    }
+
+    /**
+     * After a flush all scheduled media is on disk; the writer remains usable
+     */
+    @Test
+    public void flush() throws IOException {
+	for (int k = 0; k < 2; k++) {
+	    for (int i = 0; i < NUM_FILES; i++) {
+		this.mediaWriter.write(new byte[] {(byte) k, (byte) i}, k + "_" + i + ".png");
+	    }
+	    this.mediaWriter.flush();
+	    assertEquals((k + 1) * NUM_FILES, this.mediaStoreDir.getRoot().list().length);
+	}
+	assertArrayEquals(new byte[] {1, 2}, Files.readAllBytes(new File(this.mediaStoreDir.getRoot(), "1_2.png").toPath()));
+    }
+
+    /**
+     * Identical content is only written once
+     */
+    @Test
+    public void duplicates() {
+	assertEquals("a.png", this.mediaWriter.write(new byte[] {1, 2, 3}, "a.png"));
+	assertEquals("b.png", this.mediaWriter.write(new byte[] {1, 2}, "b.png"));
+	assertEquals("a.png", this.mediaWriter.write(new byte[] {1, 2, 3}, "c.png"));
+	this.mediaWriter.flush();
+	assertEquals(1, this.mediaWriter.getNumberOfDuplicates());
+	assertTrue(new File(this.mediaStoreDir.getRoot(), "a.png").isFile());
+	assertEquals(2, this.mediaStoreDir.getRoot().list().length);
+    }
+
+    /**
+     * Flushing without any pending media returns immediately
+     */
+    @Test
+    public void flushWithoutMedia() {
+	this.mediaWriter.flush();
+	this.mediaWriter.flush();
+	assertEquals(0, this.mediaStoreDir.getRoot().list().length);
+    }
+}
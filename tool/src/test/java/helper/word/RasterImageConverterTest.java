@@ -0,0 +1,160 @@
+package helper.word;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for the conversion of raster images; in particular the reconstruction of BMP files from the bitmaps stored by Word
+ *
+ * @author Moritz Dorka <moritz.dorka@mailbox.tu-dresden.de>
+ */
+public class RasterImageConverterTest {
+    private final static int BI_RGB = 0;
+    private final static int BI_BITFIELDS = 3;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * The pixel data offset accounts for the header and the color table (or the color masks) of all supported header variants
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void pixelDataOffset() {
+	assertEquals(14 + 40, getPixelDataOffset(RasterImageConverter.toBitmapFile(infoHeader(40, 24, BI_RGB, 0))));
+	assertEquals(14 + 40 + 256 * 4, getPixelDataOffset(RasterImageConverter.toBitmapFile(infoHeader(40, 8, BI_RGB, 0))));
+	assertEquals(14 + 40 + 5 * 4, getPixelDataOffset(RasterImageConverter.toBitmapFile(infoHeader(40, 4, BI_RGB, 5))));
+	assertEquals(14 + 40 + 3 * 4, getPixelDataOffset(RasterImageConverter.toBitmapFile(infoHeader(40, 16, BI_BITFIELDS, 0))));
+	// the color masks are part of the V4 and V5 headers
+	assertEquals(14 + 124, getPixelDataOffset(RasterImageConverter.toBitmapFile(infoHeader(124, 32, BI_BITFIELDS, 0))));
+	assertEquals(14 + 12 + 2 * 3, getPixelDataOffset(RasterImageConverter.toBitmapFile(coreHeader(1))));
+	assertEquals(14 + 12, getPixelDataOffset(RasterImageConverter.toBitmapFile(coreHeader(24))));
+    }
+
+    /**
+     * The file header is prepended to the unmodified bitmap
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void fileHeader() {
+	final byte[] dib = infoHeader(40, 24, BI_RGB, 0);
+	final byte[] bitmapFile = RasterImageConverter.toBitmapFile(dib);
+	assertEquals(14 + dib.length, bitmapFile.length);
+	assertEquals('B', bitmapFile[0]);
+	assertEquals('M', bitmapFile[1]);
+	final ByteBuffer header = ByteBuffer.wrap(bitmapFile).order(ByteOrder.LITTLE_ENDIAN);
+	assertEquals(bitmapFile.length, header.getInt(2));
+	assertEquals(0, header.getInt(6));
+	assertArrayEquals(dib, Arrays.copyOfRange(bitmapFile, 14, bitmapFile.length));
+    }
+
+    /**
+     * Data which cannot be interpreted as a bitmap without file header is passed through
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void uninterpretableInputIsPassedThrough() {
+	final byte[] complete = RasterImageConverter.toBitmapFile(infoHeader(40, 24, BI_RGB, 0));
+	assertSame(complete, RasterImageConverter.toBitmapFile(complete));
+	final byte[] tooShort = new byte[11];
+	assertSame(tooShort, RasterImageConverter.toBitmapFile(tooShort));
+	final byte[] unknownHeader = infoHeader(40, 24, BI_RGB, 0);
+	unknownHeader[0] = 20;
+	assertSame(unknownHeader, RasterImageConverter.toBitmapFile(unknownHeader));
+    }
+
+    /**
+     * A bitmap written by ImageIO is restored byte by byte after its file header has been stripped
+     *
+     * @throws IOException on errors of ImageIO
+     */
+    @SuppressWarnings("static-method")
+    @Test
+    public void roundTrip() throws IOException {
+	for (final int imageType : new int[] {BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_BYTE_INDEXED, BufferedImage.TYPE_BYTE_BINARY}) {
+	    final byte[] bitmapFile = toBitmapFile(createImage(imageType, 5, 3));
+	    assertArrayEquals("image type " + imageType, bitmapFile, RasterImageConverter.toBitmapFile(Arrays.copyOfRange(bitmapFile, 14, bitmapFile.length)));
+	}
+    }
+
+    /**
+     * Bitmaps stored by Word are converted to PNG files of the requested size
+     *
+     * @throws IOException on errors of ImageIO
+     */
+    @Test
+    public void convertDib() throws IOException {
+	final byte[] bitmapFile = toBitmapFile(createImage(BufferedImage.TYPE_3BYTE_BGR, 5, 3));
+	final File input = this.folder.newFile("picture.dib");
+	Files.write(input.toPath(), Arrays.copyOfRange(bitmapFile, 14, bitmapFile.length));
+
+	final File output = new File(this.folder.getRoot(), "picture.png");
+	assertTrue(RasterImageConverter.convert(input, output, 10, 6));
+	final BufferedImage result = ImageIO.read(output);
+	assertEquals(10, result.getWidth());
+	assertEquals(6, result.getHeight());
+    }
+
+    /**
+     * @return a BITMAPINFOHEADER (or one of its successors) followed by four bytes of pixel data
+     */
+    private static byte[] infoHeader(final int headerSize, final int bitCount, final int compression, final int colorsUsed) {
+	final ByteBuffer output = ByteBuffer.allocate(headerSize + 4).order(ByteOrder.LITTLE_ENDIAN);
+	output.putInt(0, headerSize);
+	output.putInt(4, 1); // width
+	output.putInt(8, 1); // height
+	output.putShort(12, (short) 1); // planes
+	output.putShort(14, (short) bitCount);
+	output.putInt(16, compression);
+	output.putInt(32, colorsUsed);
+	return output.array();
+    }
+
+    /**
+     * @return a BITMAPCOREHEADER followed by four bytes of pixel data
+     */
+    private static byte[] coreHeader(final int bitCount) {
+	final ByteBuffer output = ByteBuffer.allocate(12 + 4).order(ByteOrder.LITTLE_ENDIAN);
+	output.putInt(0, 12);
+	output.putShort(4, (short) 1); // width
+	output.putShort(6, (short) 1); // height
+	output.putShort(8, (short) 1); // planes
+	output.putShort(10, (short) bitCount);
+	return output.array();
+    }
+
+    private static int getPixelDataOffset(final byte[] bitmapFile) {
+	return ByteBuffer.wrap(bitmapFile).order(ByteOrder.LITTLE_ENDIAN).getInt(10);
+    }
+
+    private static BufferedImage createImage(final int imageType, final int width, final int height) {
+	final BufferedImage output = new BufferedImage(width, height, imageType);
+	for (int x = 0; x < width; x++) {
+	    for (int y = 0; y < height; y++) output.setRGB(x, y, (x + y) % 2 == 0 ? 0xFFFFFF : 0x000000);
+	}
+	return output;
+    }
+
+    private static byte[] toBitmapFile(final BufferedImage image) throws IOException {
+	final ByteArrayOutputStream output = new ByteArrayOutputStream();
+	assertTrue(ImageIO.write(image, "bmp", output));
+	return output.toByteArray();
+    }
+}
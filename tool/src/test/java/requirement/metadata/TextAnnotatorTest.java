@@ -1,5 +1,11 @@
 package requirement.metadata;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -120,4 +126,30 @@ public class TextAnnotatorTest {
 	final String output = textAnnotator.getAnnotatedText();
 	assertEquals("The <span class=\"Term\" style=\"border:1px solid #00CC00; display:inline-table; margin:0.1em;\"><span class=\"content\" style=\"padding-left:0.2em; padding-right:0.1em;\">fruit</span><span class=\"Term_annotation\" style=\"background-color:#00CC00; color:white; display:table-cell; font-family:sans-serif; font-size:x-small; font-style:normal; padding-left:1em; padding-right:0.2em;\">[TERM]</span></span> of a <span class=\"Domain\" style=\"border:1px solid #006600; display:inline-table; margin:0.1em;\"><span class=\"content\" style=\"padding-left:0.2em; padding-right:0.1em;\">tree</span><span class=\"Domain_annotation\" style=\"background-color:#006600; color:white; display:table-cell; font-family:sans-serif; font-size:x-small; font-style:normal; padding-left:1em; padding-right:0.2em;\">[DOMAIN]</span></span> is <span class=\"weak\" style=\"border:1px solid #FF8C00; display:inline-table; margin:0.1em;\"><span class=\"content\" style=\"padding-left:0.2em; padding-right:0.1em;\">sometimes</span><span class=\"weak_annotation\" style=\"background-color:#FF8C00; color:white; display:table-cell; font-family:sans-serif; font-size:x-small; font-style:normal; padding-left:1em; padding-right:0.2em;\">[WEAK]</span></span> <span class=\"Explanation\" style=\"border:1px solid #008000; display:inline-table; margin:0.1em;\"><span class=\"content\" style=\"padding-left:0.2em; padding-right:0.1em;\">edible</span><span class=\"Explanation_annotation\" style=\"background-color:#008000; color:white; display:table-cell; font-family:sans-serif; font-size:x-small; font-style:normal; padding-left:1em; padding-right:0.2em;\">[EXPLANATION]</span></span>. It <span class=\"LegalObligation\" style=\"background-color:#D3D3D3; font-weight:bold; padding-left:0.1em; padding-right:0.1em;\">shall</span> be <span class=\"Predicate\" style=\"border-bottom:1px solid black; display:inline-block;\">picked</span>.", output);
     }        
+    
+    /**
+     * Test for {@link requirement.metadata.TextAnnotator#writeTo(java.io.DataOutput)} and its counterpart
+     * 
+     * @throws IOException never
+     */
+    @Test
+    public void checkpointTest() throws IOException {
+	final String textToAnnotate = "If possible the train shall brake.";
+	final TextAnnotator textAnnotator = new TextAnnotator(textToAnnotate);
+	textAnnotator.addAnnotation(0, 2, AnnotationBuilder.CONDITION.getAnnotator());
+	textAnnotator.addAnnotation(3, 11, AnnotationBuilder.WEAKWORD.getAnnotator());
+	textAnnotator.addAnnotation(12, 21, AnnotationBuilder.ENTITY.getAnnotator("Train"));
+	textAnnotator.addAnnotation(22, 27, AnnotationBuilder.LEGALOBLIGATION.getAnnotator());
+	
+	final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+	try (final DataOutputStream output = new DataOutputStream(buffer)) {
+	    textAnnotator.writeTo(output);
+	}
+	final TextAnnotator restoredAnnotator;
+	try (final DataInputStream input = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+	    restoredAnnotator = TextAnnotator.readFrom(input);
+	}
+	assertEquals(textAnnotator.getNumberOfAnnotations(), restoredAnnotator.getNumberOfAnnotations());
+	assertEquals(textAnnotator.getAnnotatedText(), restoredAnnotator.getAnnotatedText());
+    }
 }